@@ -0,0 +1,46 @@
+package com.jgcomptech.adoptopenjdk.benchmarks;
+
+import com.jgcomptech.adoptopenjdk.api.AssetClassification;
+import com.jgcomptech.adoptopenjdk.api.Filename;
+import com.jgcomptech.adoptopenjdk.enums.AssetName;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/** Measures classifying every asset filename in the Java 8 and Java 11 fixture pages. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssetNameBenchmark {
+    private String[] filenames;
+
+    @Setup
+    public void setup() {
+        filenames = Fixtures.getFilenames();
+    }
+
+    @Benchmark
+    public void filename(final Blackhole blackhole) {
+        for(final String filename : filenames) {
+            blackhole.consume(new Filename(filename));
+        }
+    }
+
+    @Benchmark
+    public void parseAssetName(final Blackhole blackhole) {
+        for(final String filename : filenames) {
+            blackhole.consume(AssetName.parseFromName(filename));
+        }
+    }
+
+    @Benchmark
+    public void classify(final Blackhole blackhole) {
+        for(final String filename : filenames) {
+            blackhole.consume(AssetClassification.of(filename));
+        }
+    }
+}
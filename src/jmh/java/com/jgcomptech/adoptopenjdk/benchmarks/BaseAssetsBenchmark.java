@@ -0,0 +1,49 @@
+package com.jgcomptech.adoptopenjdk.benchmarks;
+
+import com.jgcomptech.adoptopenjdk.api.BaseAssets;
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleAsset;
+import com.jgcomptech.adoptopenjdk.enums.AssetOS;
+import com.jgcomptech.adoptopenjdk.enums.AssetReleaseType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Measures configuring the enabled assets and checking whether they have all been acquired. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BaseAssetsBenchmark {
+    private BaseAssets assets;
+
+    @Setup
+    public void setup() {
+        assets = new BaseAssets(null).enableAllAssets().disableXL();
+
+        //Acquire the hotspot JDK assets of the newest release, which leaves some enabled assets missing
+        for(final SimpleAsset asset : Fixtures.getReleases(Fixtures.JAVA_11_PAGE).get(0).getAssets()) {
+            if(asset.getReleaseType() == AssetReleaseType.JDK && asset.getAssetName() != null) {
+                assets.addAsset(asset);
+            }
+        }
+    }
+
+    @Benchmark
+    public BaseAssets enableAndDisable() {
+        return new BaseAssets(null)
+                .enableAllAssets()
+                .disableXL()
+                .disableAllInstallers()
+                .disableOS(AssetOS.ppc64_aix)
+                .disableOS(AssetOS.sparcv9_solaris)
+                .enableInstallers(AssetOS.x64_windows)
+                .enableOS(AssetOS.x64_mac_macosXL);
+    }
+
+    @Benchmark
+    public boolean isAllAcquired() {
+        return assets.isAllAcquired();
+    }
+}
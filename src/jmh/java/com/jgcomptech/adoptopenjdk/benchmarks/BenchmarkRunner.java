@@ -0,0 +1,132 @@
+package com.jgcomptech.adoptopenjdk.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks with the GC profiler and writes the results as JSON.
+ *
+ * <p>Any JMH command line option can be passed through, for example a benchmark name filter or
+ * {@code -rff benchmarks/baseline.json} to save a baseline. If the {@code jmh.baseline} system
+ * property points to a saved result file, every score is compared against it after the run and
+ * changes larger than {@code jmh.threshold} percent (default 10) are reported.</p>
+ */
+public final class BenchmarkRunner {
+    private static final String ALLOCATION_RATE = "gc.alloc.rate.norm";
+
+    private BenchmarkRunner() { }
+
+    public static void main(final String... args) throws Exception {
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+        final String resultFile = commandLine.getResult().orElse("target/jmh-result.json");
+        final Path resultParent = Paths.get(resultFile).toAbsolutePath().getParent();
+        if(resultParent != null) Files.createDirectories(resultParent);
+
+        final Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(resultFile)
+                .build();
+
+        final Collection<RunResult> results = new Runner(options).run();
+
+        System.out.println("Results saved to " + Paths.get(resultFile).toAbsolutePath());
+
+        final String baseline = System.getProperty("jmh.baseline");
+        if(baseline != null && !baseline.isEmpty()) {
+            compare(results, Paths.get(baseline), Double.parseDouble(System.getProperty("jmh.threshold", "10")));
+        }
+    }
+
+    private static void compare(final Collection<RunResult> results, final Path baselineFile,
+                                final double threshold) throws IOException {
+        final Map<String, JsonObject> baseline = new HashMap<>();
+
+        try(final Reader reader = Files.newBufferedReader(baselineFile, StandardCharsets.UTF_8)) {
+            for(final JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+                final JsonObject object = element.getAsJsonObject();
+                final Map<String, String> params = new TreeMap<>();
+                if(object.has("params")) {
+                    object.getAsJsonObject("params").entrySet()
+                            .forEach(e -> params.put(e.getKey(), e.getValue().getAsString()));
+                }
+                baseline.put(getKey(object.get("benchmark").getAsString(), params), object);
+            }
+        }
+
+        System.out.println();
+        System.out.println("Comparison with " + baselineFile.toAbsolutePath()
+                + " (threshold " + threshold + "%):");
+
+        int regressions = 0;
+
+        for(final RunResult result : results) {
+            final Map<String, String> params = new TreeMap<>();
+            result.getParams().getParamsKeys().forEach(k -> params.put(k, result.getParams().getParam(k)));
+            final String key = getKey(result.getParams().getBenchmark(), params);
+            final JsonObject previous = baseline.get(key);
+
+            if(previous == null) {
+                System.out.println(String.format("  %-90s no baseline", key));
+                continue;
+            }
+
+            final double score = result.getPrimaryResult().getScore();
+            final double previousScore = previous.getAsJsonObject("primaryMetric").get("score").getAsDouble();
+            //Higher is better for throughput, lower is better for time based modes
+            final boolean higherIsBetter = "thrpt".equals(previous.get("mode").getAsString());
+            final double change = (score - previousScore) / previousScore * 100;
+            final boolean regression = higherIsBetter ? change < -threshold : change > threshold;
+
+            if(regression) regressions++;
+
+            System.out.println(String.format("  %-90s %+7.1f%% score %+7.1f%% alloc %s", key, change,
+                    getAllocationChange(result, previous), regression ? "REGRESSION" : ""));
+        }
+
+        System.out.println(regressions + " regression(s) found.");
+    }
+
+    private static double getAllocationChange(final RunResult result, final JsonObject previous) {
+        Result<?> allocation = null;
+        for(final Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if(entry.getKey().endsWith(ALLOCATION_RATE)) allocation = entry.getValue();
+        }
+
+        if(allocation == null || !previous.has("secondaryMetrics")) return Double.NaN;
+
+        for(final Map.Entry<String, JsonElement> entry : previous.getAsJsonObject("secondaryMetrics").entrySet()) {
+            if(entry.getKey().endsWith(ALLOCATION_RATE)) {
+                final double previousScore = entry.getValue().getAsJsonObject().get("score").getAsDouble();
+                return previousScore == 0 ? 0 : (allocation.getScore() - previousScore) / previousScore * 100;
+            }
+        }
+
+        return Double.NaN;
+    }
+
+    private static String getKey(final String benchmark, final Map<String, String> params) {
+        return params.isEmpty() ? benchmark : benchmark + ' ' + params;
+    }
+}
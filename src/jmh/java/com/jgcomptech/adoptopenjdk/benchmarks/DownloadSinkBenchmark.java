@@ -0,0 +1,93 @@
+package com.jgcomptech.adoptopenjdk.benchmarks;
+
+import com.jgcomptech.adoptopenjdk.utils.DownloadSink;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures copying a download from a local HTTP server into a file with each {@link DownloadSink}
+ * and with the old loop that allocated a 1 KB buffer for every read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DownloadSinkBenchmark {
+    private static final int SIZE = 32 * 1024 * 1024;
+
+    //LEGACY is the loop the download used before the sinks were added
+    @Param({"HEAP_BUFFER", "DIRECT_BUFFER", "TRANSFER_FROM", "LEGACY"})
+    public String sink;
+
+    private HttpServer server;
+    private URL url;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        final byte[] data = new byte[SIZE];
+        new Random(1).nextBytes(data);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/download.bin", exchange -> {
+            exchange.sendResponseHeaders(200, data.length);
+            try(final OutputStream out = exchange.getResponseBody()) {
+                out.write(data);
+            }
+        });
+        server.start();
+
+        url = new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/download.bin");
+        file = Files.createTempFile("jupdate-download", ".bin");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.stop(0);
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long copy() throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+
+        try(final InputStream in = connection.getInputStream();
+            final RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+            out.setLength(0);
+
+            if("LEGACY".equals(sink)) return legacyCopy(in, out);
+
+            return DownloadSink.valueOf(sink).copy(in, out.getChannel(), 0, SIZE,
+                    () -> true, (position, length) -> { });
+        }
+    }
+
+    private static long legacyCopy(final InputStream in, final RandomAccessFile out) throws IOException {
+        long downloaded = 0;
+
+        while(downloaded < SIZE) {
+            final byte[] buffer = SIZE - downloaded > 1024 ? new byte[1024] : new byte[(int) (SIZE - downloaded)];
+            final int read = in.read(buffer);
+            if(read == -1) break;
+
+            out.write(buffer, 0, read);
+            downloaded += read;
+        }
+
+        return downloaded;
+    }
+}
@@ -0,0 +1,293 @@
+package com.jgcomptech.adoptopenjdk.benchmarks;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static com.jgcomptech.adoptopenjdk.Settings.COMPANY_NAME;
+
+/**
+ * Generates the synthetic release pages in {@code src/jmh/resources/fixtures}.
+ *
+ * <p>The pages are not recorded from GitHub. They are built from the tags and asset names the AdoptOpenJDK
+ * binaries repositories used for Java 8 and Java 11, with the release dates of those updates, and filled with
+ * the fields GitHub returns that the updater skips. Ids, sizes, download counts, times of day and the release
+ * notes come from a random generator with a fixed seed so the pages are the same on every run. Each page holds
+ * 10 releases, the number of releases the updater asks for per page.</p>
+ *
+ * <p>Run it from the project directory with:
+ * {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -DmainClass=com.jgcomptech.adoptopenjdk.benchmarks.FixtureGenerator}</p>
+ */
+public final class FixtureGenerator {
+    private static final long SEED = 7;
+    private static final String BOT = "adoptopenjdk-github-bot";
+    private static final int BOT_ID = 46110521;
+
+    private static final String[][] JAVA_11 = {
+            {"11.0.8", "10", "0.21.0", "2020-07-15"},
+            {"11.0.7", "10", "0.20.0", "2020-04-17"},
+            {"11.0.6", "10", "0.18.1", "2020-01-16"},
+            {"11.0.5", "10", "0.17.0", "2019-10-17"},
+            {"11.0.4", "11", "0.15.1", "2019-07-18"}};
+    private static final String[][] JAVA_8 = {
+            {"265", "b01", "0.21.0", "2020-07-15"},
+            {"252", "b09", "0.20.0", "2020-04-17"},
+            {"242", "b08", "0.18.1", "2020-01-16"},
+            {"232", "b09", "0.17.0", "2019-10-17"},
+            {"222", "b10", "0.15.1", "2019-07-18"}};
+
+    private final Random random = new Random(SEED);
+    private long assetId = 20_000_000;
+    private long releaseId = 29_000_000;
+
+    private FixtureGenerator() { }
+
+    /**
+     * Writes the fixture pages.
+     * @param args the output directory, {@code src/jmh/resources/fixtures} by default
+     * @throws IOException if a page can not be written
+     */
+    public static void main(final String[] args) throws IOException {
+        final Path directory = Paths.get(args.length > 0 ? args[0] : "src/jmh/resources/fixtures");
+        final FixtureGenerator generator = new FixtureGenerator();
+
+        Files.createDirectories(directory);
+        generator.write(directory.resolve(Fixtures.JAVA_11_PAGE + ".json.gz"), generator.getJava11Releases());
+        generator.write(directory.resolve(Fixtures.JAVA_8_PAGE + ".json.gz"), generator.getJava8Releases());
+    }
+
+    private List<Release> getJava11Releases() {
+        final List<Release> releases = new ArrayList<>();
+
+        for(final String[] update : JAVA_11) {
+            final String version = update[0] + '_' + update[1];
+
+            for(final String jvm : new String[] {"hotspot", "openj9"}) {
+                final boolean openj9 = "openj9".equals(jvm);
+                final String tag = "jdk-" + update[0] + '+' + update[1] + (openj9 ? "_openj9-" + update[2] : "");
+                final List<String> names = new ArrayList<>();
+
+                for(final String type : new String[] {"jdk", "jre", "testimage"}) {
+                    if(openj9 && "testimage".equals(type)) continue;
+                    addNames(names, "OpenJDK11U-", type, jvm, version + (openj9 ? "_openj9-" + update[2] : ""));
+                }
+
+                releases.add(new Release("openjdk11-binaries", tag, LocalDate.parse(update[3]), names));
+            }
+        }
+
+        return releases;
+    }
+
+    private List<Release> getJava8Releases() {
+        final List<Release> releases = new ArrayList<>();
+
+        for(final String[] update : JAVA_8) {
+            final String version = "8u" + update[0] + update[1];
+
+            for(final String jvm : new String[] {"hotspot", "openj9"}) {
+                final boolean openj9 = "openj9".equals(jvm);
+                final String tag = "jdk8u" + update[0] + '-' + update[1] + (openj9 ? "_openj9-" + update[2] : "");
+                final List<String> names = new ArrayList<>();
+
+                for(final String type : new String[] {"jdk", "jre"}) {
+                    addNames(names, "OpenJDK8U-", type, jvm, version + (openj9 ? "_openj9-" + update[2] : ""));
+                }
+
+                releases.add(new Release("openjdk8-binaries", tag, LocalDate.parse(update[3]), names));
+            }
+        }
+
+        return releases;
+    }
+
+    private static void addNames(final List<String> names, final String prefix, final String type,
+                                 final String jvm, final String version) {
+        final List<String[]> platforms = new ArrayList<>(Arrays.asList(
+                new String[] {"aarch64_linux", "tar.gz"},
+                new String[] {"arm_linux", "tar.gz"},
+                new String[] {"ppc64_aix", "tar.gz"},
+                new String[] {"ppc64le_linux", "tar.gz"},
+                new String[] {"s390x_linux", "tar.gz"},
+                new String[] {"x64_linux", "tar.gz"},
+                new String[] {"x64_mac", "tar.gz", "pkg"},
+                new String[] {"x64_windows", "zip", "msi"},
+                new String[] {"x86-32_windows", "zip", "msi"}));
+
+        if("openj9".equals(jvm)) {
+            platforms.removeIf(p -> p[0].startsWith("aarch64") || p[0].startsWith("arm") || p[0].startsWith("x86"));
+
+            if("jdk".equals(type)) {
+                platforms.add(new String[] {"ppc64le_linux_openj9_linuxXL", "tar.gz"});
+                platforms.add(new String[] {"s390x_linux_openj9_linuxXL", "tar.gz"});
+                platforms.add(new String[] {"x64_linux_openj9_linuxXL", "tar.gz"});
+                platforms.add(new String[] {"x64_mac_openj9_macosXL", "tar.gz", "pkg"});
+                platforms.add(new String[] {"x64_windows_openj9_windowsXL", "zip", "msi"});
+            }
+        }
+
+        for(final String[] platform : platforms) {
+            final String os = platform[0].contains("openj9") ? platform[0] : platform[0] + '_' + jvm;
+
+            for(int i = 1; i < platform.length; i++) {
+                if("testimage".equals(type) && !"tar.gz".equals(platform[i]) && !"zip".equals(platform[i])) continue;
+                names.add(prefix + type + '_' + os + '_' + version + '.' + platform[i]);
+            }
+        }
+    }
+
+    private void write(final Path file, final List<Release> releases) throws IOException {
+        try(final JsonWriter json = new JsonWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8))) {
+            json.beginArray();
+            for(final Release release : releases) release.write(json);
+            json.endArray();
+        }
+    }
+
+    private Instant randomTime(final LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant().plusSeconds(random.nextInt(24 * 60 * 60));
+    }
+
+    private void writeUser(final JsonWriter json) throws IOException {
+        final String url = "https://api.github.com/users/" + BOT;
+
+        json.beginObject();
+        json.name("login").value(BOT);
+        json.name("id").value(BOT_ID);
+        json.name("node_id").value("MDQ6VXNlcjQ2MTEwNTIx");
+        json.name("avatar_url").value("https://avatars.githubusercontent.com/u/" + BOT_ID + "?v=4");
+        json.name("gravatar_id").value("");
+        json.name("url").value(url);
+        json.name("html_url").value("https://github.com/" + BOT);
+        json.name("followers_url").value(url + "/followers");
+        json.name("following_url").value(url + "/following{/other_user}");
+        json.name("gists_url").value(url + "/gists{/gist_id}");
+        json.name("starred_url").value(url + "/starred{/owner}{/repo}");
+        json.name("subscriptions_url").value(url + "/subscriptions");
+        json.name("organizations_url").value(url + "/orgs");
+        json.name("repos_url").value(url + "/repos");
+        json.name("events_url").value(url + "/events{/privacy}");
+        json.name("received_events_url").value(url + "/received_events");
+        json.name("type").value("User");
+        json.name("site_admin").value(false);
+        json.endObject();
+    }
+
+    private final class Release {
+        private final String repository;
+        private final String tag;
+        private final long id;
+        private final Instant published;
+        private final List<String> names;
+
+        Release(final String repository, final String tag, final LocalDate date, final List<String> names) {
+            this.repository = repository;
+            this.tag = tag;
+            this.names = names;
+            releaseId -= 100_000 + random.nextInt(300_000);
+            id = releaseId;
+            published = randomTime(date);
+        }
+
+        void write(final JsonWriter json) throws IOException {
+            final String api = "https://api.github.com/repos/" + COMPANY_NAME + '/' + repository;
+            //The release is created before the builds are uploaded and published once they are
+            final Instant created = published.minusSeconds(3600 + random.nextInt(6 * 3600));
+
+            json.beginObject();
+            json.name("url").value(api + "/releases/" + id);
+            json.name("assets_url").value(api + "/releases/" + id + "/assets");
+            json.name("upload_url").value("https://uploads.github.com/repos/" + COMPANY_NAME + '/' + repository
+                    + "/releases/" + id + "/assets{?name,label}");
+            json.name("html_url").value("https://github.com/" + COMPANY_NAME + '/' + repository
+                    + "/releases/tag/" + tag);
+            json.name("id").value(id);
+            json.name("author");
+            writeUser(json);
+            json.name("node_id").value("MDc6UmVsZWFzZSVk" + id);
+            json.name("tag_name").value(tag);
+            json.name("target_commitish").value("master");
+            json.name("name").value(tag);
+            json.name("draft").value(false);
+            json.name("prerelease").value(false);
+            json.name("created_at").value(created.toString());
+            json.name("published_at").value(published.toString());
+            json.name("assets").beginArray();
+
+            for(final String name : names) {
+                for(final String suffix : new String[] {"", ".json", ".sha256.txt"}) {
+                    writeAsset(json, api, name + suffix, created);
+                }
+            }
+
+            json.endArray();
+            json.name("tarball_url").value(api + "/tarball/" + tag);
+            json.name("zipball_url").value(api + "/zipball/" + tag);
+            json.name("body").value(getBody());
+            json.endObject();
+        }
+
+        private void writeAsset(final JsonWriter json, final String api, final String name, final Instant created)
+                throws IOException {
+            final boolean metadata = name.endsWith(".json") || name.endsWith(".txt");
+            final Instant uploaded = created.plusSeconds(60 + random.nextInt(3000));
+            assetId += 1 + random.nextInt(40);
+
+            json.beginObject();
+            json.name("url").value(api + "/releases/assets/" + assetId);
+            json.name("id").value(assetId);
+            json.name("node_id").value("MDEyOlJlbGVhc2VBc3NldCVk" + assetId);
+            json.name("name").value(name);
+            json.name("label").value("");
+            json.name("uploader");
+            writeUser(json);
+            json.name("content_type").value(getContentType(name));
+            json.name("state").value("uploaded");
+            json.name("size").value(metadata ? 100 + random.nextInt(800) : (40 + random.nextInt(160)) * 1024 * 1024
+                    + random.nextInt(1024 * 1024));
+            json.name("download_count").value(metadata ? random.nextInt(2000) : 10 + random.nextInt(90_000));
+            json.name("created_at").value(uploaded.toString());
+            json.name("updated_at").value(uploaded.plusSeconds(random.nextInt(30)).toString());
+            json.name("browser_download_url").value("https://github.com/" + COMPANY_NAME + '/' + repository
+                    + "/releases/download/" + tag.replace("+", "%2B") + '/' + name);
+            json.endObject();
+        }
+
+        private String getBody() {
+            final StringBuilder body = new StringBuilder("Release notes for ").append(tag).append(".\n\n");
+            final int issues = 5 + random.nextInt(60);
+
+            for(int i = 0; i < issues; i++) {
+                body.append("* JDK-").append(8_200_000 + random.nextInt(60_000)).append(": ")
+                        .append(random.nextBoolean() ? "Backport of " : "Fix for ")
+                        .append(random.nextInt(2) == 0 ? "hotspot" : "core-libs").append(" issue\n");
+            }
+
+            return body.toString();
+        }
+    }
+
+    private static String getContentType(final String name) {
+        if(name.endsWith(".tar.gz")) return "application/x-compressed-tar";
+        if(name.endsWith(".zip")) return "application/zip";
+        if(name.endsWith(".msi")) return "application/x-msi";
+        if(name.endsWith(".json")) return "application/json";
+        if(name.endsWith(".txt")) return "text/plain";
+        return "application/octet-stream";
+    }
+}
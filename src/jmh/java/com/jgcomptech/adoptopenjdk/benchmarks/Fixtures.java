@@ -0,0 +1,83 @@
+package com.jgcomptech.adoptopenjdk.benchmarks;
+
+import com.google.gson.stream.JsonReader;
+import com.jgcomptech.adoptopenjdk.api.ReleasePageReader;
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleAsset;
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleRelease;
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads the release pages in {@code src/jmh/resources/fixtures} so the benchmarks run without network access.
+ *
+ * <p>The pages are synthetic, they are written by {@link FixtureGenerator} and not recorded from GitHub.
+ * They have the same fields as the GitHub releases API responses for the AdoptOpenJDK binaries repositories,
+ * including the fields the updater skips such as the release notes and uploaders.</p>
+ */
+public final class Fixtures {
+    public static final String JAVA_11_PAGE = "openjdk11-binaries-page1";
+    public static final String JAVA_8_PAGE = "openjdk8-binaries-page1";
+
+    private Fixtures() { }
+
+    /**
+     * Returns the uncompressed JSON of the specified release page.
+     * @param page the fixture name
+     * @return the JSON bytes
+     */
+    public static byte[] getPage(final String page) {
+        final String resource = "/fixtures/" + page + ".json.gz";
+
+        try(final InputStream in = Fixtures.class.getResourceAsStream(resource)) {
+            if(in == null) throw new IllegalStateException("Fixture not found: " + resource);
+            return IOUtils.toByteArray(new GZIPInputStream(in));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the releases of the specified release page.
+     * @param page the fixture name
+     * @return the releases
+     */
+    public static List<SimpleRelease> getReleases(final String page) {
+        final List<SimpleRelease> releases = new ArrayList<>();
+
+        try(final JsonReader reader = new JsonReader(new InputStreamReader(
+                new ByteArrayInputStream(getPage(page)), StandardCharsets.UTF_8))) {
+            ReleasePageReader.read(reader, false, releases::add);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return releases;
+    }
+
+    /**
+     * Returns the filenames of every asset in the Java 8 and Java 11 release pages.
+     * @return the filenames
+     */
+    public static String[] getFilenames() {
+        final List<String> filenames = new ArrayList<>();
+
+        for(final String page : new String[] {JAVA_8_PAGE, JAVA_11_PAGE}) {
+            for(final SimpleRelease release : getReleases(page)) {
+                for(final SimpleAsset asset : release.getAssets()) {
+                    filenames.add(asset.getFilename());
+                }
+            }
+        }
+
+        return filenames.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,41 @@
+package com.jgcomptech.adoptopenjdk.benchmarks;
+
+import com.jgcomptech.adoptopenjdk.JavaRelease;
+import com.jgcomptech.adoptopenjdk.SubRelease;
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleRelease;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Measures matching the assets of a release page against every sub-release of Java 11. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessReleaseBenchmark {
+    private List<SimpleRelease> releases;
+
+    @Setup
+    public void setup() {
+        releases = Fixtures.getReleases(Fixtures.JAVA_11_PAGE);
+    }
+
+    @Benchmark
+    public JavaRelease processPage() {
+        final JavaRelease javaRelease = new JavaRelease(11);
+
+        for(final SubRelease subRelease : javaRelease.getSubReleases()) {
+            subRelease.getAssets().enableAllAssets().disableAllInstallers();
+
+            for(final SimpleRelease release : releases) {
+                subRelease.processRelease(release);
+                if(subRelease.isAllAssetsAcquired()) break;
+            }
+        }
+
+        return javaRelease;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jgcomptech.adoptopenjdk.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.jgcomptech.adoptopenjdk.api.ReleasePageReader;
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleRelease;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/** Measures building the releases of a recorded release page. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimpleReleaseBenchmark {
+    @Param({Fixtures.JAVA_8_PAGE, Fixtures.JAVA_11_PAGE})
+    public String page;
+
+    private byte[] json;
+    private JsonArray tree;
+
+    @Setup
+    public void setup() {
+        json = Fixtures.getPage(page);
+        tree = JsonParser.parseString(new String(json, StandardCharsets.UTF_8)).getAsJsonArray();
+    }
+
+    /** Builds the releases from an already parsed JSON tree. */
+    @Benchmark
+    public void fromJsonObject(final Blackhole blackhole) {
+        for(final JsonElement element : tree) {
+            blackhole.consume(new SimpleRelease(element.getAsJsonObject()));
+        }
+    }
+
+    /** Parses the page into a JSON tree and then builds the releases. */
+    @Benchmark
+    public void parseTree(final Blackhole blackhole) {
+        final JsonArray array = JsonParser.parseReader(reader()).getAsJsonArray();
+
+        for(final JsonElement element : array) {
+            blackhole.consume(new SimpleRelease(element.getAsJsonObject()));
+        }
+    }
+
+    /** Reads the releases straight from the token stream as the release page fetcher does. */
+    @Benchmark
+    public int parseStream(final Blackhole blackhole) throws IOException {
+        try(final JsonReader reader = new JsonReader(reader())) {
+            return ReleasePageReader.read(reader, false, release -> {
+                blackhole.consume(release);
+                return true;
+            });
+        }
+    }
+
+    private InputStreamReader reader() {
+        return new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,320 @@
+package com.jgcomptech.adoptopenjdk.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Launches the shaded jar repeatedly against a local stub of the GitHub API and measures its cold start.
+ *
+ * <p>Every run records the time until the first line of output, the total time until the process exits,
+ * the number of classes loaded and the peak resident memory. The stub serves the release pages in
+ * {@code src/jmh/resources/fixtures} so the runs do not depend on the network, and each run gets the same
+ * working directory and user home so nothing is read from the real {@code ~/.jupdate}.</p>
+ *
+ * <p>The arguments are passed to the updater, {@code -b} by default. The medians are written as JSON to
+ * {@code startup.result}. If the {@code startup.baseline} system property points to a saved result file,
+ * every median that got worse by more than {@code startup.threshold} percent (default 10) is reported and
+ * the benchmark exits with an error so the build fails.</p>
+ */
+public final class StartupBenchmark {
+    private static final Pattern RELEASES_PATH = Pattern.compile("/repos/[^/]+/([^/]+)/releases");
+    private static final Pattern PAGE = Pattern.compile("(?:^|&)page=(\\d+)");
+    private static final Pattern PEAK_RSS = Pattern.compile("VmHWM:\\s+(\\d+) kB");
+    private static final byte[] EMPTY_PAGE = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private static final String FIRST_LINE = "firstLineMillis";
+    private static final String TOTAL = "totalMillis";
+    private static final String CLASSES = "loadedClasses";
+    private static final String PEAK_MEMORY = "peakRssKB";
+
+    private static final Map<String, byte[]> pages = new ConcurrentHashMap<>();
+
+    private StartupBenchmark() { }
+
+    public static void main(final String... args) throws Exception {
+        final Path jar = Paths.get(System.getProperty("startup.jar", "")).toAbsolutePath();
+        final int runs = Integer.parseInt(System.getProperty("startup.runs", "10"));
+        final int warmup = Integer.parseInt(System.getProperty("startup.warmup", "2"));
+        final String jvmArgs = System.getProperty("startup.jvmArgs", "").trim();
+        final Path resultFile = Paths.get(System.getProperty("startup.result", "target/startup-result.json"));
+        final List<String> appArgs = args.length == 0 ? Collections.singletonList("-b") : Arrays.asList(args);
+
+        if(!Files.isRegularFile(jar)) throw new IllegalArgumentException("Shaded jar not found: " + jar);
+
+        final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", StartupBenchmark::handle);
+        server.start();
+
+        final Path directory = Files.createTempDirectory("jupdate-startup");
+
+        try {
+            Files.write(directory.resolve("app.properties"), Arrays.asList(
+                    "api_base_url=http://127.0.0.1:" + server.getAddress().getPort(),
+                    "http_cache_enabled=false"), StandardCharsets.UTF_8);
+
+            final List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            if(!jvmArgs.isEmpty()) command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+            command.add("-Duser.home=" + directory);
+            //-Xlog only exists on Java 9 and later, on Java 8 the classes are not counted
+            if(!System.getProperty("java.specification.version").startsWith("1.")) {
+                command.add("-Xlog:class+load:file=" + directory.resolve("classes.log"));
+            }
+            command.add("-jar");
+            command.add(jar.toString());
+            command.addAll(appArgs);
+
+            System.out.println("Startup benchmark: " + String.join(" ", command));
+            System.out.println(warmup + " warmup run(s), " + runs + " measured run(s)");
+
+            //The first run writes the exclusions file, which a scheduled check only does once
+            for(int i = 0; i < warmup; i++) run(command, directory);
+
+            final Map<String, List<Long>> samples = new LinkedHashMap<>();
+            for(final String metric : new String[] {FIRST_LINE, TOTAL, CLASSES, PEAK_MEMORY}) {
+                samples.put(metric, new ArrayList<>());
+            }
+
+            for(int i = 0; i < runs; i++) {
+                final Map<String, Long> result = run(command, directory);
+                result.forEach((metric, value) -> samples.get(metric).add(value));
+                System.out.println(String.format("  run %2d: %s", i + 1, result));
+            }
+
+            final JsonObject result = summarize(appArgs, jvmArgs, samples);
+            final Path resultParent = resultFile.toAbsolutePath().getParent();
+            if(resultParent != null) Files.createDirectories(resultParent);
+
+            try(final Writer writer = Files.newBufferedWriter(resultFile, StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(result, writer);
+            }
+
+            System.out.println("Results saved to " + resultFile.toAbsolutePath());
+
+            final String baseline = System.getProperty("startup.baseline");
+            if(baseline != null && !baseline.isEmpty()) {
+                final int regressions = compare(result, Paths.get(baseline),
+                        Double.parseDouble(System.getProperty("startup.threshold", "10")));
+                if(regressions > 0) System.exit(1);
+            }
+        } finally {
+            server.stop(0);
+            deleteDirectory(directory);
+        }
+    }
+
+    /** Serves the fixture release pages, every page without a fixture is empty. */
+    private static void handle(final HttpExchange exchange) throws IOException {
+        final Matcher path = RELEASES_PATH.matcher(exchange.getRequestURI().getPath());
+        final Matcher page = PAGE.matcher(String.valueOf(exchange.getRequestURI().getQuery()));
+        byte[] body = EMPTY_PAGE;
+
+        if(path.matches() && page.find()) {
+            body = pages.computeIfAbsent(path.group(1) + "-page" + page.group(1), StartupBenchmark::loadPage);
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try(final OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] loadPage(final String page) {
+        try(final InputStream in = StartupBenchmark.class.getResourceAsStream("/fixtures/" + page + ".json.gz")) {
+            return in == null ? EMPTY_PAGE : IOUtils.toByteArray(new GZIPInputStream(in));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Launches the updater once and waits for it to exit.
+     * @return the measurements of the run, -1 for a measurement that is not available
+     */
+    private static Map<String, Long> run(final List<String> command, final Path directory)
+            throws IOException, InterruptedException {
+        final Path classLog = directory.resolve("classes.log");
+        Files.deleteIfExists(classLog);
+
+        final ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true);
+
+        final long started = System.nanoTime();
+        final Process process = builder.start();
+        final long[] firstLine = {-1};
+        long peakRss = -1;
+
+        final Thread reader = new Thread(() -> {
+            try(final BufferedReader in = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                if(in.readLine() != null) firstLine[0] = System.nanoTime() - started;
+                while(in.readLine() != null) {
+                    //Keep draining the output so the process never blocks on a full pipe
+                }
+            } catch (final IOException ignored) { }
+        });
+        reader.start();
+
+        final Path status = getStatusFile(process);
+
+        //VmHWM only grows, so the last sample before the process exits is its peak
+        while(process.isAlive()) {
+            if(status != null) peakRss = Math.max(peakRss, readPeakRss(status));
+            Thread.sleep(5);
+        }
+
+        final long total = System.nanoTime() - started;
+        reader.join();
+
+        //A run that failed early would look like a large improvement
+        if(process.exitValue() != 0) {
+            throw new IllegalStateException("The updater exited with code " + process.exitValue() + "!");
+        }
+
+        final Map<String, Long> result = new LinkedHashMap<>();
+        result.put(FIRST_LINE, firstLine[0] < 0 ? -1 : firstLine[0] / 1_000_000);
+        result.put(TOTAL, total / 1_000_000);
+        result.put(CLASSES, Files.isRegularFile(classLog) ? countLines(classLog) : -1);
+        result.put(PEAK_MEMORY, peakRss);
+        return result;
+    }
+
+    /**
+     * Returns the Linux status file of the process, the pid is only available on Java 9 and later.
+     * @return the status file or null if the peak memory cannot be measured
+     */
+    private static Path getStatusFile(final Process process) {
+        try {
+            final Object pid = Process.class.getMethod("pid").invoke(process);
+            final Path status = Paths.get("/proc", String.valueOf(pid), "status");
+            return Files.isReadable(status) ? status : null;
+        } catch (final ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static long readPeakRss(final Path status) {
+        try {
+            final Matcher matcher = PEAK_RSS.matcher(new String(Files.readAllBytes(status), StandardCharsets.UTF_8));
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+        } catch (final IOException e) {
+            //The process exited between the check and the read
+            return -1;
+        }
+    }
+
+    private static long countLines(final Path file) throws IOException {
+        try(final BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return in.lines().count();
+        }
+    }
+
+    private static JsonObject summarize(final List<String> appArgs, final String jvmArgs,
+                                        final Map<String, List<Long>> samples) {
+        final JsonObject result = new JsonObject();
+        result.add("args", new Gson().toJsonTree(appArgs));
+        result.addProperty("jvmArgs", jvmArgs);
+
+        final JsonObject metrics = new JsonObject();
+
+        System.out.println();
+        for(final Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            final List<Long> values = new ArrayList<>(entry.getValue());
+            if(values.isEmpty() || values.contains(-1L)) {
+                System.out.println(String.format("  %-16s not available", entry.getKey()));
+                continue;
+            }
+
+            Collections.sort(values);
+            final long median = values.get(values.size() / 2);
+
+            final JsonObject metric = new JsonObject();
+            metric.addProperty("median", median);
+            metric.addProperty("min", values.get(0));
+            metric.addProperty("max", values.get(values.size() - 1));
+            metrics.add(entry.getKey(), metric);
+
+            System.out.println(String.format("  %-16s median %8d  min %8d  max %8d", entry.getKey(), median,
+                    values.get(0), values.get(values.size() - 1)));
+        }
+
+        result.add("metrics", metrics);
+        return result;
+    }
+
+    private static int compare(final JsonObject result, final Path baselineFile, final double threshold)
+            throws IOException {
+        final JsonObject baseline;
+
+        try(final Reader reader = Files.newBufferedReader(baselineFile, StandardCharsets.UTF_8)) {
+            baseline = JsonParser.parseReader(reader).getAsJsonObject().getAsJsonObject("metrics");
+        }
+
+        System.out.println();
+        System.out.println("Comparison with " + baselineFile.toAbsolutePath()
+                + " (threshold " + threshold + "%):");
+
+        int regressions = 0;
+
+        for(final Map.Entry<String, JsonElement> entry : result.getAsJsonObject("metrics").entrySet()) {
+            final long median = entry.getValue().getAsJsonObject().get("median").getAsLong();
+
+            if(!baseline.has(entry.getKey())) {
+                System.out.println(String.format("  %-16s no baseline", entry.getKey()));
+                continue;
+            }
+
+            final long previous = baseline.getAsJsonObject(entry.getKey()).get("median").getAsLong();
+            //Every metric is lower is better
+            final double change = previous == 0 ? 0 : (median - previous) * 100.0 / previous;
+            final boolean regression = change > threshold;
+
+            if(regression) regressions++;
+
+            System.out.println(String.format("  %-16s %8d -> %8d %+7.1f%% %s", entry.getKey(), previous, median,
+                    change, regression ? "REGRESSION" : ""));
+        }
+
+        System.out.println(regressions + " regression(s) found.");
+        return regressions;
+    }
+
+    private static void deleteDirectory(final Path directory) throws IOException {
+        try(final Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Collections.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
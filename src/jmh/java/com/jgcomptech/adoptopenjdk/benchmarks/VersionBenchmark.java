@@ -0,0 +1,68 @@
+package com.jgcomptech.adoptopenjdk.benchmarks;
+
+import com.jgcomptech.adoptopenjdk.api.Version;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/** Measures parsing and comparing versions in each of the formats the updater reads. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VersionBenchmark {
+    @Param({"jdk8u", "basic", "programFiles", "tag"})
+    public String format;
+
+    private String[] inputs;
+    private Version[] versions;
+
+    @Setup
+    public void setup() {
+        switch(format) {
+            case "jdk8u":
+                inputs = new String[] {"jdk8u265-b01", "jdk8u252-b09.1", "jdk8u242-b08_openj9-0.18.1",
+                        "jdk8u-2020-09-15-08-15"};
+                break;
+            case "basic":
+                inputs = new String[] {"11.0.8.10", "11.0.7.10.1", "8.0.265.01", "15.0.0.36"};
+                break;
+            case "programFiles":
+                inputs = new String[] {"jdk-11.0.8.10-hotspot", "jre-11.0.7.10-openj9",
+                        "jdk-15.0.0.36-hotspot", "jdk8u265-b01-jre"};
+                break;
+            default:
+                inputs = new String[] {"jdk-11.0.8+10", "jdk-11.0.7+10_openj9-0.20.0", "jdk-15+36",
+                        "jdk11u-2020-09-15-08-15"};
+                break;
+        }
+
+        versions = new Version[inputs.length];
+        for(int i = 0; i < inputs.length; i++) {
+            versions[i] = new Version(inputs[i], format.equals("basic"), format.equals("programFiles"));
+        }
+    }
+
+    @Benchmark
+    public void parse(final Blackhole blackhole) {
+        final boolean basic = format.equals("basic");
+        final boolean programFiles = format.equals("programFiles");
+
+        for(final String input : inputs) {
+            blackhole.consume(new Version(input, basic, programFiles));
+        }
+    }
+
+    @Benchmark
+    public void compare(final Blackhole blackhole) {
+        for(final Version first : versions) {
+            for(final Version second : versions) {
+                blackhole.consume(first.compareTo(second));
+                blackhole.consume(first.isNewerThen(second));
+            }
+        }
+    }
+}
@@ -5,6 +5,9 @@ import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import static com.jgcomptech.adoptopenjdk.Settings.APP_VERSION;
@@ -47,11 +50,12 @@ public class Arguments implements Callable<Integer> {
     private boolean usageHelpRequested = false;
 
     @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
-    @Option(names = {"-jv", "--javaVersion"}, arity = "0..1",
+    @Option(names = {"-jv", "--javaVersion"}, arity = "0..1", split = ",",
             defaultValue = "11", fallbackValue = "11",
             description = "the version of java to lookup (default: ${DEFAULT-VALUE}),\n" +
-                    "if specified without parameter: ${FALLBACK-VALUE}")
-    private int version = CURRENT_LTS;
+                    "if specified without parameter: ${FALLBACK-VALUE},\n" +
+                    "several versions can be separated with commas")
+    private List<Integer> versions = new ArrayList<>(Collections.singletonList(CURRENT_LTS));
 
     @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
     @Option(names = {"-debug", "--debug"}, description = "enables debug logging")
@@ -77,6 +81,10 @@ public class Arguments implements Callable<Integer> {
     @Option(names = {"-j9", "--openj9"}, description = "enables usage of openj9 jvm type")
     private boolean openJ9 = false;
 
+    @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
+    @Option(names = {"-all", "--alltypes"}, description = "enables usage of jdk and jre with hotspot and openj9")
+    private boolean allTypes = false;
+
     @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
     @Option(names = {"-a", "--asset"}, description = "sets the asset name to install")
     private String asset = "";
@@ -105,10 +113,26 @@ public class Arguments implements Callable<Integer> {
     @Option(names = {"-d", "--download"}, description = "downloads the installer")
     private boolean download = false;
 
+    @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
+    @Option(names = {"-mirror", "--mirror"}, description = "downloads every enabled asset of the selected\n" +
+            "versions and types to the mirror path, both jdk and jre\n" +
+            "and both hotspot and openj9 can be selected")
+    private boolean mirror = false;
+
     @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
     @Option(names = {"-dp", "--downloadpath"}, description = "sets the path to download to")
     private String downloadPath = "";
 
+    @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
+    @Option(names = {"-ratelimit", "--ratelimit"}, description = "limits the combined speed of all downloads\n" +
+            "in KB per second, 0 removes the limit")
+    private long rateLimit = -1;
+
+    @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
+    @Option(names = {"-maxdownloads", "--maxdownloads"},
+            description = "limits the number of files downloaded at once,\n0 removes the limit")
+    private int maxDownloads = -1;
+
     @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
     @Option(names = {"-apiid", "--apiid"}, description = "sets the id for api usage\n" +
             "(is ignored if both id and secret are not specified)")
@@ -119,6 +143,35 @@ public class Arguments implements Callable<Integer> {
             "(is ignored if both id and secret are not specified)")
     private String apiSecret = "";
 
+    @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
+    @Option(names = {"-serve", "--serve"}, arity = "0..1", fallbackValue = "8080",
+            description = "serves the release pages and installers to other updaters\n" +
+                    "on the specified port, if specified without parameter: ${FALLBACK-VALUE}")
+    private int servePort = 0;
+
+    @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
+    @Option(names = {"-daemon", "--daemon"}, arity = "0..1", fallbackValue = "0",
+            description = "keeps running and checks for new releases every specified number\n" +
+                    "of minutes, if specified without parameter uses daemon_interval_minutes")
+    private int daemonInterval = -1;
+
+    @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
+    @Option(names = {"-resident", "--resident"},
+            description = "keeps a warm updater running that later commands from\n" +
+                    "the same directory are handed to")
+    private boolean resident = false;
+
+    @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
+    @Option(names = {"-statusfile", "--statusfile"},
+            description = "sets the file --daemon writes the latest update decisions to")
+    private String statusFile = "";
+
+    @SuppressWarnings({"FieldMayBeFinal", "CanBeFinal"})
+    @Option(names = {"-mirrordir", "--mirrordir"},
+            description = "sets the path to store installers downloaded with --mirror\n" +
+                    "and served with --serve")
+    private String mirrorPath = "";
+
     /**
      * Returns true if the -version argument was passed.
      * @return true if -version was passed
@@ -136,11 +189,19 @@ public class Arguments implements Callable<Integer> {
     }
 
     /**
-     * Returns the specified java version.
+     * Returns the specified java version, the first one if several were specified.
      * @return the version
      */
     public int getVersion() {
-        return version;
+        return versions.get(0);
+    }
+
+    /**
+     * Returns every specified java version.
+     * @return the versions
+     */
+    public List<Integer> getVersions() {
+        return Collections.unmodifiableList(versions);
     }
 
     /**
@@ -191,6 +252,14 @@ public class Arguments implements Callable<Integer> {
         return openJ9;
     }
 
+    /**
+     * Returns true if every combination of JDK, JRE, Hotspot and OpenJ9 should be used.
+     * @return true if every combination of JDK, JRE, Hotspot and OpenJ9 should be used
+     */
+    public boolean isAllTypes() {
+        return allTypes;
+    }
+
     /**
      * Returns the specified asset name.
      * @return the specified asset name
@@ -234,6 +303,14 @@ public class Arguments implements Callable<Integer> {
         return prerelease;
     }
 
+    /**
+     * Returns true if every enabled asset of the selected releases should be downloaded.
+     * @return true if every enabled asset of the selected releases should be downloaded
+     */
+    public boolean isMirror() {
+        return mirror;
+    }
+
     /**
      * Returns the specified download path for the installer.
      * @return the specified download path for the installer
@@ -259,6 +336,22 @@ public class Arguments implements Callable<Integer> {
         return download;
     }
 
+    /**
+     * Returns the specified download speed limit.
+     * @return the limit in KB per second or -1 if the limit from the properties file should be used
+     */
+    public long getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * Returns the specified maximum number of files downloaded at once.
+     * @return the maximum or -1 if the maximum from the properties file should be used
+     */
+    public int getMaxDownloads() {
+        return maxDownloads;
+    }
+
     /**
      * Returns the specified GitHub API ID.
      * @return the specified GitHub API ID
@@ -276,6 +369,46 @@ public class Arguments implements Callable<Integer> {
         return apiSecret;
     }
 
+    /**
+     * Returns the port to serve release pages and installers on.
+     * @return the port or 0 if the mirror should not be started
+     */
+    public int getServePort() {
+        return servePort;
+    }
+
+    /**
+     * Returns the number of minutes between release checks in daemon mode.
+     * @return the number of minutes, 0 to use the configured interval or -1 if the daemon should not be started
+     */
+    public int getDaemonInterval() {
+        return daemonInterval;
+    }
+
+    /**
+     * Returns true if a resident server should be started for later commands.
+     * @return true if a resident server should be started
+     */
+    public boolean isResident() {
+        return resident;
+    }
+
+    /**
+     * Returns the specified file to write the daemon status to.
+     * @return the specified file or an empty string to use the default file
+     */
+    public String getStatusFile() {
+        return statusFile;
+    }
+
+    /**
+     * Returns the specified path to store mirrored and served installers in.
+     * @return the specified path or an empty string to use the default path
+     */
+    public String getMirrorPath() {
+        return mirrorPath;
+    }
+
     /**
      * Runs the application
      * @return exit code
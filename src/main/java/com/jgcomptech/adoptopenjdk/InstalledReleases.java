@@ -0,0 +1,113 @@
+package com.jgcomptech.adoptopenjdk;
+
+import com.jgcomptech.adoptopenjdk.api.Version;
+import com.jgcomptech.adoptopenjdk.enums.AssetJVMType;
+import com.jgcomptech.adoptopenjdk.enums.AssetReleaseType;
+import com.jgcomptech.adoptopenjdk.enums.AssetType;
+import com.jgcomptech.adoptopenjdk.utils.osutils.windows.Registry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.jgcomptech.adoptopenjdk.Settings.*;
+import static com.jgcomptech.adoptopenjdk.utils.info.OSInfo.isWindows;
+import static com.jgcomptech.adoptopenjdk.utils.osutils.windows.Registry.HKEY.LOCAL_MACHINE;
+
+/**
+ * The installed AdoptOpenJDK releases of every type, read once from the Windows registry and ProgramFiles folder
+ * so that several update checks can share a single scan.
+ */
+public final class InstalledReleases {
+    private final Map<AssetType, List<Version>> registry = new EnumMap<>(AssetType.class);
+    private final Map<AssetType, List<Version>> programFiles = new EnumMap<>(AssetType.class);
+
+    private InstalledReleases() { }
+
+    /**
+     * Reads the installed releases, nothing is installed on other systems than Windows.
+     * @return the installed releases
+     * @throws IOException if the ProgramFiles folder can not be read
+     */
+    public static InstalledReleases scan() throws IOException {
+        final InstalledReleases installed = new InstalledReleases();
+
+        if(isWindows()) {
+            installed.scanRegistry(AssetReleaseType.JDK, JDK_REGISTRY_PATH);
+            installed.scanRegistry(AssetReleaseType.JRE, JRE_REGISTRY_PATH);
+            installed.scanProgramFiles();
+        }
+
+        return installed;
+    }
+
+    /**
+     * Returns the installed releases of the specified type from the Windows registry.
+     * @param assetType the asset type
+     * @return the installed releases
+     */
+    public List<Version> getFromRegistry(final AssetType assetType) {
+        return Collections.unmodifiableList(registry.getOrDefault(assetType, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the installed releases of the specified type from the Windows ProgramFiles folder.
+     * @param assetType the asset type
+     * @return the installed releases
+     */
+    public List<Version> getFromProgramFiles(final AssetType assetType) {
+        return Collections.unmodifiableList(programFiles.getOrDefault(assetType, Collections.emptyList()));
+    }
+
+    private void scanRegistry(final AssetReleaseType releaseType, final String path) {
+        if(!Registry.keyExists(LOCAL_MACHINE, path)) return;
+
+        for (final String r : Registry.getKeys(LOCAL_MACHINE, path)) {
+            if (Registry.keyExists(LOCAL_MACHINE, path + r + "\\hotspot")) {
+                add(registry, releaseType, AssetJVMType.Hotspot, new Version(r, true));
+            }
+            if (Registry.keyExists(LOCAL_MACHINE, path + r + "\\openj9")) {
+                add(registry, releaseType, AssetJVMType.OpenJ9, new Version(r, true));
+            }
+        }
+    }
+
+    private void scanProgramFiles() throws IOException {
+        final Path directory = Paths.get(WINDOWS_DEFAULT_INSTALL_PATH);
+
+        final List<Path> files;
+        try (final Stream<Path> stream = Files.find(directory, Integer.MAX_VALUE,
+                (path, attributes) -> attributes.isDirectory())) {
+            files = stream.collect(Collectors.toList());
+        }
+
+        for (final Path file : files) {
+            final String name = file.toFile().getName();
+
+            final AssetReleaseType releaseType;
+            if (name.startsWith("jdk-")) releaseType = AssetReleaseType.JDK;
+            else if (name.startsWith("jre-")) releaseType = AssetReleaseType.JRE;
+            else continue;
+
+            if (name.endsWith("-hotspot")) {
+                add(programFiles, releaseType, AssetJVMType.Hotspot, new Version(name, false, true));
+            } else if (name.endsWith("-openj9")) {
+                add(programFiles, releaseType, AssetJVMType.OpenJ9, new Version(name, false, true));
+            }
+        }
+    }
+
+    private static void add(final Map<AssetType, List<Version>> versions, final AssetReleaseType releaseType,
+                            final AssetJVMType jvmType, final Version version) {
+        AssetType.parse(releaseType, jvmType)
+                .ifPresent(assetType -> versions.computeIfAbsent(assetType, key -> new ArrayList<>()).add(version));
+    }
+}
@@ -2,26 +2,54 @@ package com.jgcomptech.adoptopenjdk;
 
 import ch.qos.logback.classic.Level;
 import com.jgcomptech.adoptopenjdk.api.APISettings;
+import com.jgcomptech.adoptopenjdk.api.ReleasePageCache;
 import com.jgcomptech.adoptopenjdk.api.beans.SimpleAsset;
 import com.jgcomptech.adoptopenjdk.enums.AssetJVMType;
 import com.jgcomptech.adoptopenjdk.enums.AssetName;
 import com.jgcomptech.adoptopenjdk.enums.AssetReleaseType;
 import com.jgcomptech.adoptopenjdk.enums.AssetType;
 import com.jgcomptech.adoptopenjdk.exclusions.Exclusions;
+import com.jgcomptech.adoptopenjdk.server.MirrorServer;
+import com.jgcomptech.adoptopenjdk.server.ResidentServer;
+import com.jgcomptech.adoptopenjdk.server.UpdateDaemon;
+import com.jgcomptech.adoptopenjdk.utils.ArtifactStore;
+import com.jgcomptech.adoptopenjdk.utils.BandwidthLimiter;
+import com.jgcomptech.adoptopenjdk.utils.BulkDownload;
+import com.jgcomptech.adoptopenjdk.utils.HTTPCache;
+import com.jgcomptech.adoptopenjdk.utils.HTTPDownload;
+import com.jgcomptech.adoptopenjdk.utils.Utils;
 import com.jgcomptech.adoptopenjdk.utils.info.OSInfo;
 import com.jgcomptech.adoptopenjdk.utils.logging.Loggers;
+import com.jgcomptech.adoptopenjdk.utils.progressbar.ProgressBar;
+import com.jgcomptech.adoptopenjdk.utils.progressbar.ProgressBarBuilder;
+import com.jgcomptech.adoptopenjdk.utils.progressbar.ProgressBarStyle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.jgcomptech.adoptopenjdk.utils.Literals.FILE_SEPARATOR;
 import static com.jgcomptech.adoptopenjdk.utils.StringUtils.isBlank;
 
 public class JUpdateApp implements Callable<Integer> {
+    private static final long MIRROR_PAGE_TTL = 60;
+    private static final int MIRROR_THREADS = 200;
+    private static final int BATCH_THREADS = 4;
     private final Logger logger = LoggerFactory.getLogger(JUpdateApp.class);
     private final Arguments arguments;
 
@@ -29,16 +57,16 @@ public class JUpdateApp implements Callable<Integer> {
         this.arguments = arguments;
     }
 
-    private Optional<JavaRelease> getRelease() {
-        if(arguments.getVersion() < 8) {
+    private Optional<JavaRelease> getRelease(final int version) {
+        if(version < 8) {
             logger.error("Illegal Update Parameter! Invalid Version Number! Java 7 and earlier is unsupported!");
             return Optional.empty();
         }
 
-        logger.info("Selected Java " + arguments.getVersion() + ", Please wait...");
+        logger.info("Selected Java " + version + ", Please wait...");
 
-        JavaRelease release = new JavaRelease(arguments.getVersion());
-        JavaRelease.getReleases().put("java" + arguments.getVersion(), release);
+        JavaRelease release = new JavaRelease(version);
+        JavaRelease.getReleases().put("java" + version, release);
         return Optional.of(release);
     }
 
@@ -106,6 +134,306 @@ public class JUpdateApp implements Callable<Integer> {
         } else throw new IllegalStateException("Unsupported OS!");
     }
 
+    private Path getMirrorDirectory() {
+        return isBlank(arguments.getMirrorPath())
+                ? MirrorServer.getDefaultDirectory()
+                : Paths.get(arguments.getMirrorPath()).toAbsolutePath();
+    }
+
+    /**
+     * Serves the release pages and installers to other updaters until the process is stopped.
+     * @return exit code
+     * @throws IOException if the server can not be started
+     */
+    private int runServer() throws IOException {
+        //Without a time to live every client request would be revalidated with the GitHub API
+        if(HTTPCache.getTimeToLive() == 0) HTTPCache.setTimeToLive(MIRROR_PAGE_TTL);
+        HTTPCache.setEnabled(true);
+
+        try(final MirrorServer server = new MirrorServer(arguments.getServePort(), getMirrorDirectory(),
+                ArtifactStore.getMaxSize(), MIRROR_THREADS).start()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            server.awaitStop();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return 0;
+    }
+
+    private void showAssetInfo(final SimpleAsset a) {
+        logger.info("Release: " + a.getParentName());
+        logger.info("JVM Type: " + a.getJVMType().getValue());
+        logger.info("OS Name: " + a.getOS().getValue());
+        logger.info("Asset Name: " + a.getAssetName());
+        logger.info("Version: " + a.getVersion().getMain());
+        logger.info("Date Created: " + a.getCreatedAt());
+        logger.info("File Size: " + a.getSizeFormatted());
+        logger.info("File Type: " + a.getContentType());
+        logger.info("Release URL: " + a.getParent().getHtml_url());
+        logger.info("Download Link: " + a.getBrowserDownloadURL());
+    }
+
+    /**
+     * Returns true if the file matches the sha-256 checksum file at the specified url.
+     * @param file        the file to check
+     * @param checksumUrl the url of the checksum file, null if there is none
+     * @return true if the checksum file was downloaded and matches the file
+     * @throws IOException if the file can not be read
+     */
+    private static boolean matchesChecksum(final Path file, final String checksumUrl) throws IOException {
+        if(checksumUrl == null) return false;
+
+        final Optional<String> expected = HTTPDownload.fetchSha256(checksumUrl);
+        return expected.isPresent() && expected.get().equalsIgnoreCase(HTTPDownload.sha256(file));
+    }
+
+    /**
+     * Returns every selected asset type, unlike an update check both jdk and jre and both hotspot and openj9
+     * can be selected at once.
+     * @return the selected asset types
+     */
+    private List<AssetType> getAssetTypes() {
+        final List<AssetType> assetTypes = new ArrayList<>();
+        final boolean jre = arguments.isJre() || arguments.isAllTypes();
+        final boolean jdk = arguments.isJdk() || arguments.isAllTypes() || !jre;
+        final boolean openJ9 = arguments.isOpenJ9() || arguments.isAllTypes();
+        final boolean hotspot = arguments.isHotspot() || arguments.isAllTypes() || !openJ9;
+
+        if(jdk && hotspot) assetTypes.add(AssetType.JDKHotspot);
+        if(jdk && openJ9) assetTypes.add(AssetType.JDKOpenJ9);
+        if(jre && hotspot) assetTypes.add(AssetType.JREHotspot);
+        if(jre && openJ9) assetTypes.add(AssetType.JREOpenJ9);
+
+        return assetTypes;
+    }
+
+    /**
+     * Keeps checking the selected versions and types for new releases until the process is stopped.
+     * @return exit code
+     * @throws IOException if any IO error occurs
+     */
+    private int runDaemon() throws IOException {
+        final List<SubRelease> subReleases = new ArrayList<>();
+
+        for(final int version : arguments.getVersions()) {
+            final Optional<JavaRelease> release = getRelease(version);
+            if(!release.isPresent()) return 1;
+
+            for(final AssetType assetType : getAssetTypes()) {
+                subReleases.add(getSubRelease(assetType, release.get()));
+            }
+        }
+
+        //The exclusions are only loaded once for the life of the daemon
+        Exclusions.createNewFile(arguments.isRefresh());
+        Exclusions.loadFile();
+
+        final AssetName assetName = processAssetName().orElseGet(this::getLocalizedAssetName);
+        final Path statusFile = isBlank(arguments.getStatusFile())
+                ? UpdateDaemon.getDefaultStatusFile()
+                : Paths.get(arguments.getStatusFile());
+        final long interval = arguments.getDaemonInterval() > 0
+                ? arguments.getDaemonInterval()
+                : UpdateDaemon.getInterval();
+
+        try(final UpdateDaemon daemon = new UpdateDaemon(subReleases, assetName, arguments.isPrerelease(),
+                statusFile, interval).start()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(daemon::close));
+            daemon.awaitStop();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Checks every selected version and type for updates at the same time and reports each one as soon as
+     * it is done.
+     * @return exit code
+     * @throws IOException if any IO error occurs
+     */
+    private int runBatch() throws IOException {
+        if(arguments.isDownload() || arguments.isInstall()) {
+            logger.error("Illegal Update Parameter! Download and install only support a single version and type!");
+            return 1;
+        }
+
+        final List<SubRelease> subReleases = new ArrayList<>();
+
+        for(final int version : arguments.getVersions()) {
+            final Optional<JavaRelease> release = getRelease(version);
+            if(!release.isPresent()) return 1;
+
+            for(final AssetType assetType : getAssetTypes()) {
+                subReleases.add(getSubRelease(assetType, release.get()));
+            }
+        }
+
+        //The exclusions and the installed releases are only read once for every check,
+        //sub-releases that read the same repository also share its release pages
+        Exclusions.createNewFile(arguments.isRefresh());
+        Exclusions.loadFile();
+        final InstalledReleases installedReleases = InstalledReleases.scan();
+
+        final AssetName assetName = processAssetName().orElseGet(this::getLocalizedAssetName);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(BATCH_THREADS, subReleases.size()), Utils.newDaemonThreadFactory("jupdate-batch"));
+        final CompletionService<Optional<SimpleAsset>> completion = new ExecutorCompletionService<>(executor);
+        final Map<Future<Optional<SimpleAsset>>, SubRelease> checks = new HashMap<>();
+
+        //Progress bars of checks running at the same time would overwrite each other so none are shown
+        for(final SubRelease subRelease : subReleases) {
+            checks.put(completion.submit(() -> subRelease
+                    .processReleases(arguments.isPrerelease(), true, assetName)
+                    .getAssets().get(assetName)), subRelease);
+        }
+
+        int exitCode = 0;
+
+        try {
+            for(int i = 0; i < checks.size(); i++) {
+                final Future<Optional<SimpleAsset>> check = completion.take();
+                final SubRelease subRelease = checks.get(check);
+                final Optional<SimpleAsset> asset;
+
+                try {
+                    asset = check.get();
+                } catch (final ExecutionException e) {
+                    logger.error("Failed To Check " + subRelease.getName() + "! " + e.getCause().getMessage());
+                    exitCode = 1;
+                    continue;
+                }
+
+                if(!asset.isPresent()) {
+                    logger.error("Asset " + assetName + " Not Found For " + subRelease.getName() + "!");
+                    exitCode = 1;
+                    continue;
+                }
+
+                if(arguments.isShowAssetInfo()) showAssetInfo(asset.get());
+
+                final Updater updater = new Updater(subRelease, asset.get(), installedReleases);
+
+                if(updater.needsUpdate()) {
+                    if(!updater.isInstalled()) {
+                        logger.info(subRelease.getName() + ": Update Required! Currently Not Installed!");
+                    } else {
+                        logger.info(subRelease.getName() + ": Update Required! Currently Installed: "
+                                + updater.getCurrentVersion().getMain());
+                    }
+                } else {
+                    logger.info(subRelease.getName() + ": Installed Java Is Latest Version! Update Not Needed!");
+                }
+
+                if(arguments.isShowBoolean()) System.out.println(subRelease.getName() + ": " + updater.needsUpdate());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return exitCode;
+    }
+
+    /**
+     * Runs the commands handed over by later updaters in this process until the process is stopped.
+     * @return exit code
+     * @throws IOException if the server can not be started
+     */
+    private int runResident() throws IOException {
+        try(final ResidentServer server = new ResidentServer(args -> {
+            //Forget what the previous command loaded or set on its command line
+            ReleasePageCache.clear();
+            JavaRelease.getReleases().clear();
+            BandwidthLimiter.setGlobal(0, 0);
+            HTTPDownload.setMaxTransfers(0);
+            return Main.run(args);
+        }).start()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            server.awaitStop();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Downloads every enabled asset of the selected versions and types to the mirror directory.
+     * @return exit code
+     * @throws IOException if any IO error occurs
+     */
+    private int runBulkDownload() throws IOException {
+        final List<AssetType> assetTypes = getAssetTypes();
+        final List<JavaRelease> releases = new ArrayList<>();
+
+        for(final int version : arguments.getVersions()) {
+            final Optional<JavaRelease> release = getRelease(version);
+            if(!release.isPresent()) return 1;
+            releases.add(release.get());
+        }
+
+        Exclusions.createNewFile(arguments.isRefresh());
+        Exclusions.loadFile();
+
+        final Path directory = getMirrorDirectory();
+        final BulkDownload bulkDownload = new BulkDownload(directory);
+
+        for(final JavaRelease release : releases) {
+            for(final AssetType assetType : assetTypes) {
+                final SubRelease subRelease = getSubRelease(assetType, release);
+
+                try {
+                    subRelease.processReleases(arguments.isPrerelease(), arguments.isShowBoolean());
+                } catch (final IOException e) {
+                    logger.error("Failed To Check " + subRelease.getName() + "! " + e.getMessage());
+                    return 1;
+                }
+
+                for(final AssetName name : subRelease.getAssets().getEnabledAssets()) {
+                    final Optional<SimpleAsset> asset = subRelease.getAssets().get(name);
+                    if(!asset.isPresent()) continue;
+
+                    bulkDownload.add(APISettings.getDownloadURL(asset.get().getBrowserDownloadURL()),
+                            asset.get().getParent().getShaAsset(asset.get())
+                                    .map(sha -> APISettings.getDownloadURL(sha.getBrowserDownloadURL()))
+                                    .orElse(null),
+                            asset.get().getSize());
+                }
+            }
+        }
+
+        logger.info("Mirroring " + bulkDownload.getCount() + " files ("
+                + Utils.convertBytesToString(bulkDownload.getTotalSize()) + ") to " + directory + "...");
+
+        final BulkDownload.Result result;
+        try (final ProgressBar pb = new ProgressBarBuilder()
+                .setTaskName("")
+                .setInitialMax(bulkDownload.getTotalSize())
+                .setStyle(ProgressBarStyle.UNICODE_BLOCK)
+                .useFileProgressBarRenderer()
+                .build()) {
+            result = bulkDownload.run(pb::stepTo);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+
+        result.getFailed().forEach((url, message) -> logger.error("Failed To Mirror " + url + "! " + message));
+        logger.info("Mirrored " + result.getDownloaded() + " files, "
+                + Utils.convertBytesToString(result.getTransferred()) + " in "
+                + result.getElapsedMillis() / 1000.0 + "s at "
+                + Utils.convertBytesToString(result.getThroughput()) + "/s, "
+                + result.getSkipped() + " already present, " + result.getFailed().size() + " failed");
+
+        return result.getFailed().isEmpty() ? 0 : 1;
+    }
+
     /**
      * Runs the application
      * @return exit code
@@ -127,11 +455,24 @@ public class JUpdateApp implements Callable<Integer> {
             APISettings.setUseOAuth(true);
         }
 
+        //The download limits on the command line replace the ones in the properties file
+        if(arguments.getRateLimit() >= 0) {
+            BandwidthLimiter.setGlobal(arguments.getRateLimit() * 1024, 0);
+        }
+        if(arguments.getMaxDownloads() >= 0) HTTPDownload.setMaxTransfers(arguments.getMaxDownloads());
+
         if(APISettings.isUseOAuth()) logger.info("GitHub OAuth Active...");
         else logger.info("GitHub OAuth Inactive...");
 
+        if(arguments.getServePort() > 0) return runServer();
+        if(arguments.isMirror()) return runBulkDownload();
+        if(arguments.getDaemonInterval() >= 0) return runDaemon();
+        if(arguments.isResident()) return runResident();
+
+        if(arguments.getVersions().size() > 1 || getAssetTypes().size() > 1) return runBatch();
+
         //Load the Java release to use for lookup using the specified Java version
-        final Optional<JavaRelease> release = getRelease();
+        final Optional<JavaRelease> release = getRelease(arguments.getVersion());
 
         if (release.isPresent()) {
             final Optional<AssetReleaseType> releaseType = processReleaseType();
@@ -152,33 +493,30 @@ public class JUpdateApp implements Callable<Integer> {
             Exclusions.createNewFile(arguments.isRefresh());
             Exclusions.loadFile();
 
-            //This is the main processing task that contacts the API and download all release info
-            subRelease.processReleases(arguments.isPrerelease(),
-                    arguments.isShowBoolean()).printMissingAssets().printExtraAssets();
-
             //Retrieve the specified asset name to use for update check and installer download
             final AssetName assetName = processAssetName().orElseGet(this::getLocalizedAssetName);
 
+            //This is the main processing task that contacts the API and download release info,
+            //an update check only needs the selected asset so stop as soon as it is found
+            try {
+                if (arguments.isShowBoolean() || arguments.isDownload() || arguments.isInstall()) {
+                    subRelease.processReleases(arguments.isPrerelease(), arguments.isShowBoolean(), assetName);
+                } else {
+                    subRelease.processReleases(arguments.isPrerelease(),
+                            arguments.isShowBoolean()).printMissingAssets().printExtraAssets();
+                }
+            } catch (final IOException e) {
+                logger.error("Failed To Check " + subRelease.getName() + "! " + e.getMessage());
+                return 1;
+            }
+
             //Retrieve the matching asset object
             final Optional<SimpleAsset> asset = subRelease.getAssets().get(assetName);
 
             if (!asset.isPresent()) throw new IllegalArgumentException("Asset Not Found!");
 
             //If it was specified to show info about the retrieved asset do that here
-            if (arguments.isShowAssetInfo()) {
-                final SimpleAsset a = asset.get();
-
-                logger.info("Release: " + a.getParentName());
-                logger.info("JVM Type: " + a.getJVMType().getValue());
-                logger.info("OS Name: " + a.getOS().getValue());
-                logger.info("Asset Name: " + a.getAssetName());
-                logger.info("Version: " + a.getVersion().getMain());
-                logger.info("Date Created: " + a.getCreatedAt());
-                logger.info("File Size: " + a.getSizeFormatted());
-                logger.info("File Type: " + a.getContentType());
-                logger.info("Release URL: " + a.getParent().getHtml_url());
-                logger.info("Download Link: " + a.getBrowserDownloadURL());
-            }
+            if (arguments.isShowAssetInfo()) showAssetInfo(asset.get());
 
             //Initialize the updater instance and run an update check
             final Updater updater = new Updater(subRelease, asset.get());
@@ -192,7 +530,7 @@ public class JUpdateApp implements Callable<Integer> {
                 if (arguments.isShowBoolean()) System.out.println("true");
                 if (arguments.isDownload() || arguments.isInstall()) {
 
-                    final String downloadUrl = asset.get().getBrowserDownloadURL();
+                    final String downloadUrl = APISettings.getDownloadURL(asset.get().getBrowserDownloadURL());
                     final String path = arguments.getDownloadPath();
 
                     String filename;
@@ -206,16 +544,32 @@ public class JUpdateApp implements Callable<Integer> {
 
                     file = new File(filename);
 
-                    if (!file.exists()) {
-                        //Download the installer
-                        updater.runDownload(path, downloadUrl);
+                    final String checksumUrl = asset.get().getParent().getShaAsset(asset.get())
+                            .map(sha -> APISettings.getDownloadURL(sha.getBrowserDownloadURL())).orElse(null);
+
+                    //An installer is only run if it matches the sha-256 asset of the release
+                    if (arguments.isInstall() && checksumUrl == null) {
+                        logger.error("No SHA-256 Checksum Published For " + asset.get().getAssetName()
+                                + "! The installer can not be verified!");
+                        return 1;
                     }
-                    if (arguments.isInstall()) {
-                        if (file.exists()) {
-                            //Run the installer
-                            updater.runInstall(filename);
-                        }
+
+                    //A file with the right size can still be left over from a different or damaged download
+                    boolean ready = file.isFile() && file.length() == asset.get().getSize()
+                            && matchesChecksum(file.toPath(), checksumUrl);
+
+                    if (ready) {
+                        logger.info("Installer Already Downloaded And Verified!");
+                    } else {
+                        //Download the installer, an interrupted download continues from its part file
+                        //and the installer is checked against the sha-256 asset of the release
+                        ready = updater.runDownload(path, downloadUrl, checksumUrl).isPresent();
                     }
+
+                    if (!ready) return 1;
+
+                    //Run the installer
+                    if (arguments.isInstall()) updater.runInstall(filename);
                 }
             } else {
                 logger.info("Installed Java Is Latest Version! Update Not Needed!");
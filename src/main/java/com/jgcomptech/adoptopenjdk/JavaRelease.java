@@ -4,7 +4,11 @@ import com.jgcomptech.adoptopenjdk.enums.AssetType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /** The main object that contains all info about a Java version. */
@@ -100,6 +104,32 @@ public class JavaRelease {
         return jreOpenJ9;
     }
 
+    /**
+     * Gets all four Sub-Releases.
+     *
+     * @return all four Sub-Releases
+     */
+    public List<SubRelease> getSubReleases() {
+        return Collections.unmodifiableList(Arrays.asList(jdkHotspot, jdkOpenJ9, jreHotspot, jreOpenJ9));
+    }
+
+    /**
+     * Contacts the API and download all release info for all four Sub-Releases.
+     * Sub-Releases that read from the same repository share the downloaded release pages
+     * so each page is only requested once.
+     * @param prerelease  whether or not pre-release assets should be used
+     * @param showBoolean whether or not logging should be enabled
+     * @return this instance for method chaining
+     * @throws IOException if any errors occur
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public JavaRelease processReleases(final boolean prerelease, final boolean showBoolean) throws IOException {
+        for (final SubRelease subRelease : getSubReleases()) {
+            subRelease.processReleases(prerelease, showBoolean);
+        }
+        return this;
+    }
+
     @Override
     public String toString() {
         return "Java " + majorBuild;
@@ -1,17 +1,15 @@
 package com.jgcomptech.adoptopenjdk;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.jgcomptech.adoptopenjdk.api.APISettings;
 import com.jgcomptech.adoptopenjdk.api.BaseAssets;
+import com.jgcomptech.adoptopenjdk.api.ReleasePage;
+import com.jgcomptech.adoptopenjdk.api.ReleasePageCache;
 import com.jgcomptech.adoptopenjdk.api.beans.SimpleAsset;
 import com.jgcomptech.adoptopenjdk.api.beans.SimpleRelease;
 import com.jgcomptech.adoptopenjdk.enums.AssetJVMType;
 import com.jgcomptech.adoptopenjdk.enums.AssetName;
 import com.jgcomptech.adoptopenjdk.enums.AssetReleaseType;
 import com.jgcomptech.adoptopenjdk.enums.AssetType;
-import com.jgcomptech.adoptopenjdk.utils.HTTPDownload;
 import com.jgcomptech.adoptopenjdk.utils.IntegerValue;
 import com.jgcomptech.adoptopenjdk.utils.logging.Loggers;
 import com.jgcomptech.adoptopenjdk.utils.progressbar.ProgressBar;
@@ -22,12 +20,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 
-import static com.jgcomptech.adoptopenjdk.Settings.COMPANY_NAME;
-import static com.jgcomptech.adoptopenjdk.api.APISettings.*;
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getNumberOfReleasesPerPage;
 
 /**
  * The main object that contains all info about a specific Java version in either JDK or JRE and Hotspot or OpenJ9.
@@ -123,6 +120,14 @@ public class SubRelease {
         releaseCount.add(APISettings.getNumberOfReleasesPerPage());
     }
 
+    /**
+     * Resets the current API page and release count to the first page.
+     */
+    private void resetPageAndReleaseCount() {
+        pageCount.set(1);
+        releaseCount.set(APISettings.getNumberOfReleasesPerPage());
+    }
+
     /**
      * Contacts the API and download all release info and process the results.
      * @param prerelease  whether or not pre-release assets should be used
@@ -134,92 +139,101 @@ public class SubRelease {
     public SubRelease processReleases(final boolean prerelease, final boolean showBoolean) throws IOException {
         logger.info("~ Processing Java " + parent.getMajorBuild() + ' ' + assetType.toString() + "...");
 
+        return processReleases(prerelease, showBoolean, this::isAllAssetsAcquired);
+    }
+
+    /**
+     * Contacts the API and only downloads release info until the specified asset
+     * and its matching sha-256 and json assets have been found in the newest release that contains them.
+     * @param prerelease  whether or not pre-release assets should be used
+     * @param showBoolean whether or not logging should be enabled
+     * @param assetName   the asset to lookup
+     * @return this instance for method chaining
+     * @throws IOException if any errors occur
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public SubRelease processReleases(final boolean prerelease,
+                                      final boolean showBoolean,
+                                      final AssetName assetName) throws IOException {
+        logger.info("~ Processing Java " + parent.getMajorBuild() + ' ' + assetType.toString()
+                + " Asset " + assetName + "...");
+
+        return processReleases(prerelease, showBoolean, () -> assets.isAcquired(assetName));
+    }
+
+    private SubRelease processReleases(final boolean prerelease,
+                                       final boolean showBoolean,
+                                       final BooleanSupplier isComplete) throws IOException {
         boolean allAssetsAcquired = false;
 
-        if(!Loggers.RootPackage.getLogger().isDebugEnabled() && !showBoolean) {
-            try (final ProgressBar pb = new ProgressBarBuilder()
-                    .setTaskName("")
-                    .setInitialMax(getAssets().getEnabledAssets().size())
-                    .setStyle(ProgressBarStyle.ASCII_LINUX)
-                    .useDefaultProgressBarRenderer()
-                    .build()) {
-                while(!allAssetsAcquired) {
+        //Start at the newest release again, a daemon checks the same sub-release on every poll
+        resetPageAndReleaseCount();
+
+        //The pages are shared with all other sub-releases that read from the same repository
+        final ReleasePageCache pages = ReleasePageCache.getInstance(getRepositoryName(), prerelease).acquire();
+
+        try {
+            if (!Loggers.RootPackage.getLogger().isDebugEnabled() && !showBoolean) {
+                try (final ProgressBar pb = new ProgressBarBuilder()
+                        .setTaskName("")
+                        .setInitialMax(getAssets().getEnabledAssets().size())
+                        .setStyle(ProgressBarStyle.ASCII_LINUX)
+                        .useDefaultProgressBarRenderer()
+                        .build()) {
+                    while (!allAssetsAcquired) {
+                        allAssetsAcquired =
+                                acquireNextReleasePage(this, pages, pb, isComplete);
+                    }
+                }
+            } else {
+                while (!allAssetsAcquired) {
                     allAssetsAcquired =
-                            acquireNextReleasePage(this, prerelease, pb);
+                            acquireNextReleasePage(this, pages, null, isComplete);
                 }
             }
-        } else {
-            while(!allAssetsAcquired) {
-                allAssetsAcquired =
-                        acquireNextReleasePage(this, prerelease, null);
-            }
+        } finally {
+            //Stop any page requests that are still in flight unless another sub-release still reads them
+            pages.release();
         }
 
         return this;
     }
 
-    private boolean acquireNextReleasePage(final SubRelease subRelease,
-                                                 final boolean usePrerelease,
-                                                 final ProgressBar pb) throws IOException {
-        final String fullUrlMask =
-                "https://api.github.com/repos/%1s/%2s/releases?page=%d&per_page=%d&client_id=%3s&client_secret=%4s";
-        final String shortUrlMask =
-                "https://api.github.com/repos/%1s/%2s/releases?page=%d&per_page=%d";
-        final String fullUrl;
-
-        final JavaRelease baseRelease = subRelease.getParentBaseRelease();
-
-        String releaseUrl = baseRelease.getUrl();
-
-        if(subRelease.getType() == AssetType.JDKOpenJ9 || subRelease.getType() == AssetType.JREOpenJ9) {
-            if(baseRelease.getMajorBuild() == 9) {
-                releaseUrl = "openjdk9-openj9-releases";
-            } else if(baseRelease.getMajorBuild() == 10) {
-                releaseUrl = "openjdk10-openj9-releases";
+    /**
+     * Gets the name of the GitHub repository that contains the releases.
+     * @return the name of the GitHub repository that contains the releases
+     */
+    public String getRepositoryName() {
+        if(assetType.getJvmType() == AssetJVMType.OpenJ9) {
+            if(parent.getMajorBuild() == 9) {
+                return "openjdk9-openj9-releases";
+            } else if(parent.getMajorBuild() == 10) {
+                return "openjdk10-openj9-releases";
             }
         }
 
-        //Create the API URL depending on if OAuth information has been provided.
-        //noinspection IfMayBeConditional
-        if (isUseOAuth()) {
-            fullUrl = String.format(fullUrlMask, COMPANY_NAME, releaseUrl,
-                    getPageCount(), getNumberOfReleasesPerPage(),
-                    getOAuth_client_id(), getOAuth_client_secret());
-        }
-        else {
-            fullUrl = String.format(shortUrlMask, COMPANY_NAME, releaseUrl,
-                    getPageCount(), getNumberOfReleasesPerPage());
-        }
+        return parent.getUrl();
+    }
 
+    private boolean acquireNextReleasePage(final SubRelease subRelease,
+                                           final ReleasePageCache pages,
+                                           final ProgressBar pb,
+                                           final BooleanSupplier isComplete) throws IOException {
         logger.debug("~ Processing Release Page " + getPageCount() + ' ' + subRelease.getName()
                 + " (Release " + (getReleaseCount() - getNumberOfReleasesPerPage())
                 + '-' + getReleaseCount() + ")...");
 
-        final HTTPDownload download = new HTTPDownload(fullUrl);
-
-        //Load the JSON response from the API
-        final Optional<JsonArray> pageReleases = download.processJSONAsArray();
+        //Load the next page from the API, later pages are already being requested in the background
+        final Optional<ReleasePage> page = pages.getPage(getPageCount());
 
         //Go to the next release if 0 results were returned
-        if(!pageReleases.isPresent() || pageReleases.get().size() == 0) {
+        if(!page.isPresent()) {
             //Increment the API page count to prep for the next release page
             incrementPageAndReleaseCount();
             return true;
         }
 
-        final List<SimpleRelease> newReleases = new LinkedList<>();
-
-        //Process each release one at a time
-        for(final JsonElement releaseElement : pageReleases.get()) {
-            final JsonObject releaseObject = releaseElement.getAsJsonObject();
-
-            //If release is marked as a pre-release then skip
-            if(releaseObject.get("prerelease").getAsBoolean() && !usePrerelease) continue;
-
-            newReleases.add(new SimpleRelease(releaseObject));
-        }
-
-        if(subRelease.isAllAssetsAcquired()) {
+        if(isComplete.getAsBoolean()) {
             if(pb != null) pb.stepTo(getAssets().getEnabledAssets().size());
             //noinspection HardcodedFileSeparator
             logger.debug("***** All " + subRelease.getName() + " Assets Acquired! "
@@ -228,10 +242,10 @@ public class SubRelease {
             return true;
         }
 
-        for(final SimpleRelease newRelease : newReleases) {
+        for(final SimpleRelease newRelease : page.get().getReleases()) {
             processRelease(subRelease, newRelease, pb);
 
-            if(subRelease.isAllAssetsAcquired()) {
+            if(isComplete.getAsBoolean()) {
                 if(pb != null) pb.stepTo(getAssets().getEnabledAssets().size());
                 //noinspection HardcodedFileSeparator
                 logger.debug("***** All " + subRelease.getName() + " Assets Acquired! "
@@ -246,6 +260,17 @@ public class SubRelease {
         return false;
     }
 
+    /**
+     * Adds the assets of the specified release that match this sub-release and were not acquired yet.
+     * @param release the release to process
+     * @return this instance for method chaining
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public SubRelease processRelease(final SimpleRelease release) {
+        processRelease(this, release, null);
+        return this;
+    }
+
     private void processRelease(final SubRelease subRelease,
                                        final SimpleRelease release,
                                        final ProgressBar pb) {
@@ -298,9 +323,7 @@ public class SubRelease {
             final String binarySHAName = binaryAsset.getFilename() + ".sha256.txt";
 
             //Check if matching filename exists and if so save it to a variable
-            final Optional<SimpleAsset> shaAsset = release.getShaAssets().stream()
-                    .filter(a -> a.getFilename().equals(binarySHAName))
-                    .findFirst();
+            final Optional<SimpleAsset> shaAsset = release.getShaAsset(binaryAsset);
 
             //Check if matching filename was found
             if (shaAsset.isPresent()) {
@@ -324,9 +347,7 @@ public class SubRelease {
             final String binaryJsonName = binaryAsset.getFilename() + ".json";
 
             //Check if matching filename exists and if so save it to a variable
-            final Optional<SimpleAsset> jsonAsset = release.getJsonAssets().stream()
-                    .filter(a -> a.getFilename().equals(binaryJsonName))
-                    .findFirst();
+            final Optional<SimpleAsset> jsonAsset = release.getJsonAsset(binaryAsset);
 
             //Check if matching filename was found
             if (jsonAsset.isPresent()) {
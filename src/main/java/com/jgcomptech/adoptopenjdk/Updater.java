@@ -2,12 +2,11 @@ package com.jgcomptech.adoptopenjdk;
 
 import com.jgcomptech.adoptopenjdk.api.Version;
 import com.jgcomptech.adoptopenjdk.api.beans.SimpleAsset;
-import com.jgcomptech.adoptopenjdk.enums.AssetJVMType;
-import com.jgcomptech.adoptopenjdk.enums.AssetReleaseType;
 import com.jgcomptech.adoptopenjdk.enums.DLStatus;
+import com.jgcomptech.adoptopenjdk.utils.DownloadListener;
+import com.jgcomptech.adoptopenjdk.utils.DownloadResult;
 import com.jgcomptech.adoptopenjdk.utils.HTTPDownload;
 import com.jgcomptech.adoptopenjdk.utils.osutils.ExecutingCommand;
-import com.jgcomptech.adoptopenjdk.utils.osutils.windows.Registry;
 import com.jgcomptech.adoptopenjdk.utils.progressbar.ProgressBar;
 import com.jgcomptech.adoptopenjdk.utils.progressbar.ProgressBarBuilder;
 import com.jgcomptech.adoptopenjdk.utils.progressbar.ProgressBarStyle;
@@ -18,16 +17,11 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.MalformedURLException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
 
-import static com.jgcomptech.adoptopenjdk.Settings.*;
 import static com.jgcomptech.adoptopenjdk.utils.Literals.FILE_SEPARATOR;
 import static com.jgcomptech.adoptopenjdk.utils.info.OSInfo.isWindows;
-import static com.jgcomptech.adoptopenjdk.utils.osutils.windows.Registry.HKEY.LOCAL_MACHINE;
 
 /**
  * The main updater class that checks to see if a update is required.
@@ -40,6 +34,7 @@ public class Updater {
     private boolean needsUpdate;
     private boolean isInstalled;
     private final SubRelease release;
+    private final InstalledReleases installedReleases;
 
     /**
      * Instantiates a new Updater.
@@ -48,12 +43,21 @@ public class Updater {
      * @throws IOException if an error occurs
      */
     public Updater(final SubRelease release, final SimpleAsset asset) throws IOException {
+        this(release, asset, InstalledReleases.scan());
+    }
+
+    /**
+     * Instantiates a new Updater that compares against installed releases that were already read.
+     * @param release           the release
+     * @param asset             the asset
+     * @param installedReleases the installed releases
+     */
+    public Updater(final SubRelease release, final SimpleAsset asset, final InstalledReleases installedReleases) {
         this.release = release;
+        this.installedReleases = installedReleases;
 
-        if(isWindows()) {
-            getVersionStringsFromRegistry().forEach(v -> installed.put(v.getBasic(), v));
-            getVersionStringsFromProgramFiles().forEach(v -> installed.put(v.getBasic(), v));
-        }
+        getVersionStringsFromRegistry().forEach(v -> installed.put(v.getBasic(), v));
+        getVersionStringsFromProgramFiles().forEach(v -> installed.put(v.getBasic(), v));
 
         latestVersion = asset.getVersion();
 
@@ -115,66 +119,15 @@ public class Updater {
      * @return a list of all installed releases from the Windows registry
      */
     public List<Version> getVersionStringsFromRegistry() {
-        String path = release.getReleaseType() == AssetReleaseType.JDK ? JDK_REGISTRY_PATH : JRE_REGISTRY_PATH;
-
-        boolean exists = Registry.keyExists(LOCAL_MACHINE, path);
-
-        if(exists) {
-            List<String> results = Registry.getKeys(LOCAL_MACHINE, path);
-            List<Version> versions = new ArrayList<>();
-            for (String r : results) {
-                boolean matches = false;
-
-                if (release.getJvmType() == AssetJVMType.Hotspot
-                        && Registry.keyExists(LOCAL_MACHINE, path + r + "\\hotspot")) {
-                    matches = true;
-                } else if (release.getJvmType() == AssetJVMType.OpenJ9
-                        && Registry.keyExists(LOCAL_MACHINE, path + r + "\\openj9")) {
-                    matches = true;
-                }
-
-                if(matches) versions.add(new Version(r, true));
-            }
-            return versions;
-        }
-        return new ArrayList<>();
+        return installedReleases.getFromRegistry(release.getType());
     }
 
     /**
      * Returns a list of all installed releases from the Windows ProgramFiles folder.
      * @return a list of all installed releases from the Windows ProgramFiles folder
-     * @throws IOException if an error occurs
      */
-    public List<Version> getVersionStringsFromProgramFiles() throws IOException {
-        final Path directory = Paths.get(WINDOWS_DEFAULT_INSTALL_PATH);
-
-        final List<Version> versions = new ArrayList<>();
-
-        final List<Path> files = Files.find(directory, Integer.MAX_VALUE,
-                (path, attributes) -> attributes.isDirectory())
-                .collect(Collectors.toList());
-
-        for (final Path file : files) {
-            String name = file.toFile().getName();
-
-            boolean matches = false;
-
-            if (name.startsWith("jdk-") && release.getReleaseType() == AssetReleaseType.JDK) {
-                if (name.endsWith("-hotspot") && release.getJvmType() == AssetJVMType.Hotspot
-                        || name.endsWith("-openj9") && release.getJvmType() == AssetJVMType.OpenJ9) {
-                    matches = true;
-                }
-            } else if (name.startsWith("jre-") && release.getReleaseType() == AssetReleaseType.JRE) {
-                if (name.endsWith("-hotspot") && release.getJvmType() == AssetJVMType.Hotspot
-                        || name.endsWith("-openj9") && release.getJvmType() == AssetJVMType.OpenJ9) {
-                    matches = true;
-                }
-            }
-
-            if (matches) versions.add(new Version(name, false, true));
-        }
-
-        return versions;
+    public List<Version> getVersionStringsFromProgramFiles() {
+        return installedReleases.getFromProgramFiles(release.getType());
     }
 
     /**
@@ -183,8 +136,18 @@ public class Updater {
      * @param url  the url to download
      * @return the filename if no errors occurred
      */
-    @SuppressWarnings("BusyWait")
     public Optional<String> runDownload(final String path, final String url) {
+        return runDownload(path, url, null);
+    }
+
+    /**
+     * Downloads the specified file to the specified path and verifies it against a SHA-256 checksum file.
+     * @param path        the path to download to
+     * @param url         the url to download
+     * @param checksumUrl the url of the sha-256 checksum file or null to skip verification
+     * @return the filename if no errors occurred and the checksum matched
+     */
+    public Optional<String> runDownload(final String path, final String url, final String checksumUrl) {
         String newPath = path;
         boolean downloadSucceeded;
 
@@ -192,24 +155,40 @@ public class Updater {
             newPath = newPath.substring(0, path.length() - 1);
         }
 
-        try(final HTTPDownload download = new HTTPDownload(path, url).download()) {
-            while(download.getSize() == -1) Thread.sleep(10);
+        try(final HTTPDownload download = new HTTPDownload(path, url).verifySha256(checksumUrl)) {
             logger.info("Downloading installer...");
+            final DownloadResult result;
             try (final ProgressBar pb = new ProgressBarBuilder()
                     .setTaskName("")
-                    .setInitialMax(download.getSize())
+                    .setInitialMax(-1)
                     .setStyle(ProgressBarStyle.UNICODE_BLOCK)
                     .useFileProgressBarRenderer()
                     .build()) {
-                while(download.getStatus() == DLStatus.DOWNLOADING) {
-                    pb.stepTo(download.getDownloaded());
-                }
+                download.addListener(new DownloadListener() {
+                    @Override
+                    public void started(final HTTPDownload download, final long size, final long downloaded) {
+                        pb.maxHint(size);
+                        pb.stepTo(downloaded);
+                    }
+
+                    @Override
+                    public void progress(final HTTPDownload download, final long downloaded, final long size) {
+                        pb.stepTo(downloaded);
+                    }
+                });
+
+                //Wait for the download to stop, the progress bar is updated by the listener
+                result = download.download().getResult().get();
             }
 
-            switch (download.getStatus()) {
+            switch (result.getStatus()) {
                 case COMPLETE:
-                    final File file = new File(download.getFilepath());
-                    if(file.exists() && !file.isDirectory()) {
+                    final File file = new File(result.getFilepath());
+                    if(checksumUrl != null && !result.getSha256().isPresent()) {
+                        //The checksum could not be downloaded so the installer can not be trusted
+                        logger.error("Installer Could Not Be Verified!");
+                        downloadSucceeded = false;
+                    } else if(file.exists() && !file.isDirectory()) {
                         logger.info("Download Complete!");
                         downloadSucceeded = true;
                     } else {
@@ -222,7 +201,7 @@ public class Updater {
                     downloadSucceeded = false;
                     break;
                 case ERROR:
-                    logger.info("Download Failed!");
+                    logger.info("Download Failed! " + result.getErrorMessage().orElse(""));
                     downloadSucceeded = false;
                     break;
                 default:
@@ -230,7 +209,7 @@ public class Updater {
                     break;
             }
 
-        } catch (final InterruptedException | MalformedURLException e) {
+        } catch (final InterruptedException | ExecutionException | MalformedURLException e) {
             logger.error(e.getMessage(), e);
             downloadSucceeded = false;
         }
@@ -1,6 +1,7 @@
 package com.jgcomptech.adoptopenjdk.api;
 
 import com.jgcomptech.adoptopenjdk.Main;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -12,11 +13,19 @@ import java.util.Properties;
 import static com.jgcomptech.adoptopenjdk.utils.Literals.FILE_SEPARATOR;
 
 public final class APISettings {
+    /** The GitHub API that release pages are read from unless another API base url is set. */
+    public static final String GITHUB_API_URL = "https://api.github.com";
+    /** The prefix of every {@code browser_download_url} of a release asset. */
+    public static final String GITHUB_DOWNLOAD_URL = "https://github.com";
 
     private static String oAuth_client_id = "";
     private static String oAuth_client_secret = "";
     private static int numberOfReleasesPerPage = 10;
+    private static int pagePrefetchDepth = 4;
     private static boolean useOAuth;
+    private static String apiBaseUrl = GITHUB_API_URL;
+    private static String downloadBaseUrl = "";
+    private static volatile Properties properties = new Properties();
 
     private APISettings() { }
 
@@ -44,6 +53,14 @@ public final class APISettings {
         APISettings.numberOfReleasesPerPage = numberOfReleasesPerPage;
     }
 
+    public static int getPagePrefetchDepth() {
+        return pagePrefetchDepth;
+    }
+
+    public static void setPagePrefetchDepth(final int pagePrefetchDepth) {
+        APISettings.pagePrefetchDepth = Math.max(1, pagePrefetchDepth);
+    }
+
     public static boolean isUseOAuth() {
         return (!oAuth_client_id.isEmpty() && !oAuth_client_secret.isEmpty()) && useOAuth;
     }
@@ -52,6 +69,115 @@ public final class APISettings {
         APISettings.useOAuth = useOAuth;
     }
 
+    /**
+     * Returns the base url of the GitHub API, for example a mirror started with {@code --serve}.
+     * @return the base url without a trailing slash
+     */
+    public static String getApiBaseUrl() {
+        return apiBaseUrl;
+    }
+
+    public static void setApiBaseUrl(final String apiBaseUrl) {
+        APISettings.apiBaseUrl = trimTrailingSlashes(apiBaseUrl.isEmpty() ? GITHUB_API_URL : apiBaseUrl);
+    }
+
+    /**
+     * Returns the base url that release assets are downloaded from instead of GitHub.
+     * @return the base url without a trailing slash or an empty string to download from GitHub
+     */
+    public static String getDownloadBaseUrl() {
+        return downloadBaseUrl;
+    }
+
+    public static void setDownloadBaseUrl(final String downloadBaseUrl) {
+        APISettings.downloadBaseUrl = trimTrailingSlashes(downloadBaseUrl);
+    }
+
+    /**
+     * Returns the url to download an asset from, which is the asset's {@code browser_download_url}
+     * on the download base url if one is set.
+     * @param browserDownloadUrl the browser download url of the asset
+     * @return the url to download the asset from
+     */
+    public static String getDownloadURL(final String browserDownloadUrl) {
+        if(downloadBaseUrl.isEmpty() || !browserDownloadUrl.startsWith(GITHUB_DOWNLOAD_URL + '/')) {
+            return browserDownloadUrl;
+        }
+
+        return downloadBaseUrl + browserDownloadUrl.substring(GITHUB_DOWNLOAD_URL.length());
+    }
+
+    /**
+     * Returns the properties read by the last call to {@link #loadPropertiesFile()},
+     * every other subsystem reads its own keys from them through a {@link SettingsSection}.
+     * @return the properties, empty if no file was loaded
+     */
+    public static Properties getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the value of a true or false property.
+     * @param properties   the properties
+     * @param key          the property key
+     * @param defaultValue the value if the property is not set
+     * @return the value
+     */
+    public static boolean getBoolean(final Properties properties, final String key, final boolean defaultValue) {
+        final String value = properties.getProperty(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Returns the value of a whole number property, a value that is not a number is ignored with a warning.
+     * @param properties   the properties
+     * @param key          the property key
+     * @param defaultValue the value if the property is not set or is not a number
+     * @return the value
+     */
+    public static int getInt(final Properties properties, final String key, final int defaultValue) {
+        final long value = getLong(properties, key, defaultValue);
+
+        if(value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            warnInvalid(key, String.valueOf(value), defaultValue);
+            return defaultValue;
+        }
+
+        return (int) value;
+    }
+
+    /**
+     * Returns the value of a whole number property, a value that is not a number is ignored with a warning.
+     * @param properties   the properties
+     * @param key          the property key
+     * @param defaultValue the value if the property is not set or is not a number
+     * @return the value
+     */
+    public static long getLong(final Properties properties, final String key, final long defaultValue) {
+        final String value = properties.getProperty(key);
+
+        if(value == null) return defaultValue;
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            warnInvalid(key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    //The logger is only created for a bad value so reading the settings does not load the logging
+    private static void warnInvalid(final String key, final String value, final long defaultValue) {
+        LoggerFactory.getLogger(APISettings.class).warn("Invalid " + key + " In app.properties: \"" + value
+                + "\", Using " + defaultValue + " Instead!");
+    }
+
+    private static String trimTrailingSlashes(final String url) {
+        String trimmed = url.trim();
+        while(trimmed.endsWith("/")) trimmed = trimmed.substring(0, trimmed.length() - 1);
+        return trimmed;
+    }
+
     public static void loadPropertiesFile() throws IOException {
         final Properties properties = new Properties();
         File external = new File("app.properties");
@@ -77,6 +203,14 @@ public final class APISettings {
         oAuth_client_id = properties.getProperty("client_id", "");
         oAuth_client_secret = properties.getProperty("client_secret", "");
         useOAuth = Boolean.parseBoolean(properties.getProperty("use_oauth", "false"));
+        //A mirror started with --serve can stand in for the GitHub API and release downloads
+        setApiBaseUrl(properties.getProperty("api_base_url", apiBaseUrl));
+        setDownloadBaseUrl(properties.getProperty("download_base_url", downloadBaseUrl));
+        setPagePrefetchDepth(getInt(properties, "page_prefetch_depth", pagePrefetchDepth));
+
+        //The cache, downloads, retries, --mirror and --daemon read their own settings when they are first used
+        APISettings.properties = properties;
+
         if(oAuth_client_id.isEmpty() || oAuth_client_secret.isEmpty()) {
             useOAuth = false;
         }
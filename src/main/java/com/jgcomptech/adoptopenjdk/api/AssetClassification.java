@@ -0,0 +1,294 @@
+package com.jgcomptech.adoptopenjdk.api;
+
+import com.jgcomptech.adoptopenjdk.enums.AssetFileType;
+import com.jgcomptech.adoptopenjdk.enums.AssetJVMType;
+import com.jgcomptech.adoptopenjdk.enums.AssetName;
+import com.jgcomptech.adoptopenjdk.enums.AssetOS;
+import com.jgcomptech.adoptopenjdk.enums.AssetReleaseType;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The OS, file type, JVM type, release type and asset name of an asset filename.
+ *
+ * <p>The filename is classified in a single pass over its {@code _} and {@code -} separated segments.
+ * Each segment is matched against a keyword table indexed by its first character, and the resulting
+ * architecture, platform and XL keywords are turned into an {@link AssetOS} and {@link AssetName}
+ * with lookup tables built from the enums. Names that do not fit this layout fall back to the
+ * {@code parseFromName} scans of the enums.</p>
+ */
+public final class AssetClassification {
+    private static final int ARCH = 0;
+    private static final int PLATFORM = 1;
+    private static final int XL = 2;
+    private static final int JVM = 3;
+    private static final int RELEASE = 4;
+
+    private static final String[] ARCHITECTURES =
+            {"aarch64", "arm", "ppc64", "ppc64le", "s390x", "sparcv9", "x64", "x86-32"};
+    private static final String[] PLATFORMS = {"aix", "linux", "mac", "solaris", "windows"};
+    private static final String[] XL_PLATFORMS = {"linuxxl", "macosxl", "windowsxl"};
+    private static final AssetJVMType[] JVM_TYPES = {AssetJVMType.Hotspot, AssetJVMType.OpenJ9};
+    private static final AssetReleaseType[] RELEASE_TYPES =
+            {AssetReleaseType.JDK, AssetReleaseType.JRE, AssetReleaseType.TestImage};
+
+    private static final AssetFileType[] FILE_TYPES = AssetFileType.values();
+    private static final Keyword[][] KEYWORDS = new Keyword[128][];
+    private static final AssetOS[][][] OS_TABLE = new AssetOS[ARCHITECTURES.length][PLATFORMS.length][2];
+    private static final AssetName[][] NAME_TABLE =
+            new AssetName[AssetOS.values().length][AssetFileType.values().length];
+
+    static {
+        final List<Keyword> keywords = new ArrayList<>();
+        for(int i = 0; i < ARCHITECTURES.length; i++) keywords.add(new Keyword(ARCHITECTURES[i], ARCH, i));
+        for(int i = 0; i < PLATFORMS.length; i++) keywords.add(new Keyword(PLATFORMS[i], PLATFORM, i));
+        for(int i = 0; i < XL_PLATFORMS.length; i++) keywords.add(new Keyword(XL_PLATFORMS[i], XL, i));
+        for(int i = 0; i < JVM_TYPES.length; i++) keywords.add(new Keyword(JVM_TYPES[i].getValue(), JVM, i));
+        for(int i = 0; i < RELEASE_TYPES.length; i++) {
+            keywords.add(new Keyword(RELEASE_TYPES[i].getValue(), RELEASE, i));
+        }
+
+        for(final Keyword keyword : keywords) {
+            final char first = keyword.text.charAt(0);
+            final Keyword[] current = KEYWORDS[first];
+            final Keyword[] updated = current == null ? new Keyword[1] : new Keyword[current.length + 1];
+            if(current != null) System.arraycopy(current, 0, updated, 0, current.length);
+            updated[updated.length - 1] = keyword;
+            KEYWORDS[first] = updated;
+        }
+
+        //Build the OS table from the enum values, for example x64_linux_linuxxl
+        for(final AssetOS os : AssetOS.values()) {
+            if(os == AssetOS.NONE) continue;
+
+            final String[] parts = os.getValue().split("_");
+            final int arch = indexOf(ARCHITECTURES, parts[0]);
+            final int platform = indexOf(PLATFORMS, parts[1]);
+            OS_TABLE[arch][platform][parts.length > 2 ? 1 : 0] = os;
+        }
+
+        //Build the asset name table from the enum values, for example x64_linux_tar_gz
+        final Map<String, AssetName> names = new HashMap<>();
+        for(final AssetName name : AssetName.values()) names.put(name.name(), name);
+        for(final AssetOS os : AssetOS.values()) {
+            for(final AssetFileType fileType : AssetFileType.values()) {
+                NAME_TABLE[os.ordinal()][fileType.ordinal()] = names.get(os.name() + '_' + fileType.name());
+            }
+        }
+    }
+
+    private final AssetOS os;
+    private final AssetFileType fileType;
+    private final AssetJVMType jvmType;
+    private final AssetReleaseType releaseType;
+    private final AssetName assetName;
+
+    private AssetClassification(final AssetOS os, final AssetFileType fileType,
+                                final AssetJVMType jvmType, final AssetReleaseType releaseType) {
+        this.os = os;
+        this.fileType = fileType;
+        this.jvmType = jvmType;
+        this.releaseType = releaseType;
+        assetName = getAssetName(os, fileType);
+    }
+
+    /**
+     * Classifies the specified asset filename.
+     * @param filename the full filename including the extension
+     * @return the classification
+     */
+    public static AssetClassification of(final String filename) {
+        final AssetFileType fileType = parseFileType(filename);
+
+        if(fileType == AssetFileType.NONE) return parseFallback(filename);
+
+        final Scan scan = new Scan();
+        final int end = filename.length() - fileType.getValue().length() - 1;
+
+        int segmentStart = 0;
+        int partStart = 0;
+
+        for(int i = 0; i <= end; i++) {
+            final char c = i == end ? '_' : filename.charAt(i);
+
+            if(c != '_' && c != '-') continue;
+
+            //Each dash separated part is matched, for example openjdk11u-jdk, and segments
+            //that contain a dash are also matched as a whole, for example x86-32
+            scan.accept(findKeyword(filename, partStart, i));
+            if(c == '_') {
+                if(partStart != segmentStart) scan.accept(findKeyword(filename, segmentStart, i));
+                segmentStart = i + 1;
+            }
+            partStart = i + 1;
+        }
+
+        final AssetOS os = scan.arch == -1 || scan.platform == -1
+                ? null
+                : OS_TABLE[scan.arch][scan.platform][scan.xl ? 1 : 0];
+
+        if(os == null) return parseFallback(filename);
+
+        return new AssetClassification(os, fileType, scan.jvmType,
+                scan.releaseType == Integer.MAX_VALUE ? AssetReleaseType.NONE : RELEASE_TYPES[scan.releaseType]);
+    }
+
+    /**
+     * Returns the asset name for the specified OS and file type.
+     * @param os       the OS
+     * @param fileType the file type
+     * @return the asset name or null if there is no asset with that OS and file type
+     */
+    public static AssetName getAssetName(final AssetOS os, final AssetFileType fileType) {
+        return NAME_TABLE[os.ordinal()][fileType.ordinal()];
+    }
+
+    /**
+     * Returns the file type from the end of the filename.
+     * @param filename the full filename including the extension
+     * @return the file type or {@link AssetFileType#NONE} if the extension is not recognized
+     */
+    public static AssetFileType parseFileType(final String filename) {
+        for(final AssetFileType type : FILE_TYPES) {
+            final String value = type.getValue();
+            final int offset = filename.length() - value.length();
+
+            if(type != AssetFileType.NONE && offset > 0 && filename.charAt(offset - 1) == '.'
+                    && matches(filename, offset, value)) {
+                return type;
+            }
+        }
+
+        return AssetFileType.NONE;
+    }
+
+    private static AssetClassification parseFallback(final String filename) {
+        final AssetFileType fileType = AssetFileType.parseFromName(filename.toLowerCase(Locale.getDefault()));
+        final String baseName = filename.replace('.' + fileType.getValue(), "").toLowerCase(Locale.getDefault());
+        final String osName = baseName.replace("_openj9", "").replace("_hotspot", "");
+
+        return new AssetClassification(AssetOS.parseFromName(osName), fileType,
+                AssetJVMType.parseFromName(baseName), AssetReleaseType.parseFromName(baseName));
+    }
+
+    private static Keyword findKeyword(final String filename, final int start, final int end) {
+        if(start == end) return null;
+
+        final char first = Character.toLowerCase(filename.charAt(start));
+
+        if(first >= KEYWORDS.length || KEYWORDS[first] == null) return null;
+
+        for(final Keyword keyword : KEYWORDS[first]) {
+            if(keyword.text.length() == end - start
+                    && matches(filename, start, keyword.text)) {
+                return keyword;
+            }
+        }
+
+        return null;
+    }
+
+    //Compares a region of the filename to a lowercase keyword ignoring the case of the filename
+    private static boolean matches(final String filename, final int offset, final String keyword) {
+        for(int i = 0; i < keyword.length(); i++) {
+            char c = filename.charAt(offset + i);
+            if(c >= 'A' && c <= 'Z') c += 'a' - 'A';
+            if(c != keyword.charAt(i)) return false;
+        }
+
+        return true;
+    }
+
+    private static int indexOf(final String[] values, final String value) {
+        for(int i = 0; i < values.length; i++) {
+            if(values[i].equals(value)) return i;
+        }
+        throw new IllegalStateException("Unknown OS keyword: " + value);
+    }
+
+    public AssetOS getOS() {
+        return os;
+    }
+
+    public AssetFileType getFileType() {
+        return fileType;
+    }
+
+    public AssetJVMType getJVMType() {
+        return jvmType;
+    }
+
+    public AssetReleaseType getReleaseType() {
+        return releaseType;
+    }
+
+    /**
+     * Returns the asset name.
+     * @return the asset name or null if the OS and file type do not match a known asset
+     */
+    public AssetName getAssetName() {
+        return assetName;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("os", os)
+                .append("fileType", fileType)
+                .append("jvmType", jvmType)
+                .append("releaseType", releaseType)
+                .append("assetName", assetName)
+                .toString();
+    }
+
+    /** The keywords found so far while scanning a filename. */
+    private static final class Scan {
+        private int arch = -1;
+        private int platform = -1;
+        private boolean xl;
+        private AssetJVMType jvmType = AssetJVMType.NONE;
+        private int releaseType = Integer.MAX_VALUE;
+
+        private void accept(final Keyword keyword) {
+            if(keyword == null) return;
+
+            switch(keyword.kind) {
+                case ARCH:
+                    if(arch == -1) arch = keyword.index;
+                    break;
+                case PLATFORM:
+                    if(platform == -1) platform = keyword.index;
+                    break;
+                case XL:
+                    xl = true;
+                    break;
+                case JVM:
+                    if(jvmType == AssetJVMType.NONE) jvmType = JVM_TYPES[keyword.index];
+                    break;
+                case RELEASE:
+                    //A JDK wins over a JRE which wins over a test image
+                    releaseType = Math.min(releaseType, keyword.index);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static final class Keyword {
+        private final String text;
+        private final int kind;
+        private final int index;
+
+        private Keyword(final String text, final int kind, final int index) {
+            this.text = text;
+            this.kind = kind;
+            this.index = index;
+        }
+    }
+}
@@ -2,25 +2,66 @@ package com.jgcomptech.adoptopenjdk.api;
 
 import com.jgcomptech.adoptopenjdk.SubRelease;
 import com.jgcomptech.adoptopenjdk.api.beans.SimpleAsset;
+import com.jgcomptech.adoptopenjdk.enums.AssetFileType;
 import com.jgcomptech.adoptopenjdk.enums.AssetName;
 import com.jgcomptech.adoptopenjdk.enums.AssetOS;
 
 import java.util.*;
 
-import static com.jgcomptech.adoptopenjdk.enums.AssetName.*;
-
 public class BaseAssets {
+    private static final Map<AssetOS, Set<AssetName>> OS_ASSETS = new EnumMap<>(AssetOS.class);
+    private static final Map<AssetOS, Set<AssetName>> INSTALLER_ASSETS = new EnumMap<>(AssetOS.class);
+    private static final Set<AssetName> ALL_INSTALLER_ASSETS = EnumSet.noneOf(AssetName.class);
+    private static final Set<AssetName> XL_ASSETS = EnumSet.noneOf(AssetName.class);
+
+    static {
+        //Group the asset names by OS, installer file types and XL builds once instead of on every call
+        for(final AssetOS os : AssetOS.values()) {
+            final Set<AssetName> osAssets = EnumSet.noneOf(AssetName.class);
+            final Set<AssetName> installerAssets = EnumSet.noneOf(AssetName.class);
+
+            for(final AssetFileType fileType : AssetFileType.values()) {
+                final AssetName name = AssetClassification.getAssetName(os, fileType);
+                if(name == null) continue;
+
+                osAssets.add(name);
+                if(isInstaller(fileType)) installerAssets.add(name);
+            }
+
+            OS_ASSETS.put(os, osAssets);
+            INSTALLER_ASSETS.put(os, installerAssets);
+            ALL_INSTALLER_ASSETS.addAll(installerAssets);
+            if(os.name().endsWith("XL")) XL_ASSETS.addAll(osAssets);
+        }
+    }
+
     private final EnumMap<AssetName, SimpleAsset> assets = new EnumMap<>(AssetName.class);
-    private final Collection<AssetName> enabledAssets = new ArrayList<>();
+    private final Set<AssetName> acquiredAssets = EnumSet.noneOf(AssetName.class);
+    private final Set<AssetName> enabledAssets = EnumSet.noneOf(AssetName.class);
     private final SubRelease parentRelease;
 
     public BaseAssets(final SubRelease parentRelease) {
         this.parentRelease = parentRelease;
     }
 
+    private static boolean isInstaller(final AssetFileType fileType) {
+        switch(fileType) {
+            case pkg:
+            case pkg_json:
+            case pkg_sha256_txt:
+            case msi:
+            case msi_json:
+            case msi_sha256_txt:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     public boolean addAsset(final SimpleAsset asset) {
         if(!assets.containsKey(asset.getAssetName())) {
             assets.put(asset.getAssetName(), asset);
+            acquiredAssets.add(asset.getAssetName());
             return true;
         }
         return false;
@@ -45,178 +86,22 @@ public class BaseAssets {
     }
 
     public BaseAssets disableInstallers(final AssetOS osName) {
-        switch(osName) {
-            case x64_mac_macosXL:
-                enabledAssets.remove(x64_mac_macosXL_pkg);
-                enabledAssets.remove(x64_mac_macosXL_pkg_json);
-                enabledAssets.remove(x64_mac_macosXL_pkg_sha256_txt);
-                break;
-            case x64_mac:
-                enabledAssets.remove(x64_mac_pkg);
-                enabledAssets.remove(x64_mac_pkg_json);
-                enabledAssets.remove(x64_mac_pkg_sha256_txt);
-                break;
-            case x64_windows:
-                enabledAssets.remove(x64_windows_msi);
-                enabledAssets.remove(x64_windows_msi_json);
-                enabledAssets.remove(x64_windows_msi_sha256_txt);
-                break;
-            case x64_windows_windowsXL:
-                enabledAssets.remove(x64_windows_windowsXL_msi);
-                enabledAssets.remove(x64_windows_windowsXL_msi_json);
-                enabledAssets.remove(x64_windows_windowsXL_msi_sha256_txt);
-                break;
-            case x86_32_windows:
-                enabledAssets.remove(x86_32_windows_msi);
-                enabledAssets.remove(x86_32_windows_msi_json);
-                enabledAssets.remove(x86_32_windows_msi_sha256_txt);
-                break;
-        }
+        enabledAssets.removeAll(INSTALLER_ASSETS.get(osName));
         return this;
     }
 
     public BaseAssets disableAllInstallers() {
-        enabledAssets.remove(x64_mac_macosXL_pkg);
-        enabledAssets.remove(x64_mac_macosXL_pkg_json);
-        enabledAssets.remove(x64_mac_macosXL_pkg_sha256_txt);
-        enabledAssets.remove(x64_mac_pkg);
-        enabledAssets.remove(x64_mac_pkg_json);
-        enabledAssets.remove(x64_mac_pkg_sha256_txt);
-        enabledAssets.remove(x64_windows_msi);
-        enabledAssets.remove(x64_windows_msi_json);
-        enabledAssets.remove(x64_windows_msi_sha256_txt);
-        enabledAssets.remove(x64_windows_windowsXL_msi);
-        enabledAssets.remove(x64_windows_windowsXL_msi_json);
-        enabledAssets.remove(x64_windows_windowsXL_msi_sha256_txt);
-        enabledAssets.remove(x86_32_windows_msi);
-        enabledAssets.remove(x86_32_windows_msi_json);
-        enabledAssets.remove(x86_32_windows_msi_sha256_txt);
+        enabledAssets.removeAll(ALL_INSTALLER_ASSETS);
         return this;
     }
 
     public BaseAssets disableOS(final AssetOS osName) {
-        switch(osName) {
-            case aarch64_linux:
-                enabledAssets.remove(aarch64_linux_tar_gz);
-                enabledAssets.remove(aarch64_linux_tar_gz_json);
-                enabledAssets.remove(aarch64_linux_tar_gz_sha256_txt);
-                break;
-            case arm_linux:
-                enabledAssets.remove(arm_linux_tar_gz);
-                enabledAssets.remove(arm_linux_tar_gz_json);
-                enabledAssets.remove(arm_linux_tar_gz_sha256_txt);
-                break;
-            case ppc64le_linux:
-                enabledAssets.remove(ppc64le_linux_tar_gz);
-                enabledAssets.remove(ppc64le_linux_tar_gz_json);
-                enabledAssets.remove(ppc64le_linux_tar_gz_sha256_txt);
-                break;
-            case ppc64le_linux_linuxXL:
-                enabledAssets.remove(ppc64le_linux_linuxXL_tar_gz);
-                enabledAssets.remove(ppc64le_linux_linuxXL_tar_gz_json);
-                enabledAssets.remove(ppc64le_linux_linuxXL_tar_gz_sha256_txt);
-                break;
-            case ppc64_aix:
-                enabledAssets.remove(ppc64_aix_tar_gz);
-                enabledAssets.remove(ppc64_aix_tar_gz_json);
-                enabledAssets.remove(ppc64_aix_tar_gz_sha256_txt);
-                break;
-            case s390x_linux:
-                enabledAssets.remove(s390x_linux_tar_gz);
-                enabledAssets.remove(s390x_linux_tar_gz_json);
-                enabledAssets.remove(s390x_linux_tar_gz_sha256_txt);
-                break;
-            case s390x_linux_linuxXL:
-                enabledAssets.remove(s390x_linux_linuxXL_tar_gz);
-                enabledAssets.remove(s390x_linux_linuxXL_tar_gz_json);
-                enabledAssets.remove(s390x_linux_linuxXL_tar_gz_sha256_txt);
-                break;
-            case sparcv9_solaris:
-                enabledAssets.remove(sparcv9_solaris_tar_gz);
-                enabledAssets.remove(sparcv9_solaris_tar_gz_json);
-                enabledAssets.remove(sparcv9_solaris_tar_gz_sha256_txt);
-                break;
-            case x64_linux:
-                enabledAssets.remove(x64_linux_tar_gz);
-                enabledAssets.remove(x64_linux_tar_gz_json);
-                enabledAssets.remove(x64_linux_tar_gz_sha256_txt);
-                break;
-            case x64_linux_linuxXL:
-                enabledAssets.remove(x64_linux_linuxXL_tar_gz);
-                enabledAssets.remove(x64_linux_linuxXL_tar_gz_json);
-                enabledAssets.remove(x64_linux_linuxXL_tar_gz_sha256_txt);
-                break;
-            case x64_mac:
-                enabledAssets.remove(x64_mac_pkg);
-                enabledAssets.remove(x64_mac_pkg_json);
-                enabledAssets.remove(x64_mac_pkg_sha256_txt);
-                enabledAssets.remove(x64_mac_tar_gz);
-                enabledAssets.remove(x64_mac_tar_gz_json);
-                enabledAssets.remove(x64_mac_tar_gz_sha256_txt);
-                break;
-            case x64_mac_macosXL:
-                enabledAssets.remove(x64_mac_macosXL_pkg);
-                enabledAssets.remove(x64_mac_macosXL_pkg_json);
-                enabledAssets.remove(x64_mac_macosXL_pkg_sha256_txt);
-                enabledAssets.remove(x64_mac_macosXL_tar_gz);
-                enabledAssets.remove(x64_mac_macosXL_tar_gz_json);
-                enabledAssets.remove(x64_mac_macosXL_tar_gz_sha256_txt);
-                break;
-            case x64_solaris:
-                enabledAssets.remove(x64_solaris_tar_gz);
-                enabledAssets.remove(x64_solaris_tar_gz_json);
-                enabledAssets.remove(x64_solaris_tar_gz_sha256_txt);
-                break;
-            case x64_windows:
-                enabledAssets.remove(x64_windows_msi);
-                enabledAssets.remove(x64_windows_msi_json);
-                enabledAssets.remove(x64_windows_msi_sha256_txt);
-                enabledAssets.remove(x64_windows_zip);
-                enabledAssets.remove(x64_windows_zip_json);
-                enabledAssets.remove(x64_windows_zip_sha256_txt);
-                break;
-            case x64_windows_windowsXL:
-                enabledAssets.remove(x64_windows_windowsXL_msi);
-                enabledAssets.remove(x64_windows_windowsXL_msi_json);
-                enabledAssets.remove(x64_windows_windowsXL_msi_sha256_txt);
-                enabledAssets.remove(x64_windows_windowsXL_zip);
-                enabledAssets.remove(x64_windows_windowsXL_zip_json);
-                enabledAssets.remove(x64_windows_windowsXL_zip_sha256_txt);
-                break;
-            case x86_32_windows:
-                enabledAssets.remove(x86_32_windows_msi);
-                enabledAssets.remove(x86_32_windows_msi_json);
-                enabledAssets.remove(x86_32_windows_msi_sha256_txt);
-                enabledAssets.remove(x86_32_windows_zip);
-                enabledAssets.remove(x86_32_windows_zip_json);
-                enabledAssets.remove(x86_32_windows_zip_sha256_txt);
-                break;
-        }
+        enabledAssets.removeAll(OS_ASSETS.get(osName));
         return this;
     }
 
     public BaseAssets disableXL() {
-        enabledAssets.remove(ppc64le_linux_linuxXL_tar_gz);
-        enabledAssets.remove(ppc64le_linux_linuxXL_tar_gz_json);
-        enabledAssets.remove(ppc64le_linux_linuxXL_tar_gz_sha256_txt);
-        enabledAssets.remove(s390x_linux_linuxXL_tar_gz);
-        enabledAssets.remove(s390x_linux_linuxXL_tar_gz_json);
-        enabledAssets.remove(s390x_linux_linuxXL_tar_gz_sha256_txt);
-        enabledAssets.remove(x64_linux_linuxXL_tar_gz);
-        enabledAssets.remove(x64_linux_linuxXL_tar_gz_json);
-        enabledAssets.remove(x64_linux_linuxXL_tar_gz_sha256_txt);
-        enabledAssets.remove(x64_mac_macosXL_pkg);
-        enabledAssets.remove(x64_mac_macosXL_pkg_json);
-        enabledAssets.remove(x64_mac_macosXL_pkg_sha256_txt);
-        enabledAssets.remove(x64_mac_macosXL_tar_gz);
-        enabledAssets.remove(x64_mac_macosXL_tar_gz_json);
-        enabledAssets.remove(x64_mac_macosXL_tar_gz_sha256_txt);
-        enabledAssets.remove(x64_windows_windowsXL_msi);
-        enabledAssets.remove(x64_windows_windowsXL_msi_json);
-        enabledAssets.remove(x64_windows_windowsXL_msi_sha256_txt);
-        enabledAssets.remove(x64_windows_windowsXL_zip);
-        enabledAssets.remove(x64_windows_windowsXL_zip_json);
-        enabledAssets.remove(x64_windows_windowsXL_zip_sha256_txt);
+        enabledAssets.removeAll(XL_ASSETS);
         return this;
     }
 
@@ -226,183 +111,27 @@ public class BaseAssets {
     }
 
     public BaseAssets enableAllAssets() {
-        enabledAssets.addAll(Arrays.asList(AssetName.values()));
+        enabledAssets.addAll(EnumSet.allOf(AssetName.class));
         return this;
     }
 
     public BaseAssets enableInstallers(final AssetOS osName) {
-        switch(osName) {
-            case x64_mac_macosXL:
-                enabledAssets.add(x64_mac_macosXL_pkg);
-                enabledAssets.add(x64_mac_macosXL_pkg_json);
-                enabledAssets.add(x64_mac_macosXL_pkg_sha256_txt);
-                break;
-            case x64_mac:
-                enabledAssets.add(x64_mac_pkg);
-                enabledAssets.add(x64_mac_pkg_json);
-                enabledAssets.add(x64_mac_pkg_sha256_txt);
-                break;
-            case x64_windows:
-                enabledAssets.add(x64_windows_msi);
-                enabledAssets.add(x64_windows_msi_json);
-                enabledAssets.add(x64_windows_msi_sha256_txt);
-                break;
-            case x64_windows_windowsXL:
-                enabledAssets.add(x64_windows_windowsXL_msi);
-                enabledAssets.add(x64_windows_windowsXL_msi_json);
-                enabledAssets.add(x64_windows_windowsXL_msi_sha256_txt);
-                break;
-            case x86_32_windows:
-                enabledAssets.add(x86_32_windows_msi);
-                enabledAssets.add(x86_32_windows_msi_json);
-                enabledAssets.add(x86_32_windows_msi_sha256_txt);
-                break;
-        }
+        enabledAssets.addAll(INSTALLER_ASSETS.get(osName));
         return this;
     }
 
     public BaseAssets enableAllInstallers() {
-        enabledAssets.add(x64_mac_pkg);
-        enabledAssets.add(x64_mac_pkg_json);
-        enabledAssets.add(x64_mac_pkg_sha256_txt);
-        enabledAssets.add(x64_mac_macosXL_pkg);
-        enabledAssets.add(x64_mac_macosXL_pkg_json);
-        enabledAssets.add(x64_mac_macosXL_pkg_sha256_txt);
-        enabledAssets.add(x64_windows_msi);
-        enabledAssets.add(x64_windows_msi_json);
-        enabledAssets.add(x64_windows_msi_sha256_txt);
-        enabledAssets.add(x64_windows_windowsXL_msi);
-        enabledAssets.add(x64_windows_windowsXL_msi_json);
-        enabledAssets.add(x64_windows_windowsXL_msi_sha256_txt);
-        enabledAssets.add(x86_32_windows_msi);
-        enabledAssets.add(x86_32_windows_msi_json);
-        enabledAssets.add(x86_32_windows_msi_sha256_txt);
+        enabledAssets.addAll(ALL_INSTALLER_ASSETS);
         return this;
     }
 
     public BaseAssets enableOS(final AssetOS osName) {
-        switch(osName) {
-            case aarch64_linux:
-                enabledAssets.add(aarch64_linux_tar_gz);
-                enabledAssets.add(aarch64_linux_tar_gz_json);
-                enabledAssets.add(aarch64_linux_tar_gz_sha256_txt);
-                break;
-            case arm_linux:
-                enabledAssets.add(arm_linux_tar_gz);
-                enabledAssets.add(arm_linux_tar_gz_json);
-                enabledAssets.add(arm_linux_tar_gz_sha256_txt);
-                break;
-            case ppc64le_linux:
-                enabledAssets.add(ppc64le_linux_tar_gz);
-                enabledAssets.add(ppc64le_linux_tar_gz_json);
-                enabledAssets.add(ppc64le_linux_tar_gz_sha256_txt);
-                break;
-            case ppc64le_linux_linuxXL:
-                enabledAssets.add(ppc64le_linux_linuxXL_tar_gz);
-                enabledAssets.add(ppc64le_linux_linuxXL_tar_gz_json);
-                enabledAssets.add(ppc64le_linux_linuxXL_tar_gz_sha256_txt);
-                break;
-            case ppc64_aix:
-                enabledAssets.add(ppc64_aix_tar_gz);
-                enabledAssets.add(ppc64_aix_tar_gz_json);
-                enabledAssets.add(ppc64_aix_tar_gz_sha256_txt);
-                break;
-            case s390x_linux:
-                enabledAssets.add(s390x_linux_tar_gz);
-                enabledAssets.add(s390x_linux_tar_gz_json);
-                enabledAssets.add(s390x_linux_tar_gz_sha256_txt);
-                break;
-            case s390x_linux_linuxXL:
-                enabledAssets.add(s390x_linux_linuxXL_tar_gz);
-                enabledAssets.add(s390x_linux_linuxXL_tar_gz_json);
-                enabledAssets.add(s390x_linux_linuxXL_tar_gz_sha256_txt);
-                break;
-            case sparcv9_solaris:
-                enabledAssets.add(sparcv9_solaris_tar_gz);
-                enabledAssets.add(sparcv9_solaris_tar_gz_json);
-                enabledAssets.add(sparcv9_solaris_tar_gz_sha256_txt);
-                break;
-            case x64_linux:
-                enabledAssets.add(x64_linux_tar_gz);
-                enabledAssets.add(x64_linux_tar_gz_json);
-                enabledAssets.add(x64_linux_tar_gz_sha256_txt);
-                break;
-            case x64_linux_linuxXL:
-                enabledAssets.add(x64_linux_linuxXL_tar_gz);
-                enabledAssets.add(x64_linux_linuxXL_tar_gz_json);
-                enabledAssets.add(x64_linux_linuxXL_tar_gz_sha256_txt);
-                break;
-            case x64_mac:
-                enabledAssets.add(x64_mac_pkg);
-                enabledAssets.add(x64_mac_pkg_json);
-                enabledAssets.add(x64_mac_pkg_sha256_txt);
-                enabledAssets.add(x64_mac_tar_gz);
-                enabledAssets.add(x64_mac_tar_gz_json);
-                enabledAssets.add(x64_mac_tar_gz_sha256_txt);
-                break;
-            case x64_mac_macosXL:
-                enabledAssets.add(x64_mac_macosXL_pkg);
-                enabledAssets.add(x64_mac_macosXL_pkg_json);
-                enabledAssets.add(x64_mac_macosXL_pkg_sha256_txt);
-                enabledAssets.add(x64_mac_macosXL_tar_gz);
-                enabledAssets.add(x64_mac_macosXL_tar_gz_json);
-                enabledAssets.add(x64_mac_macosXL_tar_gz_sha256_txt);
-                break;
-            case x64_solaris:
-                enabledAssets.add(x64_solaris_tar_gz);
-                enabledAssets.add(x64_solaris_tar_gz_json);
-                enabledAssets.add(x64_solaris_tar_gz_sha256_txt);
-                break;
-            case x64_windows:
-                enabledAssets.add(x64_windows_msi);
-                enabledAssets.add(x64_windows_msi_json);
-                enabledAssets.add(x64_windows_msi_sha256_txt);
-                enabledAssets.add(x64_windows_zip);
-                enabledAssets.add(x64_windows_zip_json);
-                enabledAssets.add(x64_windows_zip_sha256_txt);
-                break;
-            case x64_windows_windowsXL:
-                enabledAssets.add(x64_windows_windowsXL_msi);
-                enabledAssets.add(x64_windows_windowsXL_msi_json);
-                enabledAssets.add(x64_windows_windowsXL_msi_sha256_txt);
-                enabledAssets.add(x64_windows_windowsXL_zip);
-                enabledAssets.add(x64_windows_windowsXL_zip_json);
-                enabledAssets.add(x64_windows_windowsXL_zip_sha256_txt);
-                break;
-            case x86_32_windows:
-                enabledAssets.add(x86_32_windows_msi);
-                enabledAssets.add(x86_32_windows_msi_json);
-                enabledAssets.add(x86_32_windows_msi_sha256_txt);
-                enabledAssets.add(x86_32_windows_zip);
-                enabledAssets.add(x86_32_windows_zip_json);
-                enabledAssets.add(x86_32_windows_zip_sha256_txt);
-                break;
-        }
+        enabledAssets.addAll(OS_ASSETS.get(osName));
         return this;
     }
 
     public BaseAssets enableXL() {
-        enabledAssets.add(ppc64le_linux_linuxXL_tar_gz);
-        enabledAssets.add(ppc64le_linux_linuxXL_tar_gz_json);
-        enabledAssets.add(ppc64le_linux_linuxXL_tar_gz_sha256_txt);
-        enabledAssets.add(s390x_linux_linuxXL_tar_gz);
-        enabledAssets.add(s390x_linux_linuxXL_tar_gz_json);
-        enabledAssets.add(s390x_linux_linuxXL_tar_gz_sha256_txt);
-        enabledAssets.add(x64_linux_linuxXL_tar_gz);
-        enabledAssets.add(x64_linux_linuxXL_tar_gz_json);
-        enabledAssets.add(x64_linux_linuxXL_tar_gz_sha256_txt);
-        enabledAssets.add(x64_mac_macosXL_pkg);
-        enabledAssets.add(x64_mac_macosXL_pkg_json);
-        enabledAssets.add(x64_mac_macosXL_pkg_sha256_txt);
-        enabledAssets.add(x64_mac_macosXL_tar_gz);
-        enabledAssets.add(x64_mac_macosXL_tar_gz_json);
-        enabledAssets.add(x64_mac_macosXL_tar_gz_sha256_txt);
-        enabledAssets.add(x64_windows_windowsXL_msi);
-        enabledAssets.add(x64_windows_windowsXL_msi_json);
-        enabledAssets.add(x64_windows_windowsXL_msi_sha256_txt);
-        enabledAssets.add(x64_windows_windowsXL_zip);
-        enabledAssets.add(x64_windows_windowsXL_zip_json);
-        enabledAssets.add(x64_windows_windowsXL_zip_sha256_txt);
+        enabledAssets.addAll(XL_ASSETS);
         return this;
     }
 
@@ -415,7 +144,23 @@ public class BaseAssets {
     }
 
     public boolean isAllAcquired() {
-        return enabledAssets.stream().allMatch(assets::containsKey);
+        return acquiredAssets.containsAll(enabledAssets);
+    }
+
+    /**
+     * Returns true if the specified asset has been acquired and its sha-256 and json assets
+     * have either been acquired or disabled.
+     * @param name the asset name to check
+     * @return true if the specified asset and its matching assets have been resolved
+     */
+    public boolean isAcquired(final AssetName name) {
+        return assets.containsKey(name)
+                && name.getShaAssetName().map(this::isResolved).orElse(true)
+                && name.getJsonAssetName().map(this::isResolved).orElse(true);
+    }
+
+    private boolean isResolved(final AssetName name) {
+        return assets.containsKey(name) || !enabledAssets.contains(name);
     }
 
     public SubRelease getParentSubRelease() {
@@ -27,7 +27,8 @@ public class Filename {
             fullName = fullFilename.replace("sha256.txt", "tar.gz.sha256.txt");
         } else fullName = fullFilename;
 
-        fileType = AssetFileType.parseFromName(fullName);
+        final AssetFileType suffixType = AssetClassification.parseFileType(fullName);
+        fileType = suffixType == NONE ? AssetFileType.parseFromName(fullName) : suffixType;
 
         if(fileType == NONE) throw new InputMismatchException("Filename extension not recognized! " + fullName);
         baseName = fullName.replace('.' + fileType.getValue(), "").toLowerCase(Locale.getDefault());
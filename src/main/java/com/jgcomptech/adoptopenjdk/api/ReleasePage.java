@@ -0,0 +1,43 @@
+package com.jgcomptech.adoptopenjdk.api;
+
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleRelease;
+
+import java.util.Collections;
+import java.util.List;
+
+/** A single parsed page of releases returned by the GitHub API. */
+public final class ReleasePage {
+    private final int number;
+    private final int lastPage;
+    private final List<SimpleRelease> releases;
+
+    public ReleasePage(final int number, final int lastPage, final List<SimpleRelease> releases) {
+        this.number = number;
+        this.lastPage = lastPage;
+        this.releases = Collections.unmodifiableList(releases);
+    }
+
+    /**
+     * Returns the page number.
+     * @return the page number
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     * Returns the number of the last page of the repository as reported by the API.
+     * @return the number of the last page
+     */
+    public int getLastPage() {
+        return lastPage;
+    }
+
+    /**
+     * Returns the releases on this page, pre-releases are only included if they were requested.
+     * @return the releases on this page
+     */
+    public List<SimpleRelease> getReleases() {
+        return releases;
+    }
+}
@@ -0,0 +1,86 @@
+package com.jgcomptech.adoptopenjdk.api;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shares the downloaded release pages of a repository between every sub-release that reads from it.
+ *
+ * <p>For Java 11 and later the JDK, JRE, Hotspot and OpenJ9 sub-releases all read the same
+ * repository, so each page is only requested and parsed once no matter how many of them are processed.</p>
+ */
+public final class ReleasePageCache {
+    private static final Map<String, ReleasePageCache> caches = new HashMap<>();
+
+    private final ReleasePageFetcher fetcher;
+    private final List<ReleasePage> pages = new ArrayList<>();
+    private final AtomicInteger readers = new AtomicInteger();
+    private boolean exhausted;
+
+    private ReleasePageCache(final String repository, final boolean usePrerelease) {
+        fetcher = new ReleasePageFetcher(repository, usePrerelease);
+    }
+
+    /**
+     * Returns the shared page cache for the specified repository.
+     * @param repository    the repository name, for example openjdk11-binaries
+     * @param usePrerelease whether or not pre-releases should be included in the pages
+     * @return the shared page cache
+     */
+    public static synchronized ReleasePageCache getInstance(final String repository, final boolean usePrerelease) {
+        return caches.computeIfAbsent(repository + (usePrerelease ? "+prerelease" : ""),
+                key -> new ReleasePageCache(repository, usePrerelease));
+    }
+
+    /**
+     * Removes all cached pages and cancels any page requests that are still in flight.
+     */
+    public static synchronized void clear() {
+        caches.values().forEach(cache -> cache.fetcher.close());
+        caches.clear();
+    }
+
+    /**
+     * Returns the specified page, downloading it and any pages before it if they were not yet requested.
+     * @param number the page number starting at 1
+     * @return the page or empty if the API has no more releases
+     * @throws IOException if any errors occur
+     */
+    public synchronized Optional<ReleasePage> getPage(final int number) throws IOException {
+        while(pages.size() < number && !exhausted) {
+            final Optional<ReleasePage> page = fetcher.next();
+
+            if(page.isPresent()) pages.add(page.get());
+            else exhausted = true;
+        }
+
+        return number <= pages.size() ? Optional.of(pages.get(number - 1)) : Optional.empty();
+    }
+
+    /**
+     * Registers a reader of the pages, every reader calls {@link #release()} once it has read all it needs.
+     * @return this page cache
+     */
+    public ReleasePageCache acquire() {
+        readers.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Unregisters a reader. Once the last reader is done any page requests that are still in flight are
+     * cancelled, they will be requested again if a later page is needed.
+     */
+    public void release() {
+        //Sub-releases checked at the same time may still be waiting for the prefetched pages
+        if(readers.decrementAndGet() == 0) cancelPending();
+    }
+
+    private synchronized void cancelPending() {
+        fetcher.cancelPending();
+    }
+}
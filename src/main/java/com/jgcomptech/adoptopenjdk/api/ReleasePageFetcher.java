@@ -0,0 +1,196 @@
+package com.jgcomptech.adoptopenjdk.api;
+
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleRelease;
+import com.jgcomptech.adoptopenjdk.utils.HTTPDownload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.jgcomptech.adoptopenjdk.Settings.COMPANY_NAME;
+import static com.jgcomptech.adoptopenjdk.api.APISettings.*;
+import static com.jgcomptech.adoptopenjdk.utils.Utils.newDaemonThreadFactory;
+
+/**
+ * Downloads the release pages of a repository in order while keeping several page requests in flight.
+ *
+ * <p>Only the first page is requested up front so a lookup that is satisfied by the newest releases
+ * costs a single API call. After that up to {@link APISettings#getPagePrefetchDepth()} pages are
+ * requested ahead of the consumer, bounded by the last page reported in the {@code Link} header.</p>
+ */
+public class ReleasePageFetcher implements AutoCloseable {
+    private static final Pattern LAST_PAGE = Pattern.compile("[?&]page=(\\d+)[^>]*>;\\s*rel=\"last\"");
+    private final Logger logger = LoggerFactory.getLogger(ReleasePageFetcher.class);
+    private final String repository;
+    private final boolean usePrerelease;
+    private final int depth;
+    private final ExecutorService executor;
+    private final Deque<Future<Optional<ReleasePage>>> pending = new ArrayDeque<>();
+    private int nextPage = 1;
+    private int lastPage = Integer.MAX_VALUE;
+    private boolean firstPageReceived;
+
+    /**
+     * Instantiates a new release page fetcher.
+     * @param repository    the repository name, for example openjdk11-binaries
+     * @param usePrerelease whether or not pre-releases should be included in the pages
+     */
+    public ReleasePageFetcher(final String repository, final boolean usePrerelease) {
+        this.repository = repository;
+        this.usePrerelease = usePrerelease;
+        depth = getPagePrefetchDepth();
+        executor = Executors.newFixedThreadPool(depth, newDaemonThreadFactory("jupdate-page-fetcher"));
+    }
+
+    /**
+     * Returns the repository name.
+     * @return the repository name
+     */
+    public String getRepository() {
+        return repository;
+    }
+
+    /**
+     * Returns the next release page in order, waiting for it to arrive if needed.
+     * @return the next release page or empty if the API returned no more releases
+     * @throws IOException if any errors occur, the next call requests the same page again
+     */
+    public Optional<ReleasePage> next() throws IOException {
+        fill();
+
+        final Future<Optional<ReleasePage>> future = pending.poll();
+
+        if(future == null) return Optional.empty();
+
+        final Optional<ReleasePage> page;
+
+        try {
+            page = await(future);
+        } catch (final IOException | RuntimeException e) {
+            //Request the failed page again on the next call instead of handing out the page after it
+            cancel(false);
+            nextPage--;
+            throw e;
+        }
+
+        firstPageReceived = true;
+
+        if(page.isPresent()) {
+            lastPage = Math.min(lastPage, page.get().getLastPage());
+        } else {
+            //Every page after an empty page will also be empty
+            cancel(false);
+            lastPage = nextPage - 1;
+        }
+
+        return page;
+    }
+
+    /**
+     * Cancels all page requests that are still in flight, pages that already arrived are kept.
+     * The next call to {@link #next()} continues with the first page that was not yet returned.
+     */
+    public void cancelPending() {
+        cancel(true);
+    }
+
+    @Override
+    public void close() {
+        cancel(false);
+        executor.shutdownNow();
+    }
+
+    private void cancel(final boolean keepCompleted) {
+        final Deque<Future<Optional<ReleasePage>>> completed = new ArrayDeque<>();
+
+        while(keepCompleted && !pending.isEmpty() && pending.peek().isDone()) {
+            completed.add(pending.poll());
+        }
+
+        nextPage -= pending.size();
+        pending.forEach(f -> f.cancel(true));
+        pending.clear();
+        pending.addAll(completed);
+    }
+
+    private void fill() {
+        final int window = firstPageReceived ? depth : 1;
+
+        while(pending.size() < window && nextPage <= lastPage) {
+            final int page = nextPage++;
+            pending.add(executor.submit(() -> fetch(page)));
+        }
+    }
+
+    private Optional<ReleasePage> fetch(final int page) throws IOException {
+        final HTTPDownload download = new HTTPDownload(getPageURL(page));
+
+        final List<SimpleRelease> releases = new ArrayList<>(getNumberOfReleasesPerPage());
+
+        //Stream the JSON response from the API, pre-releases are dropped while reading
+        final Optional<Integer> count = download.processJSONAsStream(
+                reader -> ReleasePageReader.read(reader, usePrerelease, releases::add));
+
+        if(!count.isPresent() || count.get() == 0) return Optional.empty();
+
+        final int last = download.getResponseHeader("Link").map(link -> parseLastPage(link, page)).orElse(page);
+
+        logger.trace("~ Received Release Page " + page + " of " + last + " for " + repository);
+
+        return Optional.of(new ReleasePage(page, last, releases));
+    }
+
+    private String getPageURL(final int page) {
+        final String fullUrlMask =
+                "%1s/repos/%2s/%3s/releases?page=%d&per_page=%d&client_id=%4s&client_secret=%5s";
+        final String shortUrlMask =
+                "%1s/repos/%2s/%3s/releases?page=%d&per_page=%d";
+
+        //Create the API URL depending on if OAuth information has been provided.
+        if (isUseOAuth()) {
+            return String.format(fullUrlMask, getApiBaseUrl(), COMPANY_NAME, repository,
+                    page, getNumberOfReleasesPerPage(),
+                    getOAuth_client_id(), getOAuth_client_secret());
+        }
+
+        return String.format(shortUrlMask, getApiBaseUrl(), COMPANY_NAME, repository,
+                page, getNumberOfReleasesPerPage());
+    }
+
+    /**
+     * Parses the last page number from a GitHub {@code Link} header,
+     * the header has no last link when the current page is the last page.
+     * @param link the link header value
+     * @param page the current page number
+     * @return the last page number
+     */
+    private static int parseLastPage(final String link, final int page) {
+        final Matcher matcher = LAST_PAGE.matcher(link);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : page;
+    }
+
+    private static <T> T await(final Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for release page!", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if(cause instanceof IOException) throw (IOException) cause;
+            if(cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.jgcomptech.adoptopenjdk.api;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleAsset;
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleAuthor;
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleRelease;
+
+import java.io.IOException;
+import java.util.function.Predicate;
+
+/**
+ * Reads a page of releases from the GitHub API one release at a time without building a JSON tree.
+ *
+ * <p>Only the fields used by {@link SimpleRelease} and {@link SimpleAsset} are read, everything else
+ * such as the release notes, the asset uploaders and the reactions is skipped in the token stream.
+ * The assets of a pre-release are never built if pre-releases are not requested.</p>
+ */
+public final class ReleasePageReader {
+    private ReleasePageReader() { }
+
+    /**
+     * Reads every release in the page and hands each one to the consumer in page order.
+     * @param reader        the reader positioned at the start of the release array
+     * @param usePrerelease whether or not pre-releases should be passed to the consumer
+     * @param consumer      receives each release, returning false stops reading the page
+     * @return the number of releases in the page including any skipped pre-releases
+     * @throws IOException if the response can not be read
+     */
+    public static int read(final JsonReader reader, final boolean usePrerelease,
+                           final Predicate<SimpleRelease> consumer) throws IOException {
+        int count = 0;
+
+        reader.beginArray();
+
+        while(reader.hasNext()) {
+            final SimpleRelease.Builder release = readRelease(reader);
+            count++;
+
+            //If release is marked as a pre-release then skip
+            if(release.isPrerelease() && !usePrerelease) continue;
+
+            if(!consumer.test(release.build())) break;
+        }
+
+        return count;
+    }
+
+    private static SimpleRelease.Builder readRelease(final JsonReader reader) throws IOException {
+        final SimpleRelease.Builder release = SimpleRelease.getBuilder();
+
+        reader.beginObject();
+
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "url":
+                    release.setUrl(nextString(reader));
+                    break;
+                case "html_url":
+                    release.setHtmlUrl(nextString(reader));
+                    break;
+                case "id":
+                    release.setId(reader.nextInt());
+                    break;
+                case "tag_name":
+                    release.setTagName(nextString(reader));
+                    break;
+                case "target_commitish":
+                    release.setTargetCommitish(nextString(reader));
+                    break;
+                case "name":
+                    release.setName(nextString(reader));
+                    break;
+                case "draft":
+                    release.setDraft(reader.nextBoolean());
+                    break;
+                case "prerelease":
+                    release.setPrerelease(reader.nextBoolean());
+                    break;
+                case "created_at":
+                    release.setCreatedAt(nextString(reader));
+                    break;
+                case "published_at":
+                    release.setPublishedAt(nextString(reader));
+                    break;
+                case "author":
+                    release.setAuthor(readAuthor(reader));
+                    break;
+                case "assets":
+                    reader.beginArray();
+                    while(reader.hasNext()) {
+                        release.addAsset(readAsset(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+
+        reader.endObject();
+
+        return release;
+    }
+
+    private static SimpleAuthor readAuthor(final JsonReader reader) throws IOException {
+        final SimpleAuthor author = new SimpleAuthor();
+
+        if(reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return author;
+        }
+
+        reader.beginObject();
+
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "login":
+                    author.setLogin(nextString(reader));
+                    break;
+                case "id":
+                    author.setId(reader.nextInt());
+                    break;
+                case "url":
+                    author.setUrl(nextString(reader));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+
+        reader.endObject();
+
+        return author;
+    }
+
+    private static SimpleAsset.Builder readAsset(final JsonReader reader) throws IOException {
+        final SimpleAsset.Builder asset = SimpleAsset.getBuilder();
+
+        reader.beginObject();
+
+        while(reader.hasNext()) {
+            switch(reader.nextName()) {
+                case "url":
+                    asset.setUrl(nextString(reader));
+                    break;
+                case "id":
+                    asset.setId(reader.nextInt());
+                    break;
+                case "name":
+                    asset.setFileName(nextString(reader));
+                    break;
+                case "content_type":
+                    asset.setContentType(nextString(reader));
+                    break;
+                case "size":
+                    asset.setSize(reader.nextInt());
+                    break;
+                case "created_at":
+                    asset.setCreatedAt(nextString(reader));
+                    break;
+                case "updated_at":
+                    asset.setUpdatedAt(nextString(reader));
+                    break;
+                case "browser_download_url":
+                    asset.setBrowserDownloadURL(nextString(reader));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+
+        reader.endObject();
+
+        return asset;
+    }
+
+    private static String nextString(final JsonReader reader) throws IOException {
+        if(reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        return reader.nextString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.jgcomptech.adoptopenjdk.api;
+
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * The settings of one subsystem in the {@code app.properties} file.
+ *
+ * <p>A subsystem reads its own keys the first time it is used instead of when the file is loaded, so an update
+ * check does not load the classes of subsystems it never uses. The keys are read again once the file was loaded
+ * again, which a resident updater does for every command.</p>
+ */
+public final class SettingsSection {
+    private final Consumer<Properties> reader;
+    private volatile Properties loaded;
+
+    /**
+     * Creates the settings of a subsystem.
+     * @param reader reads the settings into the fields of the subsystem, it must not call {@link #load()}
+     */
+    public SettingsSection(final Consumer<Properties> reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the settings if the properties file was loaded since they were last read.
+     */
+    public void load() {
+        final Properties properties = APISettings.getProperties();
+
+        if(properties == loaded) return;
+
+        synchronized(this) {
+            if(properties != loaded) {
+                reader.accept(properties);
+                loaded = properties;
+            }
+        }
+    }
+}
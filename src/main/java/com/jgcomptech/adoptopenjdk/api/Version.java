@@ -1,38 +1,29 @@
 package com.jgcomptech.adoptopenjdk.api;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+/**
+ * Returns the full version of the specified release.
+ *
+ * <p>The version is parsed once into primitive fields and packed into a {@link #getSortKey() sort key}
+ * so comparisons do not need to look at the individual fields.</p>
+ */
+public final class Version implements Comparable<Version> {
+    private static final int MAJOR_BITS = 11;
+    private static final int MINOR_BITS = 10;
+    private static final int REVISION_BITS = 12;
+    private static final int BUILD_MAJOR_BITS = 16;
+    private static final int BUILD_MINOR_BITS = 14;
 
-/** Returns the full version of the specified release. */
-public final class Version {
     final String versionString;
-    final String major;
-    final String minor;
-    final String revision;
-    final String buildMajor;
-    final String buildMinor;
+    final int major;
+    final int minor;
+    final int revision;
+    final int buildMajor;
+    final int buildMinor;
+    final long sortKey;
 
     public static boolean isNewerThen(final Version first, final Version second) {
-        if(first.getMajor() > second.getMajor()) return true;
-        else if(first.getMajor() == second.getMajor()
-                && first.getMinor() > second.getMinor()) return true;
-        else if(first.getMajor() == second.getMajor()
-                && first.getMinor() == second.getMinor()
-                && first.getRevision() > second.getRevision()) return true;
-        else return first.getMajor() == second.getMajor()
-                    && first.getMinor() == second.getMinor()
-                    && first.getRevision() == second.getRevision()
-                    && first.getBuildMajor() > second.getBuildMajor();
         //TODO: Fix issue with BuildMinor not showing in filename or registry
-//        else if(first.getMajor() == second.getMajor()
-//                && first.getMinor() == second.getMinor()
-//                && first.getRevision() == second.getRevision()
-//                && first.getBuildMajor() > second.getBuildMajor()) return true;
-//        else return first.getMajor() == second.getMajor()
-//                    && first.getMinor() == second.getMinor()
-//                    && first.getRevision() == second.getRevision()
-//                    && first.getBuildMajor() == second.getBuildMajor()
-//                    && first.getBuildMinor() > second.getBuildMinor();
+        return first.sortKey >>> BUILD_MINOR_BITS > second.sortKey >>> BUILD_MINOR_BITS;
     }
 
     public Version(final String version) {
@@ -44,110 +35,111 @@ public final class Version {
     }
 
     public Version(final String version, final boolean basic, final boolean programFiles) {
-        if(version.contains("jdk8u")) {
-            String temp = version.replace("jdk8u-", "").replace("jdk8u", "");
+        final int[] parts = new int[5];
 
-            if (temp.contains("_")) {
-                temp = temp.substring(0, temp.indexOf("_"));
-            }
+        if(version.contains("jdk8u")) {
+            //Examples: jdk8u265-b01, jdk8u265-b01.1, jdk8u265-b01_openj9-0.21.0 and jdk8u-2018-09-15-08-15
+            final int start = version.indexOf("jdk8u") + (version.contains("jdk8u-") ? 6 : 5);
+            versionString = version.substring(start, endOfTag(version, start));
 
-            versionString = temp;
-
-            if (temp.length() - temp.replaceAll("-", "").length() == 4) {
-                major = versionString.substring(0, versionString.indexOf("-"));
-                temp = versionString.substring(major.length() + 1);
-                minor = temp.substring(0, temp.indexOf("-"));
-                temp = temp.substring(minor.length() + 1);
-                revision = temp.substring(0, temp.indexOf("-"));
-                temp = temp.substring(revision.length() + 1);
-                buildMajor = temp.substring(0, temp.indexOf("-"));
-                temp = temp.substring(buildMajor.length() + 1);
-                buildMinor = temp;
+            if(countDashes(versionString) == 4) {
+                parseNumbers(versionString, 0, versionString.length(), parts, 0);
             } else {
-                major = "8";
-                minor = "0";
-                revision = temp.substring(0, 3);
-                temp = temp.substring(5);
-                if (temp.contains(".")) {
-                    buildMajor = temp.substring(0, temp.indexOf("."));
-                    buildMinor = temp.substring(temp.indexOf(".") + 1);
-                } else {
-                    buildMajor = temp;
-                    buildMinor = "0";
-                }
+                parts[0] = 8;
+                parts[1] = 0;
+                final int build = versionString.indexOf('b');
+                parseNumbers(versionString, 0, build == -1 ? versionString.length() : build, parts, 2, 1);
+                if(build != -1) parseNumbers(versionString, build, endOfPart(versionString, build), parts, 3);
             }
         } else if (basic) {
+            //Example: 11.0.8.10
             versionString = version;
-            String temp;
-            major = versionString.substring(0, versionString.indexOf("."));
-            temp = versionString.substring(major.length() + 1);
-            minor = temp.substring(0, temp.indexOf("."));
-            temp = temp.substring(minor.length() + 1);
-            revision = temp.substring(0, temp.indexOf("."));
-            temp = temp.substring(revision.length() + 1);
-            if(temp.contains(".")) {
-                buildMajor = temp.substring(0, temp.indexOf("."));
-                buildMinor = temp.substring(temp.indexOf(".") + 1);
-            } else {
-                buildMajor = temp;
-                buildMinor = "0";
-            }
+            parseNumbers(version, 0, version.length(), parts, 0);
         } else if (programFiles) {
+            //Examples: jdk-11.0.8.10-hotspot and jre-11.0.8.10-openj9
             versionString = version;
-            String temp = version.replace("jdk-", "")
-                    .replace("jre-", "")
-                    .replace("-hotspot", "")
-                    .replace("-openj9", "");
-            major = temp.substring(0, temp.indexOf("."));
-            temp = temp.substring(major.length() + 1);
-            minor = temp.substring(0, temp.indexOf("."));
-            temp = temp.substring(minor.length() + 1);
-            revision = temp.substring(0, temp.indexOf("."));
-            temp = temp.substring(revision.length() + 1);
-            if(temp.contains(".")) {
-                buildMajor = temp.substring(0, temp.indexOf("."));
-                buildMinor = temp.substring(temp.indexOf(".") + 1);
+            int start = 0;
+            while(start < version.length() && !Character.isDigit(version.charAt(start))) start++;
+            parseNumbers(version, start, endOfPart(version, start), parts, 0);
+        } else {
+            //Examples: jdk-11.0.8+10, jdk-11.0.8+10_openj9-0.21.0, jdk-15+36 and jdk11u-2018-09-15-08-15
+            final int start = version.indexOf('-') + 1;
+            versionString = version.substring(start, endOfTag(version, start));
+
+            if(countDashes(versionString) == 4) {
+                parseNumbers(versionString, 0, versionString.length(), parts, 0);
             } else {
-                buildMajor = temp;
-                buildMinor = "0";
+                final int build = versionString.indexOf('+');
+                parseNumbers(versionString, 0, build == -1 ? versionString.length() : build, parts, 0, 3);
+                if(build != -1) parseNumbers(versionString, build, endOfPart(versionString, build), parts, 3);
             }
-        } else {
-            String temp = version.substring(version.indexOf("-") + 1);
+        }
+
+        major = parts[0];
+        minor = parts[1];
+        revision = parts[2];
+        buildMajor = parts[3];
+        buildMinor = parts[4];
+
+        long key = clamp(major, MAJOR_BITS);
+        key = key << MINOR_BITS | clamp(minor, MINOR_BITS);
+        key = key << REVISION_BITS | clamp(revision, REVISION_BITS);
+        key = key << BUILD_MAJOR_BITS | clamp(buildMajor, BUILD_MAJOR_BITS);
+        key = key << BUILD_MINOR_BITS | clamp(buildMinor, BUILD_MINOR_BITS);
+        sortKey = key;
+    }
+
+    private static int endOfTag(final String version, final int start) {
+        final int end = version.indexOf('_', start);
+        return end == -1 ? version.length() : end;
+    }
+
+    private static int endOfPart(final String version, final int start) {
+        final int end = version.indexOf('-', start);
+        return end == -1 ? version.length() : end;
+    }
+
+    private static int countDashes(final String value) {
+        int count = 0;
+        for(int i = 0; i < value.length(); i++) {
+            if(value.charAt(i) == '-') count++;
+        }
+        return count;
+    }
 
-            if (temp.contains("_")) {
-                temp = temp.substring(0, temp.indexOf("_"));
+    private static void parseNumbers(final String value, final int start, final int end,
+                                     final int[] parts, final int first) {
+        parseNumbers(value, start, end, parts, first, parts.length - first);
+    }
+
+    /**
+     * Parses each run of digits in the specified range into the next part, any other characters are
+     * treated as separators. Parts that are missing from the value are left at 0.
+     */
+    private static void parseNumbers(final String value, final int start, final int end,
+                                     final int[] parts, final int first, final int count) {
+        int part = first;
+        int i = start;
+
+        while(i < end && part < first + count) {
+            if(!Character.isDigit(value.charAt(i))) {
+                i++;
+                continue;
             }
 
-            versionString = temp;
-
-            if (temp.length() - temp.replaceAll("-", "").length() == 4) {
-                major = versionString.substring(0, versionString.indexOf("-"));
-                temp = versionString.substring(major.length() + 1);
-                minor = temp.substring(0, temp.indexOf("-"));
-                temp = temp.substring(minor.length() + 1);
-                revision = temp.substring(0, temp.indexOf("-"));
-                temp = temp.substring(revision.length() + 1);
-                buildMajor = temp.substring(0, temp.indexOf("-"));
-                temp = temp.substring(buildMajor.length() + 1);
-                buildMinor = temp;
-            } else {
-                major = versionString.substring(0, versionString.indexOf("."));
-                temp = versionString.substring(major.length() + 1);
-                minor = temp.substring(0, temp.indexOf("."));
-                temp = temp.substring(minor.length() + 1);
-                revision = temp.substring(0, temp.indexOf("+"));
-                temp = temp.substring(revision.length() + 1);
-                if(temp.contains(".")) {
-                    buildMajor = temp.substring(0, temp.indexOf("."));
-                    buildMinor = temp.substring(temp.indexOf(".") + 1);
-                } else {
-                    buildMajor = temp;
-                    buildMinor = "0";
-                }
+            int number = 0;
+            while(i < end && Character.isDigit(value.charAt(i))) {
+                number = number * 10 + Character.digit(value.charAt(i), 10);
+                i++;
             }
+            parts[part++] = number;
         }
     }
 
+    private static long clamp(final int value, final int bits) {
+        return Math.min(Math.max(value, 0), (1L << bits) - 1);
+    }
+
     /**
      * Returns the full version of the specified release.
      * @return Full version as string
@@ -161,65 +153,68 @@ public final class Version {
      * @return Basic version as string
      */
     public String getBasic() {
-        return major + '.' + minor + '.' + revision + '.' + buildMajor + '.' + buildMinor;
+        return String.valueOf(major) + '.' + minor + '.' + revision + '.' + buildMajor + '.' + buildMinor;
     }
 
     /**
      * Returns the major version of the specified release.
      * @return Major version as int
      */
-    public int getMajor() { return Integer.parseInt(getVersionInfo(Type.Major)); }
+    public int getMajor() { return major; }
 
     /**
      * Returns the minor version of the specified release.
      * @return Minor version as int
      */
-    public int getMinor() { return Integer.parseInt(getVersionInfo(Type.Minor)); }
+    public int getMinor() { return minor; }
 
     /**
      * Returns the revision version of the specified release.
      * @return Build Revision as int
      */
-    public int getRevision() { return Integer.parseInt(getVersionInfo(Type.Revision)); }
+    public int getRevision() { return revision; }
 
     /**
      * Returns the build major version of the specified release.
      * @return Build major version as int
      */
-    public int getBuildMajor() { return Integer.parseInt(getVersionInfo(Type.BuildMajor)); }
+    public int getBuildMajor() { return buildMajor; }
 
     /**
      * Returns the build minor version of the specified release.
      * @return Build minor version as int
      */
-    public int getBuildMinor() {
-        return Integer.parseInt(getVersionInfo(Type.BuildMinor)); }
+    public int getBuildMinor() { return buildMinor; }
+
+    /**
+     * Returns all version parts packed into a single value that sorts in version order.
+     * Parts that are too large for their bits are clamped to the largest value that fits.
+     * @return the packed version
+     */
+    public long getSortKey() { return sortKey; }
 
     private String getVersionInfo(final Type type) {
         switch(type) {
             case Main:
                 return versionString;
             case Major:
-                return major;
+                return String.valueOf(major);
             case Minor:
-                return minor;
+                return String.valueOf(minor);
             case Revision:
-                return revision;
+                return String.valueOf(revision);
             case BuildMajor:
-                return buildMajor;
+                return String.valueOf(buildMajor);
             case BuildMinor:
-                return buildMinor;
+                return String.valueOf(buildMinor);
             default:
                 return "0";
         }
     }
 
     public boolean isEqualTo(final Version second) {
-        return getMajor() == second.getMajor()
-                && getMinor() == second.getMinor()
-                && getRevision() == second.getRevision()
-                && getBuildMajor() == second.getBuildMajor();
-                //&& getBuildMinor() == second.getBuildMinor();
+        //TODO: Fix issue with BuildMinor not showing in filename or registry
+        return sortKey >>> BUILD_MINOR_BITS == second.sortKey >>> BUILD_MINOR_BITS;
     }
 
     public boolean isNewerThen(final Version second) {
@@ -235,6 +230,12 @@ public final class Version {
         BuildMinor
     }
 
+    @Override
+    public int compareTo(final Version o) {
+        final int result = Long.compare(sortKey, o.sortKey);
+        return result != 0 ? result : versionString.compareTo(o.versionString);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -243,25 +244,21 @@ public final class Version {
 
         Version version = (Version) o;
 
-        return new EqualsBuilder()
-                .append(versionString, version.versionString)
-                .append(major, version.major)
-                .append(minor, version.minor)
-                .append(revision, version.revision)
-                .append(buildMajor, version.buildMajor)
-                .append(buildMinor, version.buildMinor)
-                .isEquals();
+        return major == version.major
+                && minor == version.minor
+                && revision == version.revision
+                && buildMajor == version.buildMajor
+                && buildMinor == version.buildMinor
+                && versionString.equals(version.versionString);
     }
 
     @Override
     public int hashCode() {
-        return new HashCodeBuilder(17, 37)
-                .append(versionString)
-                .append(major)
-                .append(minor)
-                .append(revision)
-                .append(buildMajor)
-                .append(buildMinor)
-                .toHashCode();
+        return 31 * Long.hashCode(sortKey) + versionString.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return versionString;
     }
 }
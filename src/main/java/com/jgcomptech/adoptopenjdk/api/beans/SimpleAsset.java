@@ -1,5 +1,6 @@
 package com.jgcomptech.adoptopenjdk.api.beans;
 
+import com.jgcomptech.adoptopenjdk.api.AssetClassification;
 import com.jgcomptech.adoptopenjdk.api.Filename;
 import com.jgcomptech.adoptopenjdk.api.Version;
 import com.jgcomptech.adoptopenjdk.enums.*;
@@ -11,6 +12,7 @@ public final class SimpleAsset {
     private final int id;
     private final Filename filename;
     private final AssetName assetName;
+    private final AssetOS os;
     private final AssetJVMType jvmType;
     private final AssetReleaseType releaseType;
     private final String content_type;
@@ -33,9 +35,11 @@ public final class SimpleAsset {
         this.created_at = created_at;
         this.updated_at = updated_at;
         this.browser_download_url = browser_download_url;
-        jvmType = AssetJVMType.parseFromName(this.filename.getBaseName());
-        assetName = AssetName.parseFromName(this.filename.getFullName());
-        releaseType = AssetReleaseType.parseFromName(this.filename.getBaseName());
+        final AssetClassification classification = AssetClassification.of(this.filename.getFullName());
+        os = classification.getOS();
+        jvmType = classification.getJVMType();
+        assetName = classification.getAssetName();
+        releaseType = classification.getReleaseType();
         version = new Version(getParent().getTagName());
     }
 
@@ -124,7 +128,7 @@ public final class SimpleAsset {
     }
 
     public AssetOS getOS() {
-        return AssetOS.parseFromName(filename.getBaseName());
+        return os;
     }
 
     public AssetJVMType getJVMType() {
@@ -3,11 +3,15 @@ package com.jgcomptech.adoptopenjdk.api.beans;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.jgcomptech.adoptopenjdk.api.ReleasePageReader;
 import com.jgcomptech.adoptopenjdk.enums.AssetFileType;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public final class SimpleRelease {
     private final String url;
@@ -25,6 +29,7 @@ public final class SimpleRelease {
     private final List<SimpleAsset> shaAssets = new ArrayList<>();
     private final List<SimpleAsset> jsonAssets = new ArrayList<>();
     private final List<SimpleAsset> binaryAssets = new ArrayList<>();
+    private final Map<String, SimpleAsset> sidecarAssets = new HashMap<>();
     private final String description;
 
     public SimpleRelease(final JsonObject rootObj) {
@@ -62,6 +67,31 @@ public final class SimpleRelease {
                     .build());
         }
 
+        sortAssets();
+    }
+
+    private SimpleRelease(final Builder builder) {
+        url = builder.url;
+        html_url = builder.html_url;
+        id = builder.id;
+        tag_name = builder.tag_name;
+        target_commitish = builder.target_commitish;
+        name = builder.name;
+        draft = builder.draft;
+        author = builder.author;
+        prerelease = builder.prerelease;
+        created_at = builder.created_at;
+        published_at = builder.published_at;
+        description = builder.description;
+
+        for (final SimpleAsset.Builder asset : builder.assets) {
+            assets.add(asset.setParent(this).build());
+        }
+
+        sortAssets();
+    }
+
+    private void sortAssets() {
         //Process each asset one at a time
         for (final SimpleAsset asset : getAssets()) {
             //Check if file matches java version
@@ -82,11 +112,13 @@ public final class SimpleRelease {
                         || fileType == AssetFileType.msi_json
                         || fileType == AssetFileType.zip_json) {
                     jsonAssets.add(asset);
+                    sidecarAssets.put(asset.getFilename(), asset);
                 } else if (fileType == AssetFileType.pkg_sha256_txt
                         || fileType == AssetFileType.tar_gz_sha256_txt
                         || fileType == AssetFileType.msi_sha256_txt
                         || fileType == AssetFileType.zip_sha256_txt) {
                     shaAssets.add(asset);
+                    sidecarAssets.put(asset.getFilename(), asset);
                 }
             }
         }
@@ -148,6 +180,24 @@ public final class SimpleRelease {
         return Collections.unmodifiableList(jsonAssets);
     }
 
+    /**
+     * Returns the sha-256 asset that belongs to the specified binary asset.
+     * @param binaryAsset the binary asset
+     * @return the sha-256 asset or empty if the release does not contain one
+     */
+    public Optional<SimpleAsset> getShaAsset(final SimpleAsset binaryAsset) {
+        return Optional.ofNullable(sidecarAssets.get(binaryAsset.getFilename() + ".sha256.txt"));
+    }
+
+    /**
+     * Returns the json asset that belongs to the specified binary asset.
+     * @param binaryAsset the binary asset
+     * @return the json asset or empty if the release does not contain one
+     */
+    public Optional<SimpleAsset> getJsonAsset(final SimpleAsset binaryAsset) {
+        return Optional.ofNullable(sidecarAssets.get(binaryAsset.getFilename() + ".json"));
+    }
+
     public List<SimpleAsset> getBinaryAssets() {
         return Collections.unmodifiableList(binaryAssets);
     }
@@ -158,7 +208,110 @@ public final class SimpleRelease {
 
     public void addBinaryAsset(final SimpleAsset asset) { binaryAssets.add(asset); }
 
+    /**
+     * Returns the release notes, this is empty if the release was read by the {@link ReleasePageReader}.
+     * @return the release notes
+     */
     public String getDescription() {
         return description;
     }
+
+    public static Builder getBuilder() { return new Builder(); }
+
+    @SuppressWarnings("ClassHasNoToStringMethod")
+    public static final class Builder {
+        private String url;
+        private String html_url;
+        private int id;
+        private String tag_name;
+        private String target_commitish;
+        private String name;
+        private boolean draft;
+        private SimpleAuthor author;
+        private boolean prerelease;
+        private String created_at;
+        private String published_at;
+        private String description = "";
+        private final List<SimpleAsset.Builder> assets = new ArrayList<>();
+
+        private Builder() {}
+
+        public Builder setUrl(final String url) {
+            this.url = url;
+            return this;
+        }
+
+        public Builder setHtmlUrl(final String html_url) {
+            this.html_url = html_url;
+            return this;
+        }
+
+        public Builder setId(final int id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder setTagName(final String tag_name) {
+            this.tag_name = tag_name;
+            return this;
+        }
+
+        public Builder setTargetCommitish(final String target_commitish) {
+            this.target_commitish = target_commitish;
+            return this;
+        }
+
+        public Builder setName(final String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder setDraft(final boolean draft) {
+            this.draft = draft;
+            return this;
+        }
+
+        public Builder setAuthor(final SimpleAuthor author) {
+            this.author = author;
+            return this;
+        }
+
+        public Builder setPrerelease(final boolean prerelease) {
+            this.prerelease = prerelease;
+            return this;
+        }
+
+        public boolean isPrerelease() {
+            return prerelease;
+        }
+
+        public Builder setCreatedAt(final String created_at) {
+            this.created_at = created_at;
+            return this;
+        }
+
+        public Builder setPublishedAt(final String published_at) {
+            this.published_at = published_at;
+            return this;
+        }
+
+        public Builder setDescription(final String description) {
+            this.description = description;
+            return this;
+        }
+
+        /**
+         * Adds an asset, the parent of the asset is set when the release is built.
+         * @param asset the asset builder
+         * @return this instance for method chaining
+         */
+        public Builder addAsset(final SimpleAsset.Builder asset) {
+            assets.add(asset);
+            return this;
+        }
+
+        public SimpleRelease build() {
+            return new SimpleRelease(this);
+        }
+    }
 }
@@ -1,11 +1,10 @@
 package com.jgcomptech.adoptopenjdk.enums;
 
+import com.jgcomptech.adoptopenjdk.api.AssetClassification;
+
 import java.util.Arrays;
-import java.util.Locale;
 import java.util.Optional;
 
-import static com.jgcomptech.adoptopenjdk.enums.AssetFileType.*;
-
 public enum AssetName {
     aarch64_linux_tar_gz,
     aarch64_linux_tar_gz_json,
@@ -98,115 +97,40 @@ public enum AssetName {
                 .findAny();
     }
 
+    public boolean isShaAsset() {
+        return name().endsWith("_sha256_txt");
+    }
+
+    public boolean isJsonAsset() {
+        return name().endsWith("_json");
+    }
+
+    public boolean isBinaryAsset() {
+        return !isShaAsset() && !isJsonAsset();
+    }
+
+    /**
+     * Returns the matching sha-256 asset name if this is a binary asset.
+     * @return the matching sha-256 asset name or empty if this is not a binary asset
+     */
+    public Optional<AssetName> getShaAssetName() {
+        return isBinaryAsset() ? Optional.of(valueOf(name() + "_sha256_txt")) : Optional.empty();
+    }
+
+    /**
+     * Returns the matching json asset name if this is a binary asset.
+     * @return the matching json asset name or empty if this is not a binary asset
+     */
+    public Optional<AssetName> getJsonAssetName() {
+        return isBinaryAsset() ? Optional.of(valueOf(name() + "_json")) : Optional.empty();
+    }
+
+    /**
+     * Returns the asset name of the specified filename.
+     * @param name the full filename including the extension
+     * @return the asset name or null if the filename does not match a known asset
+     */
     public static AssetName parseFromName(final String name) {
-        final String lowercaseName = name
-                .toLowerCase(Locale.getDefault())
-                .replace("_openj9", "")
-                .replace("_hotspot", "");
-
-        final AssetFileType fileType = AssetFileType.parseFromName(lowercaseName);
-
-        switch(AssetOS.parseFromName(lowercaseName)) {
-            case NONE:
-                break;
-            case aarch64_linux:
-                if (fileType == tar_gz_json) return aarch64_linux_tar_gz_json;
-                if (fileType == tar_gz_sha256_txt) return aarch64_linux_tar_gz_sha256_txt;
-                if (fileType == tar_gz) return aarch64_linux_tar_gz;
-                break;
-            case arm_linux:
-                if(fileType == tar_gz_json) return arm_linux_tar_gz_json;
-                if(fileType == tar_gz_sha256_txt) return arm_linux_tar_gz_sha256_txt;
-                if(fileType == tar_gz) return arm_linux_tar_gz;
-                break;
-            case ppc64le_linux:
-                if(fileType == tar_gz_json) return ppc64le_linux_tar_gz_json;
-                if(fileType == tar_gz_sha256_txt) return ppc64le_linux_tar_gz_sha256_txt;
-                if(fileType == tar_gz) return ppc64le_linux_tar_gz;
-                break;
-            case ppc64_aix:
-                if(fileType == tar_gz_json) return ppc64_aix_tar_gz_json;
-                if(fileType == tar_gz_sha256_txt) return ppc64_aix_tar_gz_sha256_txt;
-                if(fileType == tar_gz) return ppc64_aix_tar_gz;
-                break;
-            case ppc64le_linux_linuxXL:
-                if(fileType == tar_gz_json) return ppc64le_linux_linuxXL_tar_gz_json;
-                if(fileType == tar_gz_sha256_txt) return ppc64le_linux_linuxXL_tar_gz_sha256_txt;
-                if(fileType == tar_gz) return ppc64le_linux_linuxXL_tar_gz;
-                break;
-            case s390x_linux:
-                if(fileType == tar_gz_json) return s390x_linux_tar_gz_json;
-                if(fileType == tar_gz_sha256_txt) return s390x_linux_tar_gz_sha256_txt;
-                if(fileType == tar_gz) return s390x_linux_tar_gz;
-                break;
-            case s390x_linux_linuxXL:
-                if(fileType == tar_gz_json) return s390x_linux_linuxXL_tar_gz_json;
-                if(fileType == tar_gz_sha256_txt) return s390x_linux_linuxXL_tar_gz_sha256_txt;
-                if(fileType == tar_gz) return s390x_linux_linuxXL_tar_gz;
-                break;
-            case sparcv9_solaris:
-                if (fileType == tar_gz_json) return sparcv9_solaris_tar_gz_json;
-                if (fileType == tar_gz_sha256_txt) return sparcv9_solaris_tar_gz_sha256_txt;
-                if (fileType == tar_gz) return sparcv9_solaris_tar_gz;
-                break;
-            case x64_linux:
-                if(fileType == tar_gz_json) return x64_linux_tar_gz_json;
-                if(fileType == tar_gz_sha256_txt) return x64_linux_tar_gz_sha256_txt;
-                if(fileType == tar_gz) return x64_linux_tar_gz;
-                break;
-            case x64_linux_linuxXL:
-                if(fileType == tar_gz_json) return x64_linux_linuxXL_tar_gz_json;
-                if(fileType == tar_gz_sha256_txt) return x64_linux_linuxXL_tar_gz_sha256_txt;
-                if(fileType == tar_gz) return x64_linux_linuxXL_tar_gz;
-                break;
-            case x64_mac_macosXL:
-                if(fileType == pkg_json) return x64_mac_macosXL_pkg_json;
-                if(fileType == pkg_sha256_txt) return x64_mac_macosXL_pkg_sha256_txt;
-                if(fileType == pkg) return x64_mac_macosXL_pkg;
-                if(fileType == tar_gz_json) return x64_mac_macosXL_tar_gz_json;
-                if(fileType == tar_gz_sha256_txt) return x64_mac_macosXL_tar_gz_sha256_txt;
-                if(fileType == tar_gz) return x64_mac_macosXL_tar_gz;
-                break;
-            case x64_mac:
-                if(fileType == pkg_json) return x64_mac_pkg_json;
-                if(fileType == pkg_sha256_txt) return x64_mac_pkg_sha256_txt;
-                if(fileType == pkg) return x64_mac_pkg;
-                if(fileType == tar_gz_json) return x64_mac_tar_gz_json;
-                if(fileType == tar_gz_sha256_txt) return x64_mac_tar_gz_sha256_txt;
-                if(fileType == tar_gz) return x64_mac_tar_gz;
-                break;
-            case x64_solaris:
-                if (fileType == tar_gz_json) return x64_solaris_tar_gz_json;
-                if (fileType == tar_gz_sha256_txt) return x64_solaris_tar_gz_sha256_txt;
-                if (fileType == tar_gz) return x64_solaris_tar_gz;
-                break;
-            case x64_windows:
-                if(fileType == msi_json) return x64_windows_msi_json;
-                if(fileType == msi_sha256_txt) return x64_windows_msi_sha256_txt;
-                if(fileType == msi) return x64_windows_msi;
-                if(fileType == zip_json) return x64_windows_zip_json;
-                if(fileType == zip_sha256_txt) return x64_windows_zip_sha256_txt;
-                if(fileType == zip) return x64_windows_zip;
-                break;
-            case x64_windows_windowsXL:
-                if(fileType == msi_json) return x64_windows_windowsXL_msi_json;
-                if(fileType == msi_sha256_txt) return x64_windows_windowsXL_msi_sha256_txt;
-                if(fileType == msi) return x64_windows_windowsXL_msi;
-                if(fileType == zip_json) return x64_windows_windowsXL_zip_json;
-                if(fileType == zip_sha256_txt) return x64_windows_windowsXL_zip_sha256_txt;
-                if(fileType == zip) return x64_windows_windowsXL_zip;
-                break;
-            case x86_32_windows:
-                if(fileType == msi_json) return x86_32_windows_msi_json;
-                if(fileType == msi_sha256_txt) return x86_32_windows_msi_sha256_txt;
-                if(fileType == msi) return x86_32_windows_msi;
-                if(fileType == zip_json) return x86_32_windows_zip_json;
-                if(fileType == zip_sha256_txt) return x86_32_windows_zip_sha256_txt;
-                if(fileType == zip) return x86_32_windows_zip;
-                break;
-        }
-
-        //Should Never Return Null!!!
-        return null;
+        return AssetClassification.of(name).getAssetName();
     }
 }
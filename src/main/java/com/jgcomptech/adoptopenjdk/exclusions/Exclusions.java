@@ -8,6 +8,8 @@ import com.jgcomptech.adoptopenjdk.enums.AssetName;
 import com.jgcomptech.adoptopenjdk.enums.AssetOS;
 import com.jgcomptech.adoptopenjdk.enums.AssetType;
 import com.jgcomptech.adoptopenjdk.exclusions.releases.*;
+import org.hjson.JsonArray;
+import org.hjson.JsonObject;
 import org.hjson.JsonValue;
 import org.hjson.Stringify;
 
@@ -197,8 +199,12 @@ public class Exclusions {
             try(final FileInputStream fis = new FileInputStream(exclusionsFile);
                 final InputStreamReader in = new InputStreamReader(
                         fis, StandardCharsets.UTF_8)) {
-                String hjson = JsonValue.readHjson(in).toString();
-                exclusions = new ObjectMapper().readValue(hjson, ExclusionsBase.class);
+                try {
+                    exclusions = readExclusions(JsonValue.readHjson(in).asObject());
+                } catch (final UnsupportedOperationException e) {
+                    //Thrown by HJSON when a value has the wrong type
+                    throw new IOException("Invalid Exclusions File: " + e.getMessage(), e);
+                }
 
                 for(final Map.Entry<String, ExclusionsBaseRelease> release : exclusions.releases.entrySet()) {
                     enableRelease(release.getKey());
@@ -206,4 +212,97 @@ public class Exclusions {
             }
         }
     }
+
+    /**
+     * Reads the exclusions straight from the HJSON tree. Loading Jackson takes longer than the rest of an
+     * update check so it is only used to write new files, the property names are the ones it writes.
+     */
+    private static ExclusionsBase readExclusions(final JsonObject object) throws IOException {
+        final ExclusionsBase base = new ExclusionsBase();
+
+        for(final JsonObject.Member member : object) {
+            if(!member.getName().equals("releases")) throw unknownProperty(member);
+            base.releases.clear();
+
+            for(final JsonObject.Member release : member.getValue().asObject()) {
+                base.releases.put(release.getName(), readRelease(release.getValue().asObject()));
+            }
+        }
+
+        return base;
+    }
+
+    private static ExclusionsBaseRelease readRelease(final JsonObject object) throws IOException {
+        final ExclusionsBaseRelease release = new ExclusionsBaseRelease();
+
+        for(final JsonObject.Member member : object) {
+            final ExclusionsSubRelease subRelease = readSubRelease(member.getValue().asObject());
+
+            switch(member.getName()) {
+                case "jdkhotspot":
+                    release.JDKHotspot = subRelease;
+                    break;
+                case "jrehotspot":
+                    release.JREHotspot = subRelease;
+                    break;
+                case "jdkopenJ9":
+                    release.JDKOpenJ9 = subRelease;
+                    break;
+                case "jreopenJ9":
+                    release.JREOpenJ9 = subRelease;
+                    break;
+                default:
+                    throw unknownProperty(member);
+            }
+        }
+
+        return release;
+    }
+
+    private static ExclusionsSubRelease readSubRelease(final JsonObject object) throws IOException {
+        final ExclusionsSubRelease subRelease = new ExclusionsSubRelease();
+
+        for(final JsonObject.Member member : object) {
+            switch(member.getName()) {
+                case "disabledOS":
+                    subRelease.disabledOS = readEnumList(member.getValue(), AssetOS.class);
+                    break;
+                case "disabledAssets":
+                    subRelease.disabledAssets = readEnumList(member.getValue(), AssetName.class);
+                    break;
+                case "installersDisabled":
+                    subRelease.installersDisabled = member.getValue().asBoolean();
+                    break;
+                case "xldisabled":
+                    subRelease.XLDisabled = member.getValue().asBoolean();
+                    break;
+                default:
+                    throw unknownProperty(member);
+            }
+        }
+
+        return subRelease;
+    }
+
+    private static <T extends Enum<T>> List<T> readEnumList(final JsonValue value, final Class<T> type)
+            throws IOException {
+        final List<T> list = new ArrayList<>();
+        if(value.isNull()) return list;
+
+        final JsonArray array = value.asArray();
+
+        for(final JsonValue item : array) {
+            try {
+                list.add(Enum.valueOf(type, item.asString()));
+            } catch (final IllegalArgumentException e) {
+                throw new IOException("Invalid " + type.getSimpleName() + " In Exclusions File: " + item, e);
+            }
+        }
+
+        return list;
+    }
+
+    private static IOException unknownProperty(final JsonObject.Member member) {
+        return new IOException("Unknown Property In Exclusions File: " + member.getName());
+    }
 }
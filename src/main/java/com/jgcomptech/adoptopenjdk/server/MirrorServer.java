@@ -0,0 +1,363 @@
+package com.jgcomptech.adoptopenjdk.server;
+
+import com.jgcomptech.adoptopenjdk.api.APISettings;
+import com.jgcomptech.adoptopenjdk.enums.DLStatus;
+import com.jgcomptech.adoptopenjdk.utils.DownloadResult;
+import com.jgcomptech.adoptopenjdk.utils.FileCacheUtils;
+import com.jgcomptech.adoptopenjdk.utils.HTTPCache;
+import com.jgcomptech.adoptopenjdk.utils.HTTPDownload;
+import com.jgcomptech.adoptopenjdk.utils.Utils;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.jgcomptech.adoptopenjdk.Settings.COMPANY_NAME;
+
+/**
+ * Serves the GitHub release pages and release assets to other updaters from a local cache.
+ *
+ * <p>Requests to {@code /repos/AdoptOpenJDK/<repository>/releases} are answered from the {@link HTTPCache}, which
+ * is revalidated with the GitHub API once the cached page is older than the time to live. Requests to
+ * {@code /AdoptOpenJDK/<repository>/releases/download/...} are answered from the mirror directory, which downloads
+ * the asset from GitHub the first time it is asked for. Concurrent requests for the same page or asset share a
+ * single upstream request. Every other path is answered with 404 so the mirror can not be used to send other
+ * requests to GitHub with its credentials.</p>
+ *
+ * <p>Clients use the mirror by setting {@code api_base_url} and {@code download_base_url} in their
+ * {@code app.properties} to the address of the mirror.</p>
+ */
+public final class MirrorServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MirrorServer.class);
+    private static final Pattern PAGE_PATH = Pattern.compile("^/repos/" + COMPANY_NAME + "/[\\w.-]+/releases$");
+    private static final Pattern ASSET_PATH =
+            Pattern.compile("^/" + COMPANY_NAME + "/[\\w.-]+/releases/download/[^/]+/[^/]+$");
+    private static final Pattern RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Path directory;
+    private final long maxSize;
+    private final String upstreamApi;
+    private final String upstreamDownload;
+    private final ConcurrentHashMap<String, CompletableFuture<HTTPCache.Entry>> pages = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> assets = new ConcurrentHashMap<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /**
+     * Creates a mirror server, it does not accept requests until it is started.
+     * @param port      the port to listen on
+     * @param directory the directory to store release assets in
+     * @param maxSize   the maximum size of the stored assets in bytes
+     * @param threads   the number of requests that are handled at the same time
+     * @throws IOException if the port can not be bound
+     */
+    public MirrorServer(final int port, final Path directory, final long maxSize, final int threads)
+            throws IOException {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        //A mirror can itself read from another mirror
+        upstreamApi = APISettings.getApiBaseUrl();
+        upstreamDownload = APISettings.getDownloadBaseUrl().isEmpty()
+                ? APISettings.GITHUB_DOWNLOAD_URL
+                : APISettings.getDownloadBaseUrl();
+        executor = Executors.newFixedThreadPool(threads, Utils.newDaemonThreadFactory("jupdate-mirror"));
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Returns the default directory to store release assets in.
+     * @return the default directory
+     */
+    public static Path getDefaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".jupdate", "mirror");
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     * @return the port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Starts accepting requests.
+     * @return this server
+     */
+    public MirrorServer start() {
+        server.start();
+        logger.info("Mirror listening on port " + getPort() + ", serving " + upstreamApi + " and "
+                + upstreamDownload + " from " + directory);
+        return this;
+    }
+
+    /**
+     * Waits until the server is closed.
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        stopped.countDown();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            final String method = exchange.getRequestMethod();
+            final String path = exchange.getRequestURI().getPath();
+
+            if(!"GET".equals(method) && !"HEAD".equals(method)) {
+                sendStatus(exchange, HttpURLConnection.HTTP_BAD_METHOD);
+            } else if(PAGE_PATH.matcher(path).matches() && !path.contains("..")) {
+                handlePage(exchange);
+            } else if(ASSET_PATH.matcher(path).matches() && !path.contains("..")) {
+                handleAsset(exchange, path);
+            } else {
+                sendStatus(exchange, HttpURLConnection.HTTP_NOT_FOUND);
+            }
+        } catch (final Exception e) {
+            logger.debug("Mirror request failed: " + exchange.getRequestURI(), e);
+            sendStatus(exchange, HttpURLConnection.HTTP_BAD_GATEWAY);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handlePage(final HttpExchange exchange) throws Exception {
+        //Credentials of the client are never forwarded or used as part of the cache key
+        final String query = exchange.getRequestURI().getRawQuery();
+        final String url = HTTPCache.stripCredentials(upstreamApi + exchange.getRequestURI().getRawPath()
+                + (query == null ? "" : '?' + query));
+
+        final HTTPCache.Entry entry = coalesce(pages, url, () -> fetchPage(url));
+        final Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "application/json; charset=utf-8");
+        entry.getETag().ifPresent(etag -> headers.set("ETag", etag));
+        entry.getLastModified().ifPresent(date -> headers.set("Last-Modified", date));
+        //Page links point at the mirror so clients keep using it, entries cached by older versions
+        //can still hold the credentials of the mirror
+        entry.getLink().ifPresent(link -> headers.set("Link",
+                HTTPCache.stripLinkCredentials(link).replace(upstreamApi, getBaseUrl(exchange))));
+
+        final String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if(ifNoneMatch != null && entry.getETag().map(ifNoneMatch::equals).orElse(false)) {
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+            return;
+        }
+
+        try(final InputStream in = entry.openBody()) {
+            send(exchange, in, 0, entry.getBodySize(), HttpURLConnection.HTTP_OK);
+        }
+    }
+
+    private HTTPCache.Entry fetchPage(final String url) throws IOException {
+        final Optional<HTTPCache.Entry> cached = HTTPCache.get(url);
+
+        if(cached.isPresent() && cached.get().isFresh()) return cached.get();
+
+        final HttpURLConnection connection = (HttpURLConnection) new URL(withCredentials(url)).openConnection();
+        cached.flatMap(HTTPCache.Entry::getETag).ifPresent(etag -> connection.setRequestProperty("If-None-Match", etag));
+        cached.flatMap(HTTPCache.Entry::getLastModified)
+                .ifPresent(date -> connection.setRequestProperty("If-Modified-Since", date));
+
+        try {
+            final int code = connection.getResponseCode();
+
+            if(code == HttpURLConnection.HTTP_NOT_MODIFIED && cached.isPresent()) {
+                cached.get().revalidated();
+                return cached.get();
+            }
+
+            if(code != HttpURLConnection.HTTP_OK) {
+                //A stale page is better than no page if GitHub is unavailable or rate limited
+                if(cached.isPresent()) return cached.get();
+                throw new IOException("GitHub API returned " + code + " for " + url);
+            }
+
+            logger.debug("Fetched release page " + url);
+
+            try(final InputStream in = connection.getInputStream()) {
+                return HTTPCache.put(url, in, connection.getHeaderField("ETag"),
+                        connection.getHeaderField("Last-Modified"), connection.getHeaderField("Link"));
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private void handleAsset(final HttpExchange exchange, final String path) throws Exception {
+        final Path file = coalesce(assets, path, () -> fetchAsset(path));
+        final long size = Files.size(file);
+        final Headers headers = exchange.getResponseHeaders();
+
+        FileCacheUtils.touch(file);
+
+        headers.set("Content-Type", "application/octet-stream");
+        headers.set("Accept-Ranges", "bytes");
+        //Release assets never change so the size and name are enough to tell them apart
+        headers.set("ETag", '"' + Long.toHexString(size) + '-' + Integer.toHexString(path.hashCode()) + '"');
+
+        final String range = exchange.getRequestHeaders().getFirst("Range");
+        final String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        final Matcher matcher = range == null ? null : RANGE.matcher(range.trim());
+
+        if(matcher != null && matcher.matches() && (ifRange == null || ifRange.equals(headers.getFirst("ETag")))) {
+            final long start;
+            final long end;
+
+            if(matcher.group(1).isEmpty()) {
+                //A suffix range asks for the last bytes of the file, an empty or zero suffix asks for nothing
+                final long suffix = matcher.group(2).isEmpty() ? 0 : Long.parseLong(matcher.group(2));
+                start = Math.max(0, size - suffix);
+                end = suffix == 0 ? -1 : size - 1;
+            } else {
+                start = Long.parseLong(matcher.group(1));
+                end = matcher.group(2).isEmpty() ? size - 1 : Math.min(Long.parseLong(matcher.group(2)), size - 1);
+            }
+
+            if(start >= size || start > end) {
+                headers.set("Content-Range", "bytes */" + size);
+                sendStatus(exchange, 416);
+                return;
+            }
+
+            headers.set("Content-Range", "bytes " + start + '-' + end + '/' + size);
+            sendFile(exchange, file, start, end - start + 1, HttpURLConnection.HTTP_PARTIAL);
+            return;
+        }
+
+        sendFile(exchange, file, 0, size, HttpURLConnection.HTTP_OK);
+    }
+
+    private Path fetchAsset(final String path) throws IOException {
+        final Path file = directory.resolve(path.substring(1)).normalize();
+
+        if(!file.startsWith(directory)) throw new IOException("Invalid asset path: " + path);
+
+        if(Files.isRegularFile(file)) return file;
+
+        Files.createDirectories(file.getParent());
+        logger.info("Mirroring " + path);
+
+        final DownloadResult result;
+        try(final HTTPDownload download = new HTTPDownload(file.getParent().toString(),
+                upstreamDownload + path)) {
+            result = download.download().getResult().get();
+        } catch (final Exception e) {
+            throw new IOException("Unable to mirror " + path, e);
+        }
+
+        if(result.getStatus() != DLStatus.COMPLETE) {
+            throw new IOException("Unable to mirror " + path + ": " + result.getErrorMessage().orElse(""));
+        }
+
+        FileCacheUtils.evictLeastRecentlyUsed(directory, maxSize);
+        return file;
+    }
+
+    /**
+     * Runs the fetch once for every key that is requested at the same time, every other request
+     * for the key waits for the same result.
+     */
+    private static <T> T coalesce(final ConcurrentHashMap<String, CompletableFuture<T>> inFlight,
+                                  final String key, final Fetch<T> fetch) throws Exception {
+        final CompletableFuture<T> created = new CompletableFuture<>();
+        final CompletableFuture<T> existing = inFlight.putIfAbsent(key, created);
+
+        if(existing != null) return existing.get();
+
+        try {
+            created.complete(fetch.get());
+        } catch (final Exception e) {
+            created.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, created);
+        }
+
+        return created.get();
+    }
+
+    private static String withCredentials(final String url) {
+        if(!APISettings.isUseOAuth()) return url;
+
+        return url + (url.contains("?") ? '&' : '?') + "client_id=" + APISettings.getOAuth_client_id()
+                + "&client_secret=" + APISettings.getOAuth_client_secret();
+    }
+
+    private static String getBaseUrl(final HttpExchange exchange) {
+        final String host = exchange.getRequestHeaders().getFirst("Host");
+        return "http://" + (host == null ? "localhost:" + exchange.getLocalAddress().getPort() : host);
+    }
+
+    private static void sendFile(final HttpExchange exchange, final Path file, final long start,
+                                 final long length, final int code) throws IOException {
+        try(final InputStream in = Files.newInputStream(file)) {
+            send(exchange, in, start, length, code);
+        }
+    }
+
+    private static void send(final HttpExchange exchange, final InputStream in, final long start,
+                             final long length, final int code) throws IOException {
+        if("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(length));
+            exchange.sendResponseHeaders(code, -1);
+            return;
+        }
+
+        exchange.sendResponseHeaders(code, length);
+
+        try(final OutputStream out = exchange.getResponseBody()) {
+            if(in.skip(start) != start) throw new IOException("Unable to seek to byte " + start);
+
+            final byte[] buffer = new byte[256 * 1024];
+            long remaining = length;
+
+            while(remaining > 0) {
+                final int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if(read == -1) break;
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private static void sendStatus(final HttpExchange exchange, final int code) {
+        try {
+            exchange.sendResponseHeaders(code, -1);
+        } catch (final IOException e) {
+            logger.trace("Unable to send response: " + code, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Fetch<T> {
+        T get() throws Exception;
+    }
+}
@@ -0,0 +1,163 @@
+package com.jgcomptech.adoptopenjdk.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.OptionalInt;
+
+/**
+ * Hands a command line to a {@link ResidentServer} and prints what it answers.
+ *
+ * <p>The client only uses JDK classes so a delegated command does not load the logging, argument parsing or
+ * HTTP code at all. It reads the address of the server from {@link #getInfoFile()}, connects over the Unix
+ * domain socket if the server has one and this JVM supports it, and otherwise over loopback TCP. If no
+ * server answers, or the server declines the command, the caller runs the command itself.</p>
+ */
+public final class ResidentClient {
+    static final int MAGIC = 0x4A555044;
+    static final byte STDOUT = 1;
+    static final byte STDERR = 2;
+    static final byte EXIT = 3;
+    static final byte DECLINED = 4;
+
+    static final String DIRECTORY = "directory";
+    static final String PORT = "port";
+    static final String SOCKET = "socket";
+    static final String TOKEN = "token";
+
+    private ResidentClient() { }
+
+    /**
+     * Returns the file a running resident server writes its address to.
+     * @return the file
+     */
+    public static Path getInfoFile() {
+        return Paths.get(System.getProperty("user.home"), ".jupdate", "resident.properties");
+    }
+
+    /**
+     * Runs the command line on a resident server if one is running.
+     * @param args the command line
+     * @return the exit code of the command or empty if the command has to run in this process
+     */
+    public static OptionalInt run(final String... args) {
+        if(!isDelegated(args)) return OptionalInt.empty();
+
+        final Path infoFile = getInfoFile();
+        if(!Files.isRegularFile(infoFile)) return OptionalInt.empty();
+
+        final Properties info = new Properties();
+
+        try(final InputStream in = Files.newInputStream(infoFile)) {
+            info.load(in);
+        } catch (final IOException e) {
+            return OptionalInt.empty();
+        }
+
+        try(final SocketChannel channel = connect(info)) {
+            if(channel == null) return OptionalInt.empty();
+            return send(channel, info.getProperty(TOKEN, ""), args);
+        } catch (final IOException e) {
+            //Nothing has been printed yet, so the command can still run here
+            return OptionalInt.empty();
+        }
+    }
+
+    /**
+     * Returns false for the commands that keep running, they would block every other command on the server.
+     */
+    private static boolean isDelegated(final String... args) {
+        for(final String arg : args) {
+            final String name = arg.contains("=") ? arg.substring(0, arg.indexOf('=')) : arg;
+
+            switch(name) {
+                case "-resident":
+                case "--resident":
+                case "-serve":
+                case "--serve":
+                case "-daemon":
+                case "--daemon":
+                case "-mirror":
+                case "--mirror":
+                    return false;
+                default:
+                    break;
+            }
+        }
+
+        return true;
+    }
+
+    private static SocketChannel connect(final Properties info) {
+        final String socket = info.getProperty(SOCKET, "");
+
+        if(!socket.isEmpty() && UnixDomainSockets.isSupported()) {
+            try {
+                return UnixDomainSockets.connect(Paths.get(socket));
+            } catch (final IOException ignored) {
+                //A server that died leaves the socket file behind, try TCP before giving up
+            }
+        }
+
+        try {
+            final int port = Integer.parseInt(info.getProperty(PORT, "0"));
+            if(port <= 0) return null;
+            return SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        } catch (final IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static OptionalInt send(final SocketChannel channel, final String token, final String... args)
+            throws IOException {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        out.writeInt(MAGIC);
+        out.writeUTF(token);
+        out.writeUTF(Paths.get("").toAbsolutePath().toString());
+        out.writeInt(args.length);
+        for(final String arg : args) out.writeUTF(arg);
+        out.flush();
+
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        boolean printed = false;
+
+        try {
+            while(true) {
+                final byte type = in.readByte();
+
+                if(type == EXIT) {
+                    System.out.flush();
+                    System.err.flush();
+                    return OptionalInt.of(in.readInt());
+                }
+
+                if(type == DECLINED) return OptionalInt.empty();
+
+                final byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                final PrintStream stream = type == STDERR ? System.err : System.out;
+                stream.write(data, 0, data.length);
+                stream.flush();
+                printed = true;
+            }
+        } catch (final IOException e) {
+            //Running the command again here would repeat what the server already did
+            if(!printed && e instanceof EOFException) return OptionalInt.empty();
+            System.err.println("Lost the connection to the resident server! " + e.getMessage());
+            return OptionalInt.of(1);
+        }
+    }
+}
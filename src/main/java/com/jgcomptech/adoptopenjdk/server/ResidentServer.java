@@ -0,0 +1,329 @@
+package com.jgcomptech.adoptopenjdk.server;
+
+import com.jgcomptech.adoptopenjdk.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToIntFunction;
+
+import static com.jgcomptech.adoptopenjdk.server.ResidentClient.DECLINED;
+import static com.jgcomptech.adoptopenjdk.server.ResidentClient.DIRECTORY;
+import static com.jgcomptech.adoptopenjdk.server.ResidentClient.EXIT;
+import static com.jgcomptech.adoptopenjdk.server.ResidentClient.MAGIC;
+import static com.jgcomptech.adoptopenjdk.server.ResidentClient.PORT;
+import static com.jgcomptech.adoptopenjdk.server.ResidentClient.SOCKET;
+import static com.jgcomptech.adoptopenjdk.server.ResidentClient.STDERR;
+import static com.jgcomptech.adoptopenjdk.server.ResidentClient.STDOUT;
+import static com.jgcomptech.adoptopenjdk.server.ResidentClient.TOKEN;
+import static com.jgcomptech.adoptopenjdk.server.ResidentClient.getInfoFile;
+
+/**
+ * Keeps a warm updater running and runs the command lines that {@link ResidentClient} hands to it.
+ *
+ * <p>The server listens on a Unix domain socket when the JVM supports it and always on a loopback TCP port,
+ * and writes both addresses with a random token to {@link ResidentClient#getInfoFile()}. Only the current user
+ * can read that file, and a client has to send the token before a command is run.</p>
+ *
+ * <p>The settings of the updater are static so commands run one at a time. While a command runs
+ * {@link System#out} and {@link System#err} are sent to the client, which prints them as they arrive. The
+ * settings, exclusions and download folder are read relative to the working directory, so a command from
+ * another directory is declined and the client runs it itself.</p>
+ */
+public final class ResidentServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ResidentServer.class);
+    private static final int MAX_ARGS = 1024;
+
+    private final ToIntFunction<String[]> command;
+    private final String directory = Paths.get("").toAbsolutePath().toString();
+    private final String token;
+    private final ServerSocketChannel tcp;
+    private final ServerSocketChannel unix;
+    private final Path socketFile;
+    private final ExecutorService executor;
+    private final Object lock = new Object();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /**
+     * Creates a resident server, it does not accept commands until it is started.
+     * @param command runs a command line and returns its exit code
+     * @throws IOException if the sockets can not be bound
+     */
+    public ResidentServer(final ToIntFunction<String[]> command) throws IOException {
+        this.command = command;
+        final byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        final StringBuilder hex = new StringBuilder();
+        for(final byte b : random) hex.append(String.format("%02x", b));
+        token = hex.toString();
+
+        tcp = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        ServerSocketChannel channel = null;
+        Path file = null;
+
+        if(UnixDomainSockets.isSupported()) {
+            file = getDefaultSocketFile();
+
+            try {
+                Files.createDirectories(file.getParent());
+                //A server that was killed leaves its socket file behind
+                Files.deleteIfExists(file);
+                channel = UnixDomainSockets.bind(file);
+                setOwnerOnly(file);
+            } catch (final IOException e) {
+                logger.debug("Unix domain socket not available, only listening on TCP", e);
+                file = null;
+            }
+        }
+
+        unix = channel;
+        socketFile = file;
+        executor = Executors.newCachedThreadPool(Utils.newDaemonThreadFactory("jupdate-resident"));
+    }
+
+    /**
+     * Returns the default Unix domain socket file.
+     * @return the default socket file
+     */
+    public static Path getDefaultSocketFile() {
+        return Paths.get(System.getProperty("user.home"), ".jupdate", "resident.sock");
+    }
+
+    /**
+     * Returns the TCP port the server is listening on.
+     * @return the port
+     */
+    public int getPort() {
+        return tcp.socket().getLocalPort();
+    }
+
+    /**
+     * Writes the info file and starts accepting commands.
+     * @return this server
+     * @throws IOException if the info file can not be written
+     */
+    public ResidentServer start() throws IOException {
+        final Properties info = new Properties();
+        info.setProperty(DIRECTORY, directory);
+        info.setProperty(PORT, Integer.toString(getPort()));
+        info.setProperty(SOCKET, socketFile == null ? "" : socketFile.toString());
+        info.setProperty(TOKEN, token);
+
+        final Path infoFile = getInfoFile();
+        Files.createDirectories(infoFile.getParent());
+        final Path temp = infoFile.resolveSibling(infoFile.getFileName() + ".tmp");
+
+        //The token must not be readable by anyone else, even for a moment
+        Files.deleteIfExists(temp);
+        Files.createFile(temp);
+        setOwnerOnly(temp);
+
+        try(final OutputStream out = Files.newOutputStream(temp)) {
+            info.store(out, "JUpdate resident server");
+        }
+
+        Files.move(temp, infoFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        executor.execute(() -> accept(tcp));
+        if(unix != null) executor.execute(() -> accept(unix));
+
+        logger.info("Resident server listening on "
+                + (socketFile == null ? "" : socketFile + " and ")
+                + "port " + getPort() + " for commands from " + directory);
+        return this;
+    }
+
+    /**
+     * Waits until the server is closed.
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(tcp);
+        closeQuietly(unix);
+
+        try {
+            //Only remove the files if another server has not replaced them
+            final Path infoFile = getInfoFile();
+            final Properties info = new Properties();
+            if(Files.isRegularFile(infoFile)) {
+                try(final InputStream in = Files.newInputStream(infoFile)) {
+                    info.load(in);
+                }
+            }
+
+            if(token.equals(info.getProperty(TOKEN))) {
+                Files.deleteIfExists(infoFile);
+                if(socketFile != null) Files.deleteIfExists(socketFile);
+            }
+        } catch (final IOException e) {
+            logger.debug("Failed to remove the resident server files", e);
+        }
+
+        executor.shutdownNow();
+        stopped.countDown();
+    }
+
+    private void accept(final ServerSocketChannel server) {
+        while(server.isOpen()) {
+            try {
+                final SocketChannel channel = server.accept();
+                executor.execute(() -> handle(channel));
+            } catch (final ClosedChannelException e) {
+                return;
+            } catch (final IOException e) {
+                logger.debug("Failed to accept a resident client", e);
+            }
+        }
+    }
+
+    private void handle(final SocketChannel channel) {
+        try(final SocketChannel ignored = channel) {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+            if(in.readInt() != MAGIC) return;
+
+            final String clientToken = in.readUTF();
+            if(!MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                    clientToken.getBytes(StandardCharsets.UTF_8))) return;
+
+            final String clientDirectory = in.readUTF();
+            final int count = in.readInt();
+            if(count < 0 || count > MAX_ARGS) return;
+            final List<String> args = new ArrayList<>(count);
+            for(int i = 0; i < count; i++) args.add(in.readUTF());
+
+            if(!directory.equals(clientDirectory)) {
+                out.writeByte(DECLINED);
+                out.flush();
+                return;
+            }
+
+            final int exitCode = run(out, args.toArray(new String[0]));
+            out.writeByte(EXIT);
+            out.writeInt(exitCode);
+            out.flush();
+        } catch (final IOException e) {
+            logger.debug("Resident client disconnected", e);
+        }
+    }
+
+    private int run(final DataOutputStream out, final String... args) throws IOException {
+        synchronized(lock) {
+            final PrintStream stdout = System.out;
+            final PrintStream stderr = System.err;
+
+            try(final PrintStream clientOut = new PrintStream(new FrameOutputStream(out, STDOUT), true, "UTF-8");
+                final PrintStream clientErr = new PrintStream(new FrameOutputStream(out, STDERR), true, "UTF-8")) {
+                System.setOut(clientOut);
+                System.setErr(clientErr);
+
+                try {
+                    return command.applyAsInt(args);
+                } catch (final RuntimeException e) {
+                    e.printStackTrace(clientErr);
+                    return 1;
+                } finally {
+                    clientOut.flush();
+                    clientErr.flush();
+                }
+            } finally {
+                System.setOut(stdout);
+                System.setErr(stderr);
+            }
+        }
+    }
+
+    private static void setOwnerOnly(final Path file) throws IOException {
+        if(FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        }
+    }
+
+    private static void closeQuietly(final ServerSocketChannel channel) {
+        if(channel == null) return;
+
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            logger.debug("Failed to close the resident server socket", e);
+        }
+    }
+
+    /**
+     * Sends everything written to it as frames of the specified type, the frames of both streams
+     * share the connection.
+     */
+    private static final class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte type;
+
+        FrameOutputStream(final DataOutputStream out, final byte type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if(len == 0) return;
+
+            synchronized(out) {
+                out.writeByte(type);
+                out.writeInt(len);
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized(out) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.jgcomptech.adoptopenjdk.server;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * Opens Unix domain socket channels, which are only available on Java 16 and later.
+ *
+ * <p>The updater is built for Java 8 so the Java 16 methods are looked up by reflection. On older versions
+ * {@link #isSupported()} returns false and the callers use a loopback TCP connection instead.</p>
+ */
+final class UnixDomainSockets {
+    private static final boolean SUPPORTED;
+
+    static {
+        boolean supported;
+        try {
+            Class.forName("java.net.UnixDomainSocketAddress");
+            supported = true;
+        } catch (final ClassNotFoundException e) {
+            supported = false;
+        }
+        SUPPORTED = supported;
+    }
+
+    private UnixDomainSockets() { }
+
+    static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Connects to the Unix domain socket at the specified path.
+     * @param path the socket file
+     * @return the connected channel
+     * @throws IOException if no server is listening on the socket or Unix domain sockets are not supported
+     */
+    static SocketChannel connect(final Path path) throws IOException {
+        final SocketChannel channel = (SocketChannel) invoke(SocketChannel.class, getFamily());
+
+        try {
+            channel.connect(getAddress(path));
+            return channel;
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Listens on a Unix domain socket at the specified path, the socket file must not exist.
+     * @param path the socket file
+     * @return the bound channel
+     * @throws IOException if the socket can not be bound or Unix domain sockets are not supported
+     */
+    static ServerSocketChannel bind(final Path path) throws IOException {
+        final ServerSocketChannel channel = (ServerSocketChannel) invoke(ServerSocketChannel.class, getFamily());
+
+        try {
+            return channel.bind(getAddress(path));
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static ProtocolFamily getFamily() throws IOException {
+        if(!SUPPORTED) throw new IOException("Unix domain sockets need Java 16 or later!");
+        return StandardProtocolFamily.valueOf("UNIX");
+    }
+
+    private static SocketAddress getAddress(final Path path) throws IOException {
+        try {
+            return (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress")
+                    .getMethod("of", Path.class).invoke(null, path);
+        } catch (final InvocationTargetException e) {
+            throw new IOException("Invalid socket path: " + path, e.getCause());
+        } catch (final ReflectiveOperationException e) {
+            throw new IOException("Unix domain sockets need Java 16 or later!", e);
+        }
+    }
+
+    private static Object invoke(final Class<?> type, final ProtocolFamily family) throws IOException {
+        try {
+            return type.getMethod("open", ProtocolFamily.class).invoke(null, family);
+        } catch (final InvocationTargetException e) {
+            if(e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        } catch (final ReflectiveOperationException e) {
+            throw new IOException("Unix domain sockets need Java 16 or later!", e);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.jgcomptech.adoptopenjdk.server;
+
+import com.google.gson.stream.JsonWriter;
+import com.jgcomptech.adoptopenjdk.InstalledReleases;
+import com.jgcomptech.adoptopenjdk.SubRelease;
+import com.jgcomptech.adoptopenjdk.Updater;
+import com.jgcomptech.adoptopenjdk.api.APISettings;
+import com.jgcomptech.adoptopenjdk.api.ReleasePage;
+import com.jgcomptech.adoptopenjdk.api.ReleasePageCache;
+import com.jgcomptech.adoptopenjdk.api.SettingsSection;
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleAsset;
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleRelease;
+import com.jgcomptech.adoptopenjdk.enums.AssetName;
+import com.jgcomptech.adoptopenjdk.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getInt;
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getLong;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keeps the release info of the selected sub-releases in memory and checks for new releases on a schedule.
+ *
+ * <p>The first check reads the release pages like a normal update check. After that only the releases
+ * published since the newest release seen so far are read, which is usually the first page and with the
+ * {@code HTTPCache} enabled usually a {@code 304} response. The time between checks varies by the jitter so
+ * many hosts started at the same time do not all ask GitHub at the same moment.</p>
+ *
+ * <p>The latest decision for every sub-release is written to a JSON status file after every check, so scripts
+ * can read it without starting a JVM or contacting the network.</p>
+ */
+public final class UpdateDaemon implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(UpdateDaemon.class);
+
+    private static long interval;
+    private static int jitter;
+    //Minutes between release checks with --daemon and how much that time varies in percent
+    private static final SettingsSection settings = new SettingsSection(properties -> {
+        interval = Math.max(1, getLong(properties, "daemon_interval_minutes", 60));
+        jitter = Math.max(0, Math.min(100, getInt(properties, "daemon_jitter_percent", 10)));
+    });
+
+    private final List<SubRelease> subReleases;
+    private final AssetName assetName;
+    private final boolean prerelease;
+    private final Path statusFile;
+    private final long intervalMillis;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Utils.newDaemonThreadFactory("jupdate-daemon"));
+    private final Map<String, Integer> lastSeen = new HashMap<>();
+    private final Map<SubRelease, SimpleAsset> latest = new HashMap<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile Map<String, Decision> decisions = Collections.emptyMap();
+    private String lastError;
+
+    /**
+     * Creates a daemon, it does not check for releases until it is started.
+     * @param subReleases the sub-releases to keep up to date
+     * @param assetName   the asset to check in every sub-release
+     * @param prerelease  whether or not pre-release assets should be used
+     * @param statusFile  the file to write the latest decisions to
+     * @param interval    the time between checks in minutes
+     */
+    public UpdateDaemon(final List<SubRelease> subReleases, final AssetName assetName, final boolean prerelease,
+                        final Path statusFile, final long interval) {
+        this.subReleases = new ArrayList<>(subReleases);
+        this.assetName = assetName;
+        this.prerelease = prerelease;
+        this.statusFile = statusFile.toAbsolutePath();
+        intervalMillis = TimeUnit.MINUTES.toMillis(Math.max(1, interval));
+    }
+
+    /**
+     * Returns the default time between checks.
+     * @return the time in minutes
+     */
+    public static long getInterval() {
+        settings.load();
+        return interval;
+    }
+
+    public static void setInterval(final long interval) {
+        settings.load();
+        UpdateDaemon.interval = Math.max(1, interval);
+    }
+
+    /**
+     * Returns how much the time between checks varies.
+     * @return the variation in percent of the interval
+     */
+    public static int getJitter() {
+        settings.load();
+        return jitter;
+    }
+
+    public static void setJitter(final int jitter) {
+        settings.load();
+        UpdateDaemon.jitter = Math.max(0, Math.min(100, jitter));
+    }
+
+    /**
+     * Returns the default status file.
+     * @return the default status file
+     */
+    public static Path getDefaultStatusFile() {
+        return Paths.get(System.getProperty("user.home"), ".jupdate", "status.json");
+    }
+
+    /**
+     * Starts checking for releases, the first check runs straight away.
+     * @return this daemon
+     */
+    public UpdateDaemon start() {
+        logger.info("Daemon checking " + subReleases.size() + " release(s) every "
+                + TimeUnit.MILLISECONDS.toMinutes(intervalMillis) + " minutes, status file " + statusFile);
+        scheduler.execute(this::poll);
+        return this;
+    }
+
+    /**
+     * Waits until the daemon is closed.
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        stopped.countDown();
+    }
+
+    /**
+     * Returns the latest decision for every sub-release that has been checked.
+     * @return the decisions keyed by sub-release name
+     */
+    public Map<String, Decision> getDecisions() {
+        return decisions;
+    }
+
+    private void poll() {
+        try {
+            check();
+            lastError = null;
+        } catch (final Exception e) {
+            //Keep the previous decisions, they are still the best answer there is
+            logger.error("Release check failed! " + e.getMessage());
+            logger.debug("Release check failed", e);
+            lastError = e.getMessage() == null ? e.toString() : e.getMessage();
+        }
+
+        final long delay = getNextDelay();
+
+        try {
+            writeStatus(Instant.now().plusMillis(delay));
+        } catch (final IOException e) {
+            logger.error("Unable to write status file " + statusFile + "! " + e.getMessage());
+        }
+
+        if(!scheduler.isShutdown()) scheduler.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private long getNextDelay() {
+        final long spread = intervalMillis * getJitter() / 100;
+        return intervalMillis - spread + ThreadLocalRandom.current().nextLong(spread * 2 + 1);
+    }
+
+    /**
+     * Checks every sub-release once and replaces the decisions.
+     * @throws IOException if the release pages can not be read
+     */
+    void check() throws IOException {
+        //The page caches would otherwise keep answering with the pages of the first check
+        ReleasePageCache.clear();
+
+        final Map<String, List<SimpleRelease>> newReleases = new HashMap<>();
+        final Set<String> fullyRead = new HashSet<>();
+
+        for(final SubRelease subRelease : subReleases) {
+            final String repository = subRelease.getRepositoryName();
+
+            if(!latest.containsKey(subRelease) || !lastSeen.containsKey(repository)) {
+                //Until the asset has been found the pages are read like a normal update check
+                subRelease.processReleases(prerelease, true, assetName);
+                subRelease.getAssets().get(assetName).ifPresent(asset -> latest.put(subRelease, asset));
+                fullyRead.add(repository);
+                continue;
+            }
+
+            if(!newReleases.containsKey(repository)) newReleases.put(repository, getNewReleases(repository));
+
+            //A scratch sub-release picks the matching asset from the new releases, newest first
+            final SubRelease scratch = new SubRelease(subRelease.getType(), subRelease.getParentBaseRelease());
+            newReleases.get(repository).forEach(scratch::processRelease);
+
+            final Optional<SimpleAsset> asset = scratch.getAssets().get(assetName);
+
+            if(asset.isPresent() && asset.get().getVersion().isNewerThen(latest.get(subRelease).getVersion())) {
+                logger.info("New " + subRelease.getName() + " release: " + asset.get().getVersion().getMain());
+                latest.put(subRelease, asset.get());
+            }
+        }
+
+        for(final String repository : fullyRead) {
+            if(!lastSeen.containsKey(repository)) lastSeen.put(repository, getNewestReleaseId(repository));
+        }
+
+        final Map<String, Decision> checked = new LinkedHashMap<>();
+        //The installed versions are read again every time since an install can happen between checks
+        final InstalledReleases installedReleases = InstalledReleases.scan();
+
+        for(final SubRelease subRelease : subReleases) {
+            final SimpleAsset asset = latest.get(subRelease);
+
+            if(asset == null) {
+                logger.warn("Asset " + assetName + " Not Found For " + subRelease.getName() + "!");
+                continue;
+            }
+
+            checked.put(subRelease.getName(),
+                    new Decision(subRelease, asset, new Updater(subRelease, asset, installedReleases)));
+        }
+
+        decisions = Collections.unmodifiableMap(checked);
+    }
+
+    private int getNewestReleaseId(final String repository) throws IOException {
+        final Optional<ReleasePage> page = ReleasePageCache.getInstance(repository, prerelease).getPage(1);
+
+        return page.map(ReleasePage::getReleases)
+                .flatMap(releases -> releases.stream().map(SimpleRelease::getId).max(Integer::compare))
+                .orElse(0);
+    }
+
+    /**
+     * Reads the release pages of a repository until it reaches a release that was already seen.
+     * @return the new releases, newest first
+     */
+    private List<SimpleRelease> getNewReleases(final String repository) throws IOException {
+        final ReleasePageCache pages = ReleasePageCache.getInstance(repository, prerelease).acquire();
+        final int previous = lastSeen.get(repository);
+        final List<SimpleRelease> releases = new ArrayList<>();
+
+        try {
+            boolean reachedSeen = false;
+
+            for(int number = 1; !reachedSeen; number++) {
+                final Optional<ReleasePage> page = pages.getPage(number);
+                if(!page.isPresent()) break;
+
+                for(final SimpleRelease release : page.get().getReleases()) {
+                    if(release.getId() <= previous) reachedSeen = true;
+                    else releases.add(release);
+                }
+            }
+        } finally {
+            pages.release();
+        }
+
+        releases.stream().mapToInt(SimpleRelease::getId).max()
+                .ifPresent(id -> lastSeen.put(repository, Math.max(previous, id)));
+
+        logger.debug("~ " + releases.size() + " new release(s) in " + repository);
+        return releases;
+    }
+
+    private void writeStatus(final Instant nextCheck) throws IOException {
+        final Path parent = statusFile.getParent();
+        Files.createDirectories(parent);
+
+        //Write a temporary file and move it in place so a reader never sees a partial file
+        final Path temp = Files.createTempFile(parent, statusFile.getFileName().toString(), ".tmp");
+
+        try {
+            try(final Writer writer = Files.newBufferedWriter(temp, UTF_8);
+                final JsonWriter json = new JsonWriter(writer)) {
+                json.setIndent("  ");
+                json.beginObject();
+                json.name("updated").value(Instant.now().toString());
+                json.name("nextCheck").value(nextCheck.toString());
+                json.name("error").value(lastError);
+                json.name("decisions").beginArray();
+                for(final Decision decision : decisions.values()) decision.write(json);
+                json.endArray();
+                json.endObject();
+            }
+
+            try {
+                Files.move(temp, statusFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, statusFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** The result of the latest check of a sub-release. */
+    public static final class Decision {
+        private final String name;
+        private final AssetName assetName;
+        private final String latestVersion;
+        private final String installedVersion;
+        private final boolean installed;
+        private final boolean needsUpdate;
+        private final String downloadUrl;
+        private final int releaseId;
+        private final Instant checked = Instant.now();
+
+        private Decision(final SubRelease subRelease, final SimpleAsset asset, final Updater updater) {
+            name = subRelease.getName();
+            assetName = asset.getAssetName();
+            latestVersion = asset.getVersion().getMain();
+            installed = updater.isInstalled();
+            installedVersion = installed ? updater.getCurrentVersion().getMain() : null;
+            needsUpdate = updater.needsUpdate();
+            downloadUrl = APISettings.getDownloadURL(asset.getBrowserDownloadURL());
+            releaseId = asset.getParent().getId();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public AssetName getAssetName() {
+            return assetName;
+        }
+
+        public String getLatestVersion() {
+            return latestVersion;
+        }
+
+        /**
+         * Returns the installed version.
+         * @return the installed version or null if it is not installed
+         */
+        public String getInstalledVersion() {
+            return installedVersion;
+        }
+
+        public boolean isInstalled() {
+            return installed;
+        }
+
+        public boolean needsUpdate() {
+            return needsUpdate;
+        }
+
+        public String getDownloadUrl() {
+            return downloadUrl;
+        }
+
+        public int getReleaseId() {
+            return releaseId;
+        }
+
+        public Instant getChecked() {
+            return checked;
+        }
+
+        private void write(final JsonWriter json) throws IOException {
+            json.beginObject();
+            json.name("name").value(name);
+            json.name("asset").value(assetName.name());
+            json.name("latestVersion").value(latestVersion);
+            json.name("installedVersion").value(installedVersion);
+            json.name("needsUpdate").value(needsUpdate);
+            json.name("downloadUrl").value(downloadUrl);
+            json.name("releaseId").value(releaseId);
+            json.name("checked").value(checked.toString());
+            json.endObject();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import com.jgcomptech.adoptopenjdk.api.SettingsSection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getBoolean;
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getLong;
+
+/**
+ * A local store of downloaded files keyed by their SHA-256, shared by every run and download path.
+ *
+ * <p>Files are stored as {@code <directory>/<first two hex digits>/<sha-256>}. A download whose published
+ * checksum is already in the store is hard linked from it, or copied if the target is on another file
+ * system, instead of being downloaded again. The store is kept below the configured maximum size by evicting
+ * the least recently used files.</p>
+ */
+public final class ArtifactStore {
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactStore.class);
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+
+    private static boolean enabled;
+    private static Path directory;
+    private static long maxSize;
+    //Settings for the local store of downloaded installers keyed by their sha-256
+    private static final SettingsSection settings = new SettingsSection(properties -> {
+        enabled = getBoolean(properties, "artifact_store_enabled", true);
+        directory = Paths.get(properties.getProperty("artifact_store_dir",
+                Paths.get(System.getProperty("user.home"), ".jupdate", "cas", "sha256").toString()));
+        maxSize = getLong(properties, "artifact_store_max_size_mb", 2048) * 1024 * 1024;
+    });
+
+    private ArtifactStore() { }
+
+    public static boolean isEnabled() {
+        settings.load();
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        settings.load();
+        ArtifactStore.enabled = enabled;
+    }
+
+    public static Path getDirectory() {
+        settings.load();
+        return directory;
+    }
+
+    public static void setDirectory(final Path directory) {
+        settings.load();
+        ArtifactStore.directory = directory;
+    }
+
+    public static long getMaxSize() {
+        settings.load();
+        return maxSize;
+    }
+
+    public static void setMaxSize(final long maxSize) {
+        settings.load();
+        ArtifactStore.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the stored file with the specified SHA-256.
+     * @param sha256 the hex SHA-256
+     * @return the stored file or empty if it is not in the store
+     */
+    public static Optional<Path> get(final String sha256) {
+        if(!isEnabled()) return Optional.empty();
+
+        final Optional<Path> entry = getEntry(sha256);
+        return entry.filter(Files::isRegularFile);
+    }
+
+    /**
+     * Links or copies the stored file with the specified SHA-256 to the target. The stored file is
+     * hashed first so a damaged entry is removed instead of being handed out.
+     * @param sha256 the hex SHA-256
+     * @param target the file to create, any existing file is replaced
+     * @return true if the target was created from the store
+     */
+    public static boolean copyTo(final String sha256, final Path target) {
+        final Optional<Path> entry = get(sha256);
+
+        if(!entry.isPresent()) return false;
+
+        try {
+            if(!sha256.equalsIgnoreCase(HTTPDownload.sha256(entry.get()))) {
+                logger.warn("Removing damaged artifact from the store: " + entry.get());
+                Files.deleteIfExists(entry.get());
+                return false;
+            }
+
+            Files.deleteIfExists(target);
+            linkOrCopy(entry.get(), target);
+            FileCacheUtils.touch(entry.get());
+            return true;
+        } catch (final IOException e) {
+            logger.debug("Unable to use stored artifact: " + entry.get(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Adds a verified file to the store.
+     * @param sha256 the hex SHA-256 of the file
+     * @param file   the file
+     */
+    public static void put(final String sha256, final Path file) {
+        if(!isEnabled()) return;
+
+        final Optional<Path> entry = getEntry(sha256);
+
+        if(!entry.isPresent()) return;
+
+        try {
+            if(Files.isRegularFile(entry.get())) {
+                FileCacheUtils.touch(entry.get());
+                return;
+            }
+
+            Files.createDirectories(entry.get().getParent());
+            linkOrCopy(file, entry.get());
+            FileCacheUtils.evictLeastRecentlyUsed(getDirectory(), getMaxSize());
+        } catch (final IOException e) {
+            logger.debug("Unable to store artifact: " + file, e);
+        }
+    }
+
+    private static Optional<Path> getEntry(final String sha256) {
+        final String key = sha256.toLowerCase(Locale.ROOT);
+        if(!SHA_256.matcher(key).matches()) return Optional.empty();
+        return Optional.of(getDirectory().resolve(key.substring(0, 2)).resolve(key));
+    }
+
+    // Hard link the file if possible, otherwise copy it through a temporary file so the target is never partial.
+    private static void linkOrCopy(final Path source, final Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+            return;
+        } catch (final IOException | UnsupportedOperationException e) {
+            logger.debug("Unable to link " + target + ", copying instead", e);
+        }
+
+        final Path parent = target.toAbsolutePath().getParent();
+        final Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import com.jgcomptech.adoptopenjdk.api.SettingsSection;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getLong;
+
+/**
+ * A token bucket that limits how many bytes per second every download in the process reads together.
+ *
+ * <p>A download asks for a whole buffer of tokens before each read and hands back what the read did not use,
+ * so the bucket is only touched once per buffer. Tokens are added from the time passed since the last
+ * request instead of by a timer, and a download that finds the bucket empty waits until a useful batch of
+ * tokens has built up instead of waking up for every few bytes. An unlimited bucket returns straight away
+ * without locking.</p>
+ */
+public final class BandwidthLimiter {
+    private static final int MIN_BATCH = 16 * 1024;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static volatile BandwidthLimiter global;
+    //Download speed limit for every download together in KB per second, 0 means there is no limit
+    private static final SettingsSection settings = new SettingsSection(properties ->
+            global = new BandwidthLimiter(getLong(properties, "download_rate_limit_kb", 0) * 1024,
+                    getLong(properties, "download_rate_burst_kb", 0) * 1024));
+
+    private final long rate;
+    private final long burst;
+    private long tokens;
+    private long lastRefill;
+
+    /**
+     * Creates a token bucket.
+     * @param rate  the number of bytes per second, 0 for no limit
+     * @param burst the number of bytes that can be read at once after the bucket was idle,
+     *              0 to use one second of the rate
+     */
+    public BandwidthLimiter(final long rate, final long burst) {
+        this.rate = Math.max(0, rate);
+        this.burst = burst > 0 ? burst : Math.max(this.rate, MIN_BATCH);
+        tokens = this.burst;
+        lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Returns the limiter shared by every download.
+     * @return the shared limiter
+     */
+    public static BandwidthLimiter getGlobal() {
+        settings.load();
+        return global;
+    }
+
+    /**
+     * Replaces the limiter shared by every download, downloads already waiting keep the old limit
+     * for their current read.
+     * @param rate  the number of bytes per second, 0 for no limit
+     * @param burst the burst size in bytes, 0 to use one second of the rate
+     */
+    public static void setGlobal(final long rate, final long burst) {
+        settings.load();
+        global = new BandwidthLimiter(rate, burst);
+    }
+
+    public long getRate() {
+        return rate;
+    }
+
+    public long getBurst() {
+        return burst;
+    }
+
+    public boolean isUnlimited() {
+        return rate == 0;
+    }
+
+    /**
+     * Takes up to the specified number of tokens, waiting until a batch of tokens is available.
+     * @param max the number of bytes the caller wants to read
+     * @return the number of bytes the caller may read, at least 1
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public int acquire(final int max) throws InterruptedIOException {
+        if(rate == 0) return max;
+
+        final long batch = Math.max(1, Math.min(max, Math.min(burst, MIN_BATCH)));
+
+        synchronized(this) {
+            refill();
+
+            while(tokens < batch) {
+                final long waitNanos = (batch - tokens) * TimeUnit.SECONDS.toNanos(1) / rate;
+
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw (InterruptedIOException) new InterruptedIOException(
+                            "Interrupted while waiting for bandwidth!").initCause(e);
+                }
+
+                refill();
+            }
+
+            final int granted = (int) Math.min(max, tokens);
+            tokens -= granted;
+            return granted;
+        }
+    }
+
+    /**
+     * Returns tokens that were acquired but not used because the read returned fewer bytes.
+     * @param unused the number of unused tokens
+     */
+    public void release(final int unused) {
+        if(rate == 0 || unused <= 0) return;
+
+        synchronized(this) {
+            tokens = Math.min(burst, tokens + unused);
+            notifyAll();
+        }
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+        final long added = (long) ((now - lastRefill) / NANOS_PER_SECOND * rate);
+
+        //Only move the clock forward by the time that produced whole tokens so no time is lost
+        if(added > 0) {
+            tokens = Math.min(burst, tokens + added);
+            lastRefill = tokens == burst ? now : lastRefill + (long) (added * NANOS_PER_SECOND / rate);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import com.jgcomptech.adoptopenjdk.api.SettingsSection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getInt;
+
+/**
+ * Downloads many files into a directory through a bounded pool of workers.
+ *
+ * <p>Each file is stored at the path of its url below the directory, the same layout the
+ * {@code MirrorServer} uses, so a bulk download can fill a mirror before it is started. The largest files
+ * are started first so the small ones fill in the gaps at the end instead of a large one starting last, and
+ * the number of downloads from one host is limited separately from the number of workers. A file that is
+ * already present with the expected size and SHA-256 is not downloaded again.</p>
+ */
+public final class BulkDownload {
+    private static final Logger logger = LoggerFactory.getLogger(BulkDownload.class);
+
+    private static int threads;
+    private static int hostConnections;
+    //Number of files downloaded at once by --mirror and how many of them may come from the same host
+    private static final SettingsSection settings = new SettingsSection(properties -> {
+        threads = Math.max(1, getInt(properties, "bulk_download_threads", 4));
+        hostConnections = Math.max(1, getInt(properties, "bulk_download_host_connections", 2));
+    });
+
+    private final Path directory;
+    private final List<Item> items = new ArrayList<>();
+    private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+    private final AtomicLong progress = new AtomicLong();
+    private final AtomicLong transferred = new AtomicLong();
+
+    /**
+     * Creates a bulk download.
+     * @param directory the directory to download into
+     */
+    public BulkDownload(final Path directory) {
+        this.directory = directory.toAbsolutePath().normalize();
+    }
+
+    public static int getThreads() {
+        settings.load();
+        return threads;
+    }
+
+    public static void setThreads(final int threads) {
+        settings.load();
+        BulkDownload.threads = Math.max(1, threads);
+    }
+
+    public static int getHostConnections() {
+        settings.load();
+        return hostConnections;
+    }
+
+    public static void setHostConnections(final int hostConnections) {
+        settings.load();
+        BulkDownload.hostConnections = Math.max(1, hostConnections);
+    }
+
+    /**
+     * Adds a file to download.
+     * @param url         the url of the file
+     * @param checksumUrl the url of the sha-256 checksum file or null if the file has none
+     * @param size        the expected size of the file in bytes
+     * @return this instance for method chaining
+     * @throws MalformedURLException if the url is invalid
+     */
+    public BulkDownload add(final String url, final String checksumUrl, final long size)
+            throws MalformedURLException {
+        final URL parsed = new URL(url);
+        final Path target = directory.resolve(parsed.getPath().replaceFirst("^/+", "")).normalize();
+
+        if(!target.startsWith(directory) || target.equals(directory)) {
+            throw new MalformedURLException("Invalid download path: " + url);
+        }
+
+        items.add(new Item(parsed, checksumUrl, size, target));
+        return this;
+    }
+
+    /**
+     * Returns the number of files to download.
+     * @return the number of files
+     */
+    public int getCount() {
+        return items.size();
+    }
+
+    /**
+     * Returns the combined size of every file.
+     * @return the size in bytes
+     */
+    public long getTotalSize() {
+        return items.stream().mapToLong(item -> item.size).sum();
+    }
+
+    /**
+     * Downloads every file and waits for all of them to finish.
+     * @param onProgress receives the combined number of bytes that are done, including skipped files
+     * @return the result of the bulk download
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public Result run(final LongConsumer onProgress) throws InterruptedException {
+        final List<Item> ordered = new ArrayList<>(items);
+        //Largest first, the pool queue is FIFO so this is also the order the downloads start in
+        ordered.sort(Comparator.comparingLong((Item item) -> item.size).reversed());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(getThreads(), Math.max(1, items.size())),
+                Utils.newDaemonThreadFactory("jupdate-bulk-download"));
+        final Map<Item, Future<Boolean>> futures = new LinkedHashMap<>();
+        final long started = System.nanoTime();
+
+        progress.set(0);
+        transferred.set(0);
+
+        try {
+            for(final Item item : ordered) {
+                futures.put(item, executor.submit(() -> download(item, onProgress)));
+            }
+
+            int skipped = 0;
+            final Map<String, String> failed = new LinkedHashMap<>();
+
+            for(final Map.Entry<Item, Future<Boolean>> entry : futures.entrySet()) {
+                try {
+                    if(!entry.getValue().get()) skipped++;
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    logger.debug("Bulk download failed: " + entry.getKey().url, cause);
+                    failed.put(entry.getKey().url.toString(),
+                            cause.getMessage() == null ? cause.toString() : cause.getMessage());
+                }
+            }
+
+            return new Result(items.size() - skipped - failed.size(), skipped, failed,
+                    transferred.get(), System.nanoTime() - started);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Downloads a single file unless it is already present.
+     * @return true if the file was downloaded, false if it was already present
+     */
+    private boolean download(final Item item, final LongConsumer onProgress) throws Exception {
+        if(isPresent(item)) {
+            logger.debug("Already present: " + item.target);
+            onProgress.accept(progress.addAndGet(item.size));
+            return false;
+        }
+
+        final Semaphore host = hosts.computeIfAbsent(item.url.getHost(), key -> new Semaphore(getHostConnections()));
+        host.acquire();
+
+        try(final HTTPDownload download = new HTTPDownload(item.target.getParent().toString(), item.url)) {
+            Files.createDirectories(item.target.getParent());
+
+            final long[] last = new long[1];
+            download.verifySha256(item.checksumUrl).addListener(new DownloadListener() {
+                @Override
+                public void started(final HTTPDownload download, final long size, final long downloaded) {
+                    //A resumed part file or a stored artifact counts as done but was not transferred
+                    onProgress.accept(progress.addAndGet(downloaded - last[0]));
+                    last[0] = downloaded;
+                }
+
+                @Override
+                public void progress(final HTTPDownload download, final long downloaded, final long size) {
+                    transferred.addAndGet(downloaded - last[0]);
+                    onProgress.accept(progress.addAndGet(downloaded - last[0]));
+                    last[0] = downloaded;
+                }
+            });
+
+            final DownloadResult result = download.download().getResult().get();
+
+            if(!result.isComplete()) {
+                //Take back the progress of the failed download so the total stays accurate
+                onProgress.accept(progress.addAndGet(-last[0]));
+                throw new IOException(result.getErrorMessage().orElse("Download " + result.getStatus()));
+            }
+
+            return true;
+        } finally {
+            host.release();
+        }
+    }
+
+    private static boolean isPresent(final Item item) throws IOException {
+        if(!Files.isRegularFile(item.target) || Files.size(item.target) != item.size) return false;
+
+        if(item.checksumUrl == null) return true;
+
+        final Optional<String> expected = HTTPDownload.fetchSha256(item.checksumUrl);
+
+        //Without the checksum the size is the best evidence there is
+        return !expected.isPresent() || expected.get().equalsIgnoreCase(HTTPDownload.sha256(item.target));
+    }
+
+    private static final class Item {
+        private final URL url;
+        private final String checksumUrl;
+        private final long size;
+        private final Path target;
+
+        private Item(final URL url, final String checksumUrl, final long size, final Path target) {
+            this.url = url;
+            this.checksumUrl = checksumUrl;
+            this.size = size;
+            this.target = target;
+        }
+    }
+
+    /** The outcome of a {@link BulkDownload} once every file has finished. */
+    public static final class Result {
+        private final int downloaded;
+        private final int skipped;
+        private final Map<String, String> failed;
+        private final long transferred;
+        private final long elapsedNanos;
+
+        private Result(final int downloaded, final int skipped, final Map<String, String> failed,
+                       final long transferred, final long elapsedNanos) {
+            this.downloaded = downloaded;
+            this.skipped = skipped;
+            this.failed = Collections.unmodifiableMap(failed);
+            this.transferred = transferred;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getDownloaded() {
+            return downloaded;
+        }
+
+        public int getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * Returns the error message of every file that failed to download.
+         * @return the error messages, keyed by url
+         */
+        public Map<String, String> getFailed() {
+            return failed;
+        }
+
+        /**
+         * Returns the number of bytes received over the network.
+         * @return the number of bytes
+         */
+        public long getTransferred() {
+            return transferred;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        /**
+         * Returns the combined download speed of every worker.
+         * @return the speed in bytes per second
+         */
+        public long getThroughput() {
+            return elapsedNanos == 0 ? 0 : (long) (transferred * 1_000_000_000d / elapsedNanos);
+        }
+    }
+}
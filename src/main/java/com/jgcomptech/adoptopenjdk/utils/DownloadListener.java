@@ -0,0 +1,35 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import com.jgcomptech.adoptopenjdk.enums.DLStatus;
+
+/**
+ * Receives the events of an {@link HTTPDownload}.
+ *
+ * <p>Events are called on the download threads. Progress events are coalesced so a listener is called
+ * at most every {@link HTTPDownload#getProgressInterval() progress interval}, plus once when the last byte
+ * is written, no matter how many writes happened in between.</p>
+ */
+public interface DownloadListener {
+    /**
+     * Called when the size of the download is known.
+     * @param download   the download
+     * @param size       the size of the file in bytes
+     * @param downloaded the number of bytes kept from an earlier attempt
+     */
+    default void started(final HTTPDownload download, final long size, final long downloaded) { }
+
+    /**
+     * Called as bytes are written to the file.
+     * @param download   the download
+     * @param downloaded the number of bytes written so far
+     * @param size       the size of the file in bytes
+     */
+    default void progress(final HTTPDownload download, final long downloaded, final long size) { }
+
+    /**
+     * Called when the status of the download changes.
+     * @param download the download
+     * @param status   the new status
+     */
+    default void statusChanged(final HTTPDownload download, final DLStatus status) { }
+}
@@ -0,0 +1,81 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import com.jgcomptech.adoptopenjdk.enums.DLStatus;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Optional;
+
+/** The outcome of an {@link HTTPDownload} once it has stopped. */
+public final class DownloadResult {
+    private final String url;
+    private final DLStatus status;
+    private final String filepath;
+    private final long size;
+    private final long downloaded;
+    private final String errorMessage;
+    private final String sha256;
+
+    DownloadResult(final String url, final DLStatus status, final String filepath, final long size,
+                   final long downloaded, final String errorMessage, final String sha256) {
+        this.url = url;
+        this.status = status;
+        this.filepath = filepath;
+        this.size = size;
+        this.downloaded = downloaded;
+        this.errorMessage = errorMessage;
+        this.sha256 = sha256;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Returns the status the download stopped with.
+     * @return {@link DLStatus#COMPLETE}, {@link DLStatus#PAUSED}, {@link DLStatus#CANCELLED} or {@link DLStatus#ERROR}
+     */
+    public DLStatus getStatus() {
+        return status;
+    }
+
+    public boolean isComplete() {
+        return status == DLStatus.COMPLETE;
+    }
+
+    public String getFilepath() {
+        return filepath;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getDownloaded() {
+        return downloaded;
+    }
+
+    public Optional<String> getErrorMessage() {
+        return Optional.ofNullable(errorMessage);
+    }
+
+    /**
+     * Returns the SHA-256 of the file if it was verified.
+     * @return the lowercase hex SHA-256 or empty if the file was not verified
+     */
+    public Optional<String> getSha256() {
+        return Optional.ofNullable(sha256);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("url", url)
+                .append("status", status)
+                .append("filepath", filepath)
+                .append("size", size)
+                .append("downloaded", downloaded)
+                .append("errorMessage", errorMessage)
+                .append("sha256", sha256)
+                .toString();
+    }
+}
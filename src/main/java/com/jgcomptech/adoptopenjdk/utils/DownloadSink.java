@@ -0,0 +1,173 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The ways a download can copy a response body into a file.
+ *
+ * <p>Every sink copies in large chunks and calls the {@link WriteListener} once per chunk, so a download
+ * does not allocate or notify for every few kilobytes read. The fastest sink depends on the platform, so it
+ * can be picked with the {@code download_sink} property and compared with {@code DownloadSinkBenchmark}.
+ * Every read is first taken from the global {@link BandwidthLimiter}.</p>
+ */
+public enum DownloadSink {
+    /** Reads into a reusable heap buffer and writes it with {@link FileChannel#write(ByteBuffer, long)}. */
+    HEAP_BUFFER("heap") {
+        @Override
+        public long copy(final InputStream in, final FileChannel channel, final long position, final long limit,
+                         final BooleanSupplier isActive, final WriteListener listener) throws IOException {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            final BandwidthLimiter limiter = BandwidthLimiter.getGlobal();
+            long written = 0;
+
+            while(written < limit && isActive.getAsBoolean()) {
+                final int allowed = limiter.acquire((int) Math.min(buffer.length, limit - written));
+                final int read = in.read(buffer, 0, allowed);
+                limiter.release(allowed - Math.max(read, 0));
+                if(read == -1) break;
+
+                byteBuffer.clear().limit(read);
+                written += write(byteBuffer, channel, position + written, listener);
+            }
+
+            return written;
+        }
+    },
+    /** Reads into a pooled direct buffer so the write to the file does not need another copy. */
+    DIRECT_BUFFER("direct") {
+        @Override
+        public long copy(final InputStream in, final FileChannel channel, final long position, final long limit,
+                         final BooleanSupplier isActive, final WriteListener listener) throws IOException {
+            final ReadableByteChannel source = Channels.newChannel(in);
+            final ByteBuffer buffer = acquireDirectBuffer();
+            final BandwidthLimiter limiter = BandwidthLimiter.getGlobal();
+            long written = 0;
+
+            try {
+                while(written < limit && isActive.getAsBoolean()) {
+                    final int allowed = limiter.acquire((int) Math.min(buffer.capacity(), limit - written));
+                    buffer.clear().limit(allowed);
+
+                    //Fill the buffer so each write to the file is as large as possible
+                    int read = 0;
+                    while(buffer.hasRemaining() && read != -1) read = source.read(buffer);
+                    limiter.release(allowed - buffer.position());
+                    if(buffer.position() == 0) break;
+
+                    buffer.flip();
+                    written += write(buffer, channel, position + written, listener);
+
+                    if(read == -1) break;
+                }
+            } finally {
+                DIRECT_BUFFERS.offer(buffer);
+            }
+
+            return written;
+        }
+    },
+    /** Hands the copy to {@link FileChannel#transferFrom(ReadableByteChannel, long, long)}. */
+    TRANSFER_FROM("transfer") {
+        @Override
+        public long copy(final InputStream in, final FileChannel channel, final long position, final long limit,
+                         final BooleanSupplier isActive, final WriteListener listener) throws IOException {
+            final ReadableByteChannel source = Channels.newChannel(in);
+            final BandwidthLimiter limiter = BandwidthLimiter.getGlobal();
+            long written = 0;
+
+            while(written < limit && isActive.getAsBoolean()) {
+                final int allowed = limiter.acquire((int) Math.min(BUFFER_SIZE, limit - written));
+                final long transferred = channel.transferFrom(source, position + written, allowed);
+                limiter.release(allowed - (int) transferred);
+                //A transfer of 0 bytes means the stream has ended
+                if(transferred == 0) break;
+
+                listener.written(position + written, (int) transferred);
+                written += transferred;
+            }
+
+            return written;
+        }
+    };
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final ConcurrentLinkedQueue<ByteBuffer> DIRECT_BUFFERS = new ConcurrentLinkedQueue<>();
+
+    private final String value;
+
+    DownloadSink(final String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Copies the stream into the channel until the stream ends, the limit is reached or the download stops.
+     * @param in       the response body
+     * @param channel  the file to write to
+     * @param position the position in the file of the first byte
+     * @param limit    the maximum number of bytes to copy
+     * @param isActive returns false once the download is paused or cancelled
+     * @param listener receives every write to the file
+     * @return the number of bytes copied
+     * @throws IOException if an error occurs
+     */
+    public abstract long copy(InputStream in, FileChannel channel, long position, long limit,
+                              BooleanSupplier isActive, WriteListener listener) throws IOException;
+
+    /**
+     * Returns the sink with the specified property value.
+     * @param value the value, for example {@code direct}
+     * @return the sink or empty if the value is not recognized
+     */
+    public static Optional<DownloadSink> parse(final String value) {
+        final String lower = value.trim().toLowerCase(Locale.ROOT);
+
+        for(final DownloadSink sink : values()) {
+            if(sink.value.equals(lower) || sink.name().equalsIgnoreCase(lower)) return Optional.of(sink);
+        }
+
+        return Optional.empty();
+    }
+
+    private static int write(final ByteBuffer buffer, final FileChannel channel, final long position,
+                             final WriteListener listener) throws IOException {
+        final int length = buffer.remaining();
+        long current = position;
+
+        while(buffer.hasRemaining()) {
+            current += channel.write(buffer, current);
+        }
+
+        listener.written(position, length);
+        return length;
+    }
+
+    private static ByteBuffer acquireDirectBuffer() {
+        final ByteBuffer buffer = DIRECT_BUFFERS.poll();
+        return buffer == null ? ByteBuffer.allocateDirect(BUFFER_SIZE) : buffer;
+    }
+
+    /** Receives every write a download makes to the file. */
+    @FunctionalInterface
+    public interface WriteListener {
+        /**
+         * Called after bytes have been written to the file.
+         * @param position the position of the first byte written
+         * @param length   the number of bytes written
+         */
+        void written(long position, int length);
+    }
+}
@@ -0,0 +1,85 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Helper methods for size-bounded on-disk caches that use the file modification time as the last access time.
+ */
+public final class FileCacheUtils {
+    private static final Logger logger = LoggerFactory.getLogger(FileCacheUtils.class);
+
+    private FileCacheUtils() { }
+
+    /**
+     * Marks the specified file as recently used.
+     * @param file the file to mark
+     */
+    public static void touch(final Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (final IOException e) {
+            logger.debug("Unable to update cache file time: " + file, e);
+        }
+    }
+
+    /**
+     * Deletes the least recently used files in the specified directory tree
+     * until the total size is no larger than the specified maximum.
+     * Temporary {@code .tmp} files are still being written and are never evicted.
+     * @param directory the cache directory
+     * @param maxSize   the maximum total size in bytes
+     * @throws IOException if an error occurs
+     */
+    public static void evictLeastRecentlyUsed(final Path directory, final long maxSize) throws IOException {
+        if(!Files.isDirectory(directory)) return;
+
+        final List<CacheFile> files = new ArrayList<>();
+
+        try(final Stream<Path> paths = Files.walk(directory)) {
+            for(final Path path : paths.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().endsWith(".tmp"))
+                    .collect(Collectors.toList())) {
+                final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                files.add(new CacheFile(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+            }
+        }
+
+        long total = files.stream().mapToLong(f -> f.size).sum();
+
+        if(total <= maxSize) return;
+
+        files.sort(Comparator.comparingLong(f -> f.lastUsed));
+
+        for(final CacheFile file : files) {
+            if(total <= maxSize) break;
+            if(Files.deleteIfExists(file.path)) {
+                total -= file.size;
+                logger.debug("Evicted cache file: " + file.path);
+            }
+        }
+    }
+
+    private static final class CacheFile {
+        private final Path path;
+        private final long size;
+        private final long lastUsed;
+
+        private CacheFile(final Path path, final long size, final long lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import com.jgcomptech.adoptopenjdk.api.SettingsSection;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getBoolean;
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getLong;
+
+/**
+ * A persistent on-disk cache for API responses that supports conditional requests.
+ *
+ * <p>Entries are keyed by the request URL with any credentials removed and store the response body
+ * together with its {@code ETag}, {@code Last-Modified} and {@code Link} headers. The headers and the body
+ * are kept in one file that is replaced with an atomic move, so a reader never sees the headers of one
+ * response with the body of another. The cache is kept below the configured maximum size by evicting the
+ * least recently used entries.</p>
+ */
+public final class HTTPCache {
+    private static final Logger logger = LoggerFactory.getLogger(HTTPCache.class);
+    private static final Pattern CREDENTIALS =
+            Pattern.compile("([?&])(client_id|client_secret|access_token)=[^&]*&?");
+    private static final Pattern LINK_URL = Pattern.compile("<([^>]*)>");
+
+    private static boolean enabled;
+    private static Path directory;
+    private static long maxSize;
+    private static long timeToLive;
+    //Settings for the on-disk cache of API responses
+    private static final SettingsSection settings = new SettingsSection(properties -> {
+        enabled = getBoolean(properties, "http_cache_enabled", true);
+        directory = Paths.get(properties.getProperty("http_cache_dir",
+                Paths.get(System.getProperty("user.home"), ".jupdate", "http-cache").toString()));
+        maxSize = getLong(properties, "http_cache_max_size_mb", 50) * 1024 * 1024;
+        timeToLive = getLong(properties, "http_cache_ttl", 0);
+    });
+
+    private HTTPCache() { }
+
+    public static boolean isEnabled() {
+        settings.load();
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        settings.load();
+        HTTPCache.enabled = enabled;
+    }
+
+    public static Path getDirectory() {
+        settings.load();
+        return directory;
+    }
+
+    public static void setDirectory(final Path directory) {
+        settings.load();
+        HTTPCache.directory = directory;
+    }
+
+    public static long getMaxSize() {
+        settings.load();
+        return maxSize;
+    }
+
+    public static void setMaxSize(final long maxSize) {
+        settings.load();
+        HTTPCache.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the number of seconds a cached response is used without revalidating it with the server.
+     * @return the number of seconds, 0 means every use is revalidated
+     */
+    public static long getTimeToLive() {
+        settings.load();
+        return timeToLive;
+    }
+
+    public static void setTimeToLive(final long timeToLive) {
+        settings.load();
+        HTTPCache.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns the URL with any credentials removed from the query string.
+     * @param url the url
+     * @return the url without credentials
+     */
+    public static String stripCredentials(final String url) {
+        String stripped = url;
+        String last;
+
+        do {
+            last = stripped;
+            stripped = CREDENTIALS.matcher(stripped).replaceFirst("$1");
+        } while(!stripped.equals(last));
+
+        while(stripped.endsWith("&") || stripped.endsWith("?")) {
+            stripped = stripped.substring(0, stripped.length() - 1);
+        }
+
+        return stripped;
+    }
+
+    /**
+     * Returns the Link header with any credentials removed from the URLs in it, GitHub repeats the query
+     * string of the request in the page links.
+     * @param link the Link header
+     * @return the Link header without credentials
+     */
+    public static String stripLinkCredentials(final String link) {
+        final Matcher matcher = LINK_URL.matcher(link);
+        final StringBuffer stripped = new StringBuffer();
+
+        while(matcher.find()) {
+            matcher.appendReplacement(stripped, Matcher.quoteReplacement('<' + stripCredentials(matcher.group(1)) + '>'));
+        }
+
+        return matcher.appendTail(stripped).toString();
+    }
+
+    /**
+     * Returns the cached response for the specified URL.
+     * @param url the request url
+     * @return the cached response or empty if the url is not cached
+     */
+    public static Optional<Entry> get(final String url) {
+        if(!isEnabled()) return Optional.empty();
+
+        final Path file = getDirectory().resolve(getKey(url) + ".entry");
+
+        if(!Files.isRegularFile(file)) return Optional.empty();
+
+        final Entry entry;
+
+        try {
+            entry = Entry.read(file);
+        } catch (final IOException | IllegalArgumentException e) {
+            logger.debug("Unable to read cache entry: " + file, e);
+            return Optional.empty();
+        }
+
+        FileCacheUtils.touch(file);
+
+        return Optional.of(entry);
+    }
+
+    /**
+     * Stores the response body and headers for the specified URL.
+     * @param url          the request url
+     * @param body         the response body stream
+     * @param etag         the ETag header or null
+     * @param lastModified the Last-Modified header or null
+     * @param link         the Link header or null
+     * @return the stored cache entry
+     * @throws IOException if an error occurs
+     */
+    public static Entry put(final String url, final InputStream body,
+                            final String etag, final String lastModified, final String link) throws IOException {
+        Files.createDirectories(getDirectory());
+
+        final Properties properties = new Properties();
+        properties.setProperty("url", stripCredentials(url));
+        properties.setProperty("stored_at", String.valueOf(System.currentTimeMillis()));
+        if(etag != null) properties.setProperty("etag", etag);
+        if(lastModified != null) properties.setProperty("last_modified", lastModified);
+        if(link != null) properties.setProperty("link", stripLinkCredentials(link));
+
+        final Entry entry = new Entry(getDirectory().resolve(getKey(url) + ".entry"), properties,
+                IOUtils.toByteArray(body));
+        entry.write();
+
+        FileCacheUtils.evictLeastRecentlyUsed(getDirectory(), getMaxSize());
+
+        return entry;
+    }
+
+    private static String getKey(final String url) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(stripCredentials(url).getBytes(StandardCharsets.UTF_8));
+            final StringBuilder builder = new StringBuilder(hash.length * 2);
+            for(final byte b : hash) {
+                builder.append(String.format("%02x", b));
+            }
+            return builder.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A single cached response.
+     *
+     * <p>The entry file starts with the length of the headers on a line of its own,
+     * followed by the headers in properties format and then the body.</p>
+     */
+    public static final class Entry {
+        private final Path file;
+        private final Properties properties;
+        private final byte[] body;
+
+        private Entry(final Path file, final Properties properties, final byte[] body) {
+            this.file = file;
+            this.properties = properties;
+            this.body = body;
+        }
+
+        private static Entry read(final Path file) throws IOException {
+            final byte[] bytes = Files.readAllBytes(file);
+
+            int start = 0;
+            while(start < bytes.length && bytes[start] != '\n') start++;
+
+            final int length = Integer.parseInt(new String(bytes, 0, start, StandardCharsets.US_ASCII));
+            start++;
+
+            if(length < 0 || start + length > bytes.length) throw new IOException("Incomplete cache entry!");
+
+            final Properties properties = new Properties();
+            properties.load(new InputStreamReader(new ByteArrayInputStream(bytes, start, length),
+                    StandardCharsets.UTF_8));
+
+            return new Entry(file, properties, Arrays.copyOfRange(bytes, start + length, bytes.length));
+        }
+
+        //Written to a temporary file first so the entry is replaced in a single atomic move
+        private void write() throws IOException {
+            final StringWriter headers = new StringWriter();
+            properties.store(headers, null);
+            final byte[] header = headers.toString().getBytes(StandardCharsets.UTF_8);
+
+            final Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+            try {
+                try(final OutputStream out = Files.newOutputStream(temp)) {
+                    out.write((header.length + "\n").getBytes(StandardCharsets.US_ASCII));
+                    out.write(header);
+                    out.write(body);
+                }
+
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (final AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        /**
+         * Returns a new stream that reads the response body.
+         * @return the response body stream
+         */
+        public InputStream openBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        /**
+         * Returns the size of the response body.
+         * @return the size in bytes
+         */
+        public long getBodySize() {
+            return body.length;
+        }
+
+        public Optional<String> getETag() {
+            return Optional.ofNullable(properties.getProperty("etag"));
+        }
+
+        public Optional<String> getLastModified() {
+            return Optional.ofNullable(properties.getProperty("last_modified"));
+        }
+
+        public Optional<String> getLink() {
+            return Optional.ofNullable(properties.getProperty("link"));
+        }
+
+        /**
+         * Returns true if the entry is younger than the configured time to live
+         * and can be used without revalidating it with the server.
+         * @return true if the entry can be used without revalidating it
+         */
+        public boolean isFresh() {
+            final long storedAt = Long.parseLong(properties.getProperty("stored_at", "0"));
+            return System.currentTimeMillis() - storedAt < TimeUnit.SECONDS.toMillis(getTimeToLive());
+        }
+
+        /**
+         * Marks the entry as revalidated by the server, restarting its time to live.
+         */
+        public void revalidated() {
+            properties.setProperty("stored_at", String.valueOf(System.currentTimeMillis()));
+
+            try {
+                write();
+            } catch (final IOException e) {
+                logger.debug("Unable to update cache entry: " + file, e);
+            }
+        }
+    }
+}
@@ -2,40 +2,103 @@ package com.jgcomptech.adoptopenjdk.utils;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.jgcomptech.adoptopenjdk.api.SettingsSection;
 import com.jgcomptech.adoptopenjdk.enums.DLStatus;
 import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.RandomAccessFile;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Observable;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getInt;
 import static com.jgcomptech.adoptopenjdk.enums.DLStatus.*;
 import static com.jgcomptech.adoptopenjdk.utils.Utils.isBoolean;
 
-public class HTTPDownload extends Observable implements AutoCloseable, Runnable {
-    // Max size of download buffer.
-    private static final int MAX_BUFFER_SIZE = 1024;
+/**
+ * Downloads a file or an API response.
+ *
+ * <p>A file download runs on its own thread once {@link #download()} is called. Its progress is reported
+ * to the {@link DownloadListener}s and {@link #getResult()} completes when it stops, so callers can wait
+ * for it without polling.</p>
+ */
+public class HTTPDownload implements AutoCloseable, Runnable {
+    // Files smaller than this per segment are downloaded over a single connection.
+    private static final int MIN_SEGMENT_SIZE = 1024 * 1024;
+    // How often the state of a partial download is saved in milliseconds.
+    private static final long STATE_SAVE_INTERVAL = 1000;
+    private static final Logger logger = LoggerFactory.getLogger(HTTPDownload.class);
+    private static final ExecutorService CHECKSUM_EXECUTOR =
+            Executors.newCachedThreadPool(Utils.newDaemonThreadFactory("jupdate-checksum"));
+
+    private static int segments;
+    private static DownloadSink sink;
+    private static long progressInterval = 100;
+    private static int maxTransfers;
+    private static volatile Semaphore transfers;
+    //Number of connections used to download a release, 1 disables segmented downloads, how the response is
+    //written to disk and the number of files downloaded at once, 0 means there is no limit
+    private static final SettingsSection settings = new SettingsSection(properties -> {
+        segments = Math.max(1, getInt(properties, "download_segments", 4));
+        sink = DownloadSink.parse(properties.getProperty("download_sink", "")).orElse(DownloadSink.DIRECT_BUFFER);
+        maxTransfers = Math.max(0, getInt(properties, "max_concurrent_downloads", 0));
+        transfers = maxTransfers > 0 ? new Semaphore(maxTransfers, true) : null;
+    });
 
     private final URL url; // download URL
     private String path;
-    private int size; // size of download in bytes
-    private int downloaded; // number of bytes downloaded
-    private DLStatus status; // current status of download
-    private String errorMessage; //the error message if an error occurs
-    private String filename;
-    private String filepath;
+    private volatile int size; // size of download in bytes
+    private volatile int downloaded; // number of bytes downloaded
+    private volatile DLStatus status; // current status of download
+    private volatile String errorMessage; //the error message if an error occurs
+    private volatile String filename;
+    private volatile String filepath;
     private RandomAccessFile file = null;
     private InputStream stream = null;
     private HttpURLConnection connection;
+    private HTTPCache.Entry cachedResponse;
+    private byte[] responseBody;
+    private SegmentedDownload segmentedDownload;
+    private PartialDownload partial;
+    private long lastSaved;
+    private int attempt; // number of retries of the current request
+    private String checksumUrl;
+    private CompletableFuture<Optional<String>> checksum;
+    private MessageDigest digest;
+    private long digested; // number of bytes from the start of the file the digest covers
+    private volatile String sha256;
+    private volatile String storedSha256; // published checksum of the file once it is known to be in the store
+    private boolean verified;
+    private final List<DownloadListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile CompletableFuture<DownloadResult> result = new CompletableFuture<>();
+    private long lastProgress;
 
     private enum Type {
         FileDownload,
@@ -69,6 +132,61 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
         this.url = url;
     }
 
+    /**
+     * Returns the number of connections used to download a file.
+     * @return the number of connections, 1 means files are always downloaded over a single connection
+     */
+    public static int getSegments() {
+        settings.load();
+        return segments;
+    }
+
+    public static void setSegments(final int segments) {
+        settings.load();
+        HTTPDownload.segments = Math.max(1, segments);
+    }
+
+    /**
+     * Returns the way downloads copy the response into the file.
+     * @return the download sink
+     */
+    public static DownloadSink getSink() {
+        settings.load();
+        return sink;
+    }
+
+    public static void setSink(final DownloadSink sink) {
+        settings.load();
+        HTTPDownload.sink = sink;
+    }
+
+    /**
+     * Returns the minimum time between two progress events of a download.
+     * @return the time in milliseconds
+     */
+    public static long getProgressInterval() {
+        return progressInterval;
+    }
+
+    public static void setProgressInterval(final long progressInterval) {
+        HTTPDownload.progressInterval = progressInterval;
+    }
+
+    /**
+     * Returns the number of files the process downloads at the same time, a segmented download counts once.
+     * @return the number of files, 0 means there is no limit
+     */
+    public static int getMaxTransfers() {
+        settings.load();
+        return maxTransfers;
+    }
+
+    public static void setMaxTransfers(final int maxTransfers) {
+        settings.load();
+        HTTPDownload.maxTransfers = Math.max(0, maxTransfers);
+        transfers = HTTPDownload.maxTransfers > 0 ? new Semaphore(HTTPDownload.maxTransfers, true) : null;
+    }
+
     // Get this download's URL.
     public String getUrl() {
         return url.toString();
@@ -94,6 +212,35 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
         return status;
     }
 
+    /**
+     * Returns the number of bytes downloaded by each segment of a segmented download.
+     * @return the number of bytes downloaded indexed by segment, a single stream download has one segment
+     */
+    public long[] getSegmentProgress() {
+        final SegmentedDownload segmented = segmentedDownload;
+        return segmented == null ? new long[] {downloaded} : segmented.getSegmentProgress();
+    }
+
+    /**
+     * Verifies the downloaded file against the SHA-256 checksum file at the specified URL before
+     * it is renamed into place. The checksum file is downloaded at the same time as the file.
+     * @param checksumUrl the url of the checksum file, for example the browser download url of a
+     *                    {@code .sha256.txt} asset, or null to skip verification
+     * @return this download
+     */
+    public HTTPDownload verifySha256(final String checksumUrl) {
+        this.checksumUrl = checksumUrl;
+        return this;
+    }
+
+    /**
+     * Returns the SHA-256 of the downloaded file if it was verified.
+     * @return the lowercase hex SHA-256 or empty if the file was not verified
+     */
+    public Optional<String> getSha256() {
+        return Optional.ofNullable(sha256);
+    }
+
     public String getErrorMessage() {
         return errorMessage;
     }
@@ -111,24 +258,49 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
         return filepath;
     }
 
+    // Get the value of a response header from the last request.
+    public Optional<String> getResponseHeader(final String name) {
+        if (cachedResponse != null && "Link".equalsIgnoreCase(name)) return cachedResponse.getLink();
+        return connection == null ? Optional.empty() : Optional.ofNullable(connection.getHeaderField(name));
+    }
+
+    public HTTPDownload addListener(final DownloadListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public HTTPDownload removeListener(final DownloadListener listener) {
+        listeners.remove(listener);
+        return this;
+    }
+
+    /**
+     * Returns the result of the last call to {@link #download()}, which completes once the download
+     * stops because it is complete, paused, cancelled or failed.
+     * @return the result
+     */
+    public CompletableFuture<DownloadResult> getResult() {
+        return result;
+    }
+
     // Pause this download.
     public HTTPDownload pause() {
         status = PAUSED;
-        stateChanged();
+        fireStatusChanged();
         return this;
     }
 
     // Resume this download.
     public HTTPDownload resume() {
         status = DOWNLOADING;
-        stateChanged();
+        fireStatusChanged();
         return download();
     }
 
     // Cancel this download.
     public HTTPDownload cancel() {
         status = CANCELLED;
-        stateChanged();
+        fireStatusChanged();
         return this;
     }
 
@@ -136,7 +308,7 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
     private void error(final String errorMessage) {
         status = ERROR;
         this.errorMessage = errorMessage;
-        stateChanged();
+        fireStatusChanged();
     }
 
     @Override
@@ -158,6 +330,8 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
 
     // Start or resume downloading.
     public HTTPDownload download() {
+        if (result.isDone()) result = new CompletableFuture<>();
+
         preStart();
 
         new Thread(this).start();
@@ -166,66 +340,481 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
     }
 
     private void connect() throws IOException {
+        connect(null);
+    }
+
+    private void connect(final HTTPCache.Entry cached) throws IOException {
         // Open connection to URL.
         connection = (HttpURLConnection) url.openConnection();
 
+        // Only ask for the body if it changed since it was cached.
+        if (cached != null) {
+            cached.getETag().ifPresent(etag -> connection.setRequestProperty("If-None-Match", etag));
+            cached.getLastModified().ifPresent(date -> connection.setRequestProperty("If-Modified-Since", date));
+        }
+
         // Specify what portion of file to download.
         connection.setRequestProperty("Range", "bytes=" + downloaded + "-");
 
+        // Only continue a partial download if the file has not changed since it was started.
+        if (downloaded > 0 && partial != null && partial.getValidator() != null) {
+            connection.setRequestProperty("If-Range", partial.getValidator());
+        }
+
         // Connect to server.
         connection.connect();
     }
 
     // Download file.
     public void run() {
-        Path filePath;
+        Semaphore permit = null;
 
         try {
-            connect();
-
-            // Make sure response code is in the 200 range.
-            processResponseCode(connection.getResponseCode(), Type.FileDownload);
+            filename = parseFilename(url);
+            filepath = path + filename;
+            partial = PartialDownload.open(Paths.get(filepath), getUrl());
 
-            // Check for valid content length.
-            int contentLength = connection.getContentLength();
-            if (contentLength < 1) error("Invalid Content Length!");
+            // The checksum file is small so it is downloaded while the file itself downloads.
+            if (checksumUrl != null) {
+                checksum = CompletableFuture.supplyAsync(() -> fetchSha256(checksumUrl), CHECKSUM_EXECUTOR);
+            }
 
-            //Set the size for this download if it hasn't been already set.
-            if (size == -1) {
-                size = contentLength;
-                stateChanged();
+            // The store is looked up once the checksum arrives, a transfer that already started stops then.
+            if (checksum != null && ArtifactStore.isEnabled()) {
+                checksum.thenAccept(expected -> expected
+                        .filter(sha -> ArtifactStore.get(sha).isPresent())
+                        .ifPresent(sha -> storedSha256 = sha));
             }
 
-            filename = parseFilename(url);
-            filepath = path + filename;
+            permit = acquireTransfer();
+            if (status != DOWNLOADING) return;
 
-            // Open file and seek to the end of it.
-            filePath = Paths.get(filepath);
+            for (attempt = 0; ; attempt++) {
+                try {
+                    if (copyFromStore()) return;
+                    transfer();
+                    break;
+                } catch (final IOException e) {
+                    saveState();
+                    closeTransfer();
 
-            file = new RandomAccessFile(filePath.toFile(), "rw");
-            file.seek(downloaded);
+                    // A file that can not be written will not become writable by asking the server again.
+                    if (e instanceof FileNotFoundException || e instanceof FileSystemException) throw e;
 
-            stream = connection.getInputStream();
-            while (status == DOWNLOADING) {
-                // Size buffer according to how much of the file is left to download.
-                byte[] buffer = size - downloaded > MAX_BUFFER_SIZE
-                        ? new byte[MAX_BUFFER_SIZE]
-                        : new byte[size - downloaded];
+                    final long delay = e instanceof RetryPolicy.RetryableResponseException
+                            ? ((RetryPolicy.RetryableResponseException) e).getDelay()
+                            : RetryPolicy.getDelay(attempt);
 
-                // Read from server into buffer.
-                int read = stream.read(buffer);
-                if (read == -1) break;
+                    if (status != DOWNLOADING || delay < 0) throw e;
 
-                // Write buffer to file.
-                file.write(buffer, 0, read);
-                downloaded += read;
-                stateChanged();
-            }
+                    // The next attempt continues from the bytes already in the part file.
+                    logger.debug("Retrying " + getUrl() + " in " + delay + "ms: " + e.getMessage());
+                    RetryPolicy.sleep(delay);
 
-            checkIfComplete();
+                    if (status != DOWNLOADING) return;
+                }
+            }
         } catch (final Exception e) {
+            saveState();
             error(e.getMessage());
+        } finally {
+            if (permit != null) permit.release();
+            result.complete(new DownloadResult(getUrl(), status, filepath, size, downloaded, errorMessage, sha256));
+        }
+    }
+
+    /**
+     * Waits until fewer than the maximum number of files are downloading.
+     * @return the permit to release once the download stops or null if there is no limit
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    private Semaphore acquireTransfer() throws InterruptedIOException {
+        settings.load();
+        final Semaphore current = transfers;
+
+        if (current == null) return null;
+
+        try {
+            // Stop waiting if the download is paused or cancelled in the meantime.
+            while (!current.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                if (status != DOWNLOADING) return null;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting to download!")
+                    .initCause(e);
+        }
+
+        return current;
+    }
+
+    /**
+     * Downloads the missing part of the file once, over several connections if the server allows it.
+     * @throws IOException if the download fails
+     */
+    private void transfer() throws IOException {
+        // A digest left over from a failed attempt may only cover part of the file.
+        digest = null;
+        digested = 0;
+
+        final HttpURLConnection probe = probe();
+
+        if (probe != null) {
+            final long contentLength = probe.getContentLengthLong();
+            final String etag = probe.getHeaderField("ETag");
+            final String lastModified = probe.getHeaderField("Last-Modified");
+
+            if (!partial.matches(contentLength, etag, lastModified)) {
+                partial.reset(contentLength, etag, lastModified);
+            }
+
+            if (getSegments() > 1 && "bytes".equalsIgnoreCase(probe.getHeaderField("Accept-Ranges"))
+                    && contentLength >= 2L * MIN_SEGMENT_SIZE && contentLength <= Integer.MAX_VALUE
+                    && downloadSegmented(contentLength)) {
+                if (!copyFromStore()) finish();
+                return;
+            }
+        } else if (partial.getValidator() == null) {
+            // Without a validator there is no way to tell if the part file belongs to the same file.
+            partial.reset(-1, null, null);
+        }
+
+        downloadSingle();
+        if (!copyFromStore()) finish();
+    }
+
+    // Close the response and the part file of a failed attempt.
+    private void closeTransfer() {
+        try {
+            if (stream != null) stream.close();
+            if (file != null) file.close();
+        } catch (final IOException e) {
+            logger.trace("Unable to close " + partial.getPartFile(), e);
+        }
+
+        stream = null;
+        file = null;
+    }
+
+    /**
+     * Sends a HEAD request for the size, validators and range support of the file.
+     * @return the finished connection or null if the request failed
+     */
+    private HttpURLConnection probe() {
+        if (getSegments() <= 1 && partial.getSize() == -1) return null;
+
+        HttpURLConnection probe = null;
+
+        try {
+            probe = (HttpURLConnection) url.openConnection();
+            probe.setRequestMethod("HEAD");
+
+            return probe.getResponseCode() == HttpURLConnection.HTTP_OK && probe.getContentLengthLong() > 0
+                    ? probe
+                    : null;
+        } catch (final IOException e) {
+            //The download itself reports any connection errors
+            return null;
+        } finally {
+            if (probe != null) probe.disconnect();
+        }
+    }
+
+    /**
+     * Downloads the file over a single connection, continuing from the written prefix of the part file.
+     * @throws IOException if an error occurs
+     */
+    private void downloadSingle() throws IOException {
+        downloaded = (int) partial.getCompletedPrefix();
+
+        if (downloaded > 0 && downloaded == partial.getSize()) {
+            // Every byte was written before the previous attempt stopped.
+            size = downloaded;
+            return;
+        }
+
+        connect();
+
+        // Make sure response code is in the 200 range, a server that is briefly unavailable is asked again.
+        final int code = connection.getResponseCode();
+        final long delay = RetryPolicy.getDelay(attempt, code, connection);
+        if (delay >= 0) throw new RetryPolicy.RetryableResponseException("Response code " + code + '!', delay);
+        if (!processResponseCode(code, Type.FileDownload)) return;
+
+        // Check for valid content length.
+        int contentLength = connection.getContentLength();
+        if (contentLength < 1) {
+            error("Invalid Content Length!");
+            return;
+        }
+
+        if (code != HttpURLConnection.HTTP_PARTIAL && downloaded > 0) {
+            // The server sent the whole file, either it ignored the range or the file changed.
+            downloaded = 0;
+        }
+
+        if (downloaded == 0) {
+            partial.reset(contentLength, connection.getHeaderField("ETag"),
+                    connection.getHeaderField("Last-Modified"));
+        }
+
+        size = downloaded + contentLength;
+        fireStarted();
+
+        // Open file and seek to the end of it.
+        file = new RandomAccessFile(partial.getPartFile().toFile(), "rw");
+        if (downloaded == 0) file.setLength(0);
+        file.seek(downloaded);
+        partial.save(null);
+
+        stream = connection.getInputStream();
+
+        if (checksum != null) {
+            // Hash the bytes kept from the previous attempt, then everything else as it is written.
+            digest = newSha256Digest();
+            hashFile(digest, downloaded);
+            stream = new DigestInputStream(stream, digest);
+        }
+
+        getSink().copy(stream, file.getChannel(), downloaded, size - downloaded, this::isTransferring, this::written);
+
+        // Every byte read from the response went through the digest.
+        if (digest != null && downloaded == size) digested = size;
+    }
+
+    /**
+     * Downloads the missing ranges of the file over several connections.
+     * @param contentLength the size of the file
+     * @return true if the ranges were downloaded, false if the server ignored the range requests
+     * @throws IOException if a segment fails to download
+     */
+    private boolean downloadSegmented(final long contentLength) throws IOException {
+        size = (int) contentLength;
+        downloaded = (int) partial.getCompleted();
+        fireStarted();
+
+        final SegmentedDownload segmented = new SegmentedDownload(url,
+                SegmentedDownload.split(partial.getMissingRanges(), getSegments(), MIN_SEGMENT_SIZE),
+                partial.getValidator(), getSink(), this::written, this::isTransferring);
+
+        file = new RandomAccessFile(partial.getPartFile().toFile(), "rw");
+        // Preallocate the file so every segment can write at its own position.
+        file.setLength(contentLength);
+        partial.save(null);
+        segmentedDownload = segmented;
+
+        if (segmented.download(file.getChannel())) return true;
+
+        // The server ignored the range requests, start over with a single connection.
+        segmentedDownload = null;
+        partial.reset(-1, null, null);
+        file.close();
+        file = null;
+        downloaded = 0;
+        fireStarted();
+        return false;
+    }
+
+    // Record bytes written to the part file and save the sidecar every so often.
+    private synchronized void written(final long position, final int length) {
+        partial.add(position, position + length - 1);
+        downloaded += length;
+
+        final long now = System.currentTimeMillis();
+        if (now - lastSaved >= STATE_SAVE_INTERVAL) {
+            lastSaved = now;
+            saveState();
+        }
+
+        // Progress events are coalesced, the last byte is always reported.
+        if (now - lastProgress >= progressInterval || downloaded >= size) {
+            lastProgress = now;
+            fireProgress();
+        }
+    }
+
+    // Save the sidecar so an interrupted download can continue later.
+    private synchronized void saveState() {
+        if (partial == null || partial.getCompleted() == 0) return;
+
+        try {
+            partial.save(file == null ? null : file.getChannel());
+        } catch (final IOException e) {
+            logger.debug("Unable to save download state: " + partial.getStateFile(), e);
+        }
+    }
+
+    // Rename the part file into place if every byte was written otherwise keep it for the next attempt.
+    private void finish() throws IOException {
+        if (status == DOWNLOADING && downloaded < size) {
+            throw new IOException("Download ended early at byte " + downloaded + " of " + size + '!');
         }
+
+        if (status != DOWNLOADING) {
+            saveState();
+            return;
+        }
+
+        if (checksum != null && !verifyChecksum()) return;
+
+        if (file != null) file.close();
+        file = null;
+        partial.complete();
+
+        // Only files that match their published checksum are added to the store.
+        if (verified) ArtifactStore.put(sha256, partial.getTarget());
+
+        checkIfComplete();
+    }
+
+    // Keep transferring until the download is stopped or the file turns out to be in the store.
+    private boolean isTransferring() {
+        return status == DOWNLOADING && storedSha256 == null;
+    }
+
+    /**
+     * Creates the file from the artifact store if the published checksum arrived and is stored. Never waits
+     * for the checksum, a transfer that started in the meantime is dropped.
+     * @return true if the file was created from the store
+     * @throws IOException if an error occurs
+     */
+    private boolean copyFromStore() throws IOException {
+        final String expected = storedSha256;
+
+        if (expected == null || status != DOWNLOADING) return false;
+
+        if (!ArtifactStore.copyTo(expected, partial.getTarget())) {
+            // The entry was removed since it was looked up, the transfer continues from the part file.
+            storedSha256 = null;
+            return false;
+        }
+
+        logger.debug("Using stored artifact for " + filename);
+        closeTransfer();
+        Files.deleteIfExists(partial.getPartFile());
+        Files.deleteIfExists(partial.getStateFile());
+
+        size = (int) Files.size(partial.getTarget());
+        downloaded = size;
+        sha256 = expected.toLowerCase(Locale.ROOT);
+        verified = true;
+        fireStarted();
+        fireProgress();
+        checkIfComplete();
+        return true;
+    }
+
+    /**
+     * Compares the SHA-256 of the downloaded file with the checksum file. A file downloaded over a
+     * single connection was hashed as it was written, any other file or a digest that does not cover the
+     * whole file is hashed in one pass now.
+     * @return true if the checksums match or the checksum file could not be downloaded
+     * @throws IOException if the file can not be read
+     */
+    private boolean verifyChecksum() throws IOException {
+        if (digest == null || digested != size) {
+            digest = newSha256Digest();
+            hashFile(digest, size);
+        }
+
+        final String actual = toHex(digest.digest());
+
+        final Optional<String> expected = checksum.join();
+
+        if (!expected.isPresent()) {
+            logger.warn("Unable to download the SHA-256 checksum, " + filename + " was not verified!");
+            return true;
+        }
+
+        if (expected.get().equalsIgnoreCase(actual)) {
+            sha256 = actual;
+            verified = true;
+            return true;
+        }
+
+        // The bytes can not be trusted so they are not kept for the next attempt.
+        if (file != null) file.close();
+        file = null;
+        Files.deleteIfExists(partial.getPartFile());
+        Files.deleteIfExists(partial.getStateFile());
+        error("SHA-256 Checksum Mismatch! Expected " + expected.get() + " but was " + actual + '!');
+        return false;
+    }
+
+    // Hash the first bytes of the part file.
+    private void hashFile(final MessageDigest digest, final long length) throws IOException {
+        if (length == 0) return;
+
+        try (final InputStream in = Files.newInputStream(partial.getPartFile())) {
+            final byte[] buffer = new byte[256 * 1024];
+            long remaining = length;
+
+            while (remaining > 0) {
+                final int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read == -1) throw new IOException("Part file is shorter than " + length + " bytes!");
+
+                digest.update(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    /**
+     * Downloads a sha-256 checksum file and returns the hash at the start of it.
+     * @param checksumUrl the url of the checksum file
+     * @return the hex SHA-256 or empty if the file could not be downloaded or does not start with a hash
+     */
+    public static Optional<String> fetchSha256(final String checksumUrl) {
+        try {
+            return new HTTPDownload(checksumUrl).processTextAsString()
+                    .map(String::trim)
+                    .map(text -> text.split("\\s+")[0])
+                    .filter(hash -> hash.matches("[0-9a-fA-F]{64}"));
+        } catch (final IOException | RuntimeException e) {
+            logger.debug("Unable to download checksum: " + checksumUrl, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the SHA-256 of the specified file.
+     * @param file the file
+     * @return the hex SHA-256
+     * @throws IOException if the file can not be read
+     */
+    public static String sha256(final Path file) throws IOException {
+        final MessageDigest digest = newSha256Digest();
+
+        try (final InputStream in = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[256 * 1024];
+            int read;
+
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] digits = "0123456789abcdef".toCharArray();
+        final char[] hex = new char[bytes.length * 2];
+
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = digits[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = digits[bytes[i] & 0xF];
+        }
+
+        return new String(hex);
     }
 
     public Optional<String> processTextAsString() throws IOException {
@@ -240,14 +829,83 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
         return process(this::getHTTPResponseAsJSONArray, Type.JSONDownload);
     }
 
+    /**
+     * Downloads a JSON response and hands it to the specified parser as a token stream
+     * so the response never has to be held in memory as a tree.
+     * @param parser the parser that reads the response
+     * @param <T>    the type returned by the parser
+     * @return the value returned by the parser or empty if the download failed
+     * @throws IOException if any errors occur
+     */
+    public <T> Optional<T> processJSONAsStream(final JSONStreamParser<T> parser) throws IOException {
+        return process(() -> getHTTPResponseAsJSONStream(parser), Type.JSONDownload);
+    }
+
     private <T> Optional<T> process(final Supplier<T> task, Type downloadType) throws IOException {
         Optional<T> result = Optional.empty();
 
         if(!preStart()) return Optional.empty();
 
-        connect();
+        //API responses are cached on disk and revalidated with conditional requests
+        final Optional<HTTPCache.Entry> cached = downloadType == Type.JSONDownload
+                ? HTTPCache.get(getUrl())
+                : Optional.empty();
+
+        if(cached.isPresent() && cached.get().isFresh()) {
+            cachedResponse = cached.get();
+            result = Optional.ofNullable(task.get());
+            checkIfComplete();
+            return result;
+        }
+
+        int code = -1;
+
+        for(attempt = 0; ; attempt++) {
+            long delay;
+
+            try {
+                connect(cached.orElse(null));
+                code = connection.getResponseCode();
+                delay = RetryPolicy.getDelay(attempt, code, connection);
+                if(delay >= 0) logger.debug("Retrying " + getUrl() + " in " + delay + "ms: Response code " + code);
+
+                //The body is read before it is parsed, so a connection that drops while it is read can be retried
+                if(delay < 0 && code == HttpURLConnection.HTTP_OK) {
+                    responseBody = readResponseBody();
+
+                    if(downloadType == Type.JSONDownload && HTTPCache.isEnabled()) {
+                        cachedResponse = HTTPCache.put(getUrl(), new ByteArrayInputStream(responseBody),
+                                connection.getHeaderField("ETag"),
+                                connection.getHeaderField("Last-Modified"),
+                                connection.getHeaderField("Link"));
+                    }
+                }
+            } catch (final IOException e) {
+                delay = RetryPolicy.getDelay(attempt);
+                if(delay < 0) throw e;
+                logger.debug("Retrying " + getUrl() + " in " + delay + "ms: " + e.getMessage());
+            }
+
+            if(delay < 0) break;
+
+            connection.disconnect();
+            RetryPolicy.sleep(delay);
+        }
 
-        if(processResponseCode(connection.getResponseCode(), downloadType)) {
+        if(code == HttpURLConnection.HTTP_FORBIDDEN && downloadType == Type.JSONDownload) {
+            //The rate limit resets later than the retries are allowed to wait, so this request fails
+            final String message = "GitHub API Rate Limit Reached!" + RetryPolicy.getRateLimitReset(connection)
+                    .map(reset -> " The Limit Resets At " + reset + '!')
+                    .orElse("");
+            error(message);
+            throw new IOException(message);
+        }
+
+        if(code == HttpURLConnection.HTTP_NOT_MODIFIED && cached.isPresent()) {
+            cachedResponse = cached.get();
+            cachedResponse.revalidated();
+            result = Optional.ofNullable(task.get());
+        } else if(processResponseCode(code, downloadType)) {
             result = Optional.ofNullable(task.get());
         }
 
@@ -256,10 +914,30 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
         return result;
     }
 
+    // Read the whole response body, a connection that closes early ends a fixed length body without an error.
+    private byte[] readResponseBody() throws IOException {
+        try(final InputStream in = connection.getInputStream()) {
+            final byte[] body = IOUtils.toByteArray(in);
+            final long length = connection.getContentLengthLong();
+
+            if(length >= 0 && body.length < length) {
+                throw new IOException("Response Ended After " + body.length + " Of " + length + " Bytes!");
+            }
+
+            return body;
+        }
+    }
+
+    // Get the response body that was read, otherwise from the cache if it was cached.
+    private InputStream getResponseStream() throws IOException {
+        if(responseBody != null) return new ByteArrayInputStream(responseBody);
+        return cachedResponse == null ? connection.getInputStream() : cachedResponse.openBody();
+    }
+
     private String getHTTPResponseAsString() {
         try {
-            stream = connection.getInputStream();
-            String encoding = connection.getContentEncoding();
+            stream = getResponseStream();
+            String encoding = cachedResponse == null ? connection.getContentEncoding() : null;
             encoding = encoding == null ? "UTF-8" : encoding;
             return IOUtils.toString(stream, encoding);
         } catch (IOException e) {
@@ -269,8 +947,8 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
 
     private JsonArray getHTTPResponseAsJSONArray() {
         try {
-            stream = connection.getInputStream();
-            try (final InputStreamReader isr = new InputStreamReader(stream)) {
+            stream = getResponseStream();
+            try (final InputStreamReader isr = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
                 return JsonParser.parseReader(isr).getAsJsonArray();
             }
         } catch (IOException e) {
@@ -278,6 +956,17 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
         }
     }
 
+    private <T> T getHTTPResponseAsJSONStream(final JSONStreamParser<T> parser) {
+        try {
+            stream = getResponseStream();
+            try (final JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                return parser.parse(reader);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private String getHTTPErrorMessage() {
         try {
             try (final InputStreamReader isr = new InputStreamReader(connection.getErrorStream())) {
@@ -308,11 +997,7 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
                 error(type == Type.JSONDownload ? "GitHub API Bad Credentials!" : "Unauthorized Or Bad Credentials!");
                 break;
             case 403:
-                if(type == Type.JSONDownload) {
-                    error("GitHub API Rate Limit Reached!");
-                    throw new IllegalStateException("GitHub API Rate Limit Reached!");
-                }
-                error("Forbidden!");
+                error(type == Type.JSONDownload ? "GitHub API Rate Limit Reached!" : "Forbidden!");
                 break;
             case 404:
                 if(type == Type.JSONDownload) {
@@ -347,10 +1032,17 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
         return false;
     }
 
-    // Notify observers that this download's status has changed.
-    private void stateChanged() {
-        setChanged();
-        notifyObservers();
+    private void fireStarted() {
+        for (final DownloadListener listener : listeners) listener.started(this, size, downloaded);
+    }
+
+    private void fireProgress() {
+        for (final DownloadListener listener : listeners) listener.progress(this, downloaded, size);
+    }
+
+    private void fireStatusChanged() {
+        final DLStatus current = status;
+        for (final DownloadListener listener : listeners) listener.statusChanged(this, current);
     }
 
     // Get file name portion of URL.
@@ -362,6 +1054,15 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
     private boolean preStart() {
         if(status == DOWNLOADING) return false;
 
+        cachedResponse = null;
+        responseBody = null;
+        segmentedDownload = null;
+        checksum = null;
+        storedSha256 = null;
+        digest = null;
+        digested = 0;
+        sha256 = null;
+        verified = false;
         size = -1;
         downloaded = 0;
         status = DOWNLOADING;
@@ -373,7 +1074,16 @@ public class HTTPDownload extends Observable implements AutoCloseable, Runnable
         // Change status to complete if this point was reached because downloading has finished.
         if (status == DOWNLOADING) {
             status = COMPLETE;
-            stateChanged();
+            fireStatusChanged();
         }
     }
+
+    /**
+     * Reads a JSON response from a token stream.
+     * @param <T> the type of the parsed value
+     */
+    @FunctionalInterface
+    public interface JSONStreamParser<T> {
+        T parse(JsonReader reader) throws IOException;
+    }
 }
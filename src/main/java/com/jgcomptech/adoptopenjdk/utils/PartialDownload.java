@@ -0,0 +1,266 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The state of a file that is still being downloaded.
+ *
+ * <p>The data is written to a {@code .part} file next to the target and a {@code .part.properties}
+ * sidecar records the URL, the expected size, the {@code ETag} and {@code Last-Modified} headers and the
+ * byte ranges that have been written. A later download of the same URL continues from the recorded
+ * ranges, and the part file is only renamed to the target once every byte has been written.</p>
+ */
+public final class PartialDownload {
+    private static final Logger logger = LoggerFactory.getLogger(PartialDownload.class);
+
+    private final Path target;
+    private final Path partFile;
+    private final Path stateFile;
+    private final String url;
+    private long size = -1;
+    private String etag;
+    private String lastModified;
+    //Sorted, non overlapping and non adjacent ranges of written bytes, both ends are inclusive
+    private final List<long[]> ranges = new ArrayList<>();
+
+    private PartialDownload(final Path target, final String url) {
+        this.target = target;
+        this.url = HTTPCache.stripCredentials(url);
+        partFile = target.resolveSibling(target.getFileName() + ".part");
+        stateFile = target.resolveSibling(target.getFileName() + ".part.properties");
+    }
+
+    /**
+     * Returns the partial download of the specified URL to the specified file, loading the
+     * written ranges from the sidecar if a previous download of the same URL was interrupted.
+     * @param target the file to download to
+     * @param url    the download url
+     * @return the partial download
+     */
+    public static PartialDownload open(final Path target, final String url) {
+        final PartialDownload partial = new PartialDownload(target, url);
+
+        if(!Files.isRegularFile(partial.partFile) || !Files.isRegularFile(partial.stateFile)) return partial;
+
+        final Properties properties = new Properties();
+
+        try(final Reader reader = new InputStreamReader(Files.newInputStream(partial.stateFile),
+                StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (final IOException e) {
+            logger.debug("Unable to read download state: " + partial.stateFile, e);
+            return partial;
+        }
+
+        if(!partial.url.equals(properties.getProperty("url"))) return partial;
+
+        try {
+            partial.size = Long.parseLong(properties.getProperty("size", "-1"));
+            partial.etag = properties.getProperty("etag");
+            partial.lastModified = properties.getProperty("last_modified");
+
+            for(final String range : properties.getProperty("ranges", "").split(",")) {
+                if(range.isEmpty()) continue;
+                final int dash = range.indexOf('-');
+                partial.add(Long.parseLong(range.substring(0, dash)), Long.parseLong(range.substring(dash + 1)));
+            }
+        } catch (final NumberFormatException | IndexOutOfBoundsException e) {
+            logger.debug("Invalid download state: " + partial.stateFile, e);
+            partial.reset(-1, null, null);
+        }
+
+        //Ignore any ranges the part file does not actually contain
+        try {
+            final long length = Files.size(partial.partFile);
+            if(!partial.ranges.isEmpty() && partial.ranges.get(partial.ranges.size() - 1)[1] >= length) {
+                partial.reset(-1, null, null);
+            }
+        } catch (final IOException e) {
+            partial.reset(-1, null, null);
+        }
+
+        return partial;
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    public Path getPartFile() {
+        return partFile;
+    }
+
+    public Path getStateFile() {
+        return stateFile;
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns true if the previous download recorded the same size and validators
+     * so the bytes already written can be kept.
+     * @param size         the size of the file on the server
+     * @param etag         the ETag header or null
+     * @param lastModified the Last-Modified header or null
+     * @return true if the written ranges belong to the same file
+     */
+    public synchronized boolean matches(final long size, final String etag, final String lastModified) {
+        if(ranges.isEmpty() || this.size != size) return false;
+        if(etag != null) return etag.equals(this.etag);
+        return lastModified != null && lastModified.equals(this.lastModified);
+    }
+
+    /**
+     * Forgets every written range and records the details of the file being downloaded.
+     * @param size         the size of the file on the server or -1 if it is unknown
+     * @param etag         the ETag header or null
+     * @param lastModified the Last-Modified header or null
+     */
+    public synchronized void reset(final long size, final String etag, final String lastModified) {
+        this.size = size;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        ranges.clear();
+    }
+
+    /**
+     * Returns the value for an {@code If-Range} header so the server only sends a range
+     * if the file has not changed since the written ranges were downloaded.
+     * @return the strong ETag or the Last-Modified date, null if neither is known
+     */
+    public synchronized String getValidator() {
+        if(etag != null && !etag.startsWith("W/")) return etag;
+        return lastModified;
+    }
+
+    /**
+     * Records that the specified bytes have been written to the part file.
+     * @param start the first byte
+     * @param end   the last byte, inclusive
+     */
+    public synchronized void add(final long start, final long end) {
+        long newStart = start;
+        long newEnd = end;
+        int index = 0;
+
+        //Merge with any overlapping or adjacent ranges
+        while(index < ranges.size() && ranges.get(index)[1] < newStart - 1) index++;
+        while(index < ranges.size() && ranges.get(index)[0] <= newEnd + 1) {
+            final long[] range = ranges.remove(index);
+            newStart = Math.min(newStart, range[0]);
+            newEnd = Math.max(newEnd, range[1]);
+        }
+
+        ranges.add(index, new long[] {newStart, newEnd});
+    }
+
+    /**
+     * Returns the number of bytes that have been written.
+     * @return the number of bytes written
+     */
+    public synchronized long getCompleted() {
+        long completed = 0;
+        for(final long[] range : ranges) completed += range[1] - range[0] + 1;
+        return completed;
+    }
+
+    /**
+     * Returns the number of bytes written from the start of the file without any gaps.
+     * @return the length of the written prefix
+     */
+    public synchronized long getCompletedPrefix() {
+        return ranges.isEmpty() || ranges.get(0)[0] != 0 ? 0 : ranges.get(0)[1] + 1;
+    }
+
+    /**
+     * Returns the byte ranges that still need to be downloaded.
+     * @return the missing ranges, both ends are inclusive
+     */
+    public synchronized List<long[]> getMissingRanges() {
+        final List<long[]> missing = new ArrayList<>();
+        long next = 0;
+
+        for(final long[] range : ranges) {
+            if(range[0] > next) missing.add(new long[] {next, range[0] - 1});
+            next = range[1] + 1;
+        }
+
+        if(next < size) missing.add(new long[] {next, size - 1});
+
+        return missing;
+    }
+
+    /**
+     * Writes the sidecar. The channel is forced to disk first so the sidecar never records
+     * ranges whose data could still be lost in a crash.
+     * @param channel the channel of the part file or null if it is not open
+     * @throws IOException if an error occurs
+     */
+    public void save(final FileChannel channel) throws IOException {
+        final Properties properties = new Properties();
+
+        synchronized(this) {
+            properties.setProperty("url", url);
+            properties.setProperty("size", String.valueOf(size));
+            if(etag != null) properties.setProperty("etag", etag);
+            if(lastModified != null) properties.setProperty("last_modified", lastModified);
+
+            final StringBuilder builder = new StringBuilder();
+            for(final long[] range : ranges) {
+                if(builder.length() > 0) builder.append(',');
+                builder.append(range[0]).append('-').append(range[1]);
+            }
+            properties.setProperty("ranges", builder.toString());
+        }
+
+        if(channel != null && channel.isOpen()) channel.force(false);
+
+        final Path temp = Files.createTempFile(stateFile.toAbsolutePath().getParent(),
+                stateFile.getFileName().toString(), ".tmp");
+
+        try {
+            try(final Writer writer = new OutputStreamWriter(Files.newOutputStream(temp), StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+
+            move(temp, stateFile);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Renames the part file to the target and deletes the sidecar.
+     * @throws IOException if an error occurs
+     */
+    public void complete() throws IOException {
+        move(partFile, target);
+        Files.deleteIfExists(stateFile);
+    }
+
+    private static void move(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
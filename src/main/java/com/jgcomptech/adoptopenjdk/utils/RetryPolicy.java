@@ -0,0 +1,215 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import com.jgcomptech.adoptopenjdk.api.SettingsSection;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getInt;
+import static com.jgcomptech.adoptopenjdk.api.APISettings.getLong;
+
+/**
+ * Decides if and when a failed request is sent again.
+ *
+ * <p>Connection errors and the responses a server or proxy sends when it is briefly unavailable are
+ * retried with an exponential backoff. Half of every delay is random so many updaters that failed at the
+ * same moment do not retry at the same moment. A {@code Retry-After} header, or the {@code X-RateLimit-Reset}
+ * header of a rate limited GitHub API response, replaces the backoff, but a request is only retried if that
+ * wait is no longer than the maximum delay. The number of retries is the retry budget of a single request.</p>
+ */
+public final class RetryPolicy {
+    private static int retries;
+    private static long baseDelay;
+    private static long maxDelay;
+    //Number of times a failed request or dropped download is retried and the backoff between retries
+    private static final SettingsSection settings = new SettingsSection(properties -> {
+        retries = Math.max(0, getInt(properties, "retry_count", 4));
+        baseDelay = Math.max(1, getLong(properties, "retry_base_delay_ms", 500));
+        maxDelay = Math.max(1, getLong(properties, "retry_max_delay_ms", 30_000));
+    });
+
+    private RetryPolicy() { }
+
+    /**
+     * Returns the maximum number of times a request is retried.
+     * @return the number of retries, 0 disables retrying
+     */
+    public static int getRetries() {
+        settings.load();
+        return retries;
+    }
+
+    public static void setRetries(final int retries) {
+        settings.load();
+        RetryPolicy.retries = Math.max(0, retries);
+    }
+
+    /**
+     * Returns the delay before the first retry, it doubles with every retry.
+     * @return the delay in milliseconds
+     */
+    public static long getBaseDelay() {
+        settings.load();
+        return baseDelay;
+    }
+
+    public static void setBaseDelay(final long baseDelay) {
+        settings.load();
+        RetryPolicy.baseDelay = Math.max(1, baseDelay);
+    }
+
+    /**
+     * Returns the longest delay before a retry, including delays asked for by the server.
+     * @return the delay in milliseconds
+     */
+    public static long getMaxDelay() {
+        settings.load();
+        return maxDelay;
+    }
+
+    public static void setMaxDelay(final long maxDelay) {
+        settings.load();
+        RetryPolicy.maxDelay = Math.max(1, maxDelay);
+    }
+
+    /**
+     * Returns how long to wait before retrying a request that failed without a response.
+     * @param attempt the number of retries so far
+     * @return the delay in milliseconds or -1 if the request should not be retried
+     */
+    public static long getDelay(final int attempt) {
+        if(attempt >= getRetries()) return -1;
+
+        final long cap = Math.min(getMaxDelay(), getBaseDelay() << Math.min(attempt, 30));
+        return cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+    }
+
+    /**
+     * Returns how long to wait before retrying a request that received the specified response.
+     * @param attempt    the number of retries so far
+     * @param code       the response code
+     * @param connection the connection that received the response
+     * @return the delay in milliseconds or -1 if the response should not be retried
+     */
+    public static long getDelay(final int attempt, final int code, final HttpURLConnection connection) {
+        if(!isRetryable(code, connection)) return -1;
+
+        final long requested = getRequestedDelay(connection);
+
+        if(requested < 0) return getDelay(attempt);
+
+        //Waiting for a rate limit that resets in an hour is worse than failing
+        return attempt < getRetries() && requested <= getMaxDelay() ? requested : -1;
+    }
+
+    /**
+     * Waits before a retry.
+     * @param delay the delay in milliseconds
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public static void sleep(final long delay) throws InterruptedIOException {
+        try {
+            Thread.sleep(delay);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting to retry!")
+                    .initCause(e);
+        }
+    }
+
+    private static boolean isRetryable(final int code, final HttpURLConnection connection) {
+        switch(code) {
+            case HttpURLConnection.HTTP_CLIENT_TIMEOUT:
+            case 429:
+            case HttpURLConnection.HTTP_INTERNAL_ERROR:
+            case HttpURLConnection.HTTP_BAD_GATEWAY:
+            case HttpURLConnection.HTTP_UNAVAILABLE:
+            case HttpURLConnection.HTTP_GATEWAY_TIMEOUT:
+                return true;
+            case HttpURLConnection.HTTP_FORBIDDEN:
+                //GitHub answers a rate limited request with 403, any other 403 is final
+                return "0".equals(connection.getHeaderField("X-RateLimit-Remaining"))
+                        || connection.getHeaderField("Retry-After") != null;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the delay the server asked for with a {@code Retry-After} or {@code X-RateLimit-Reset} header.
+     * @return the delay in milliseconds or -1 if the server did not ask for one
+     */
+    private static long getRequestedDelay(final HttpURLConnection connection) {
+        final String retryAfter = connection.getHeaderField("Retry-After");
+
+        if(retryAfter != null) {
+            try {
+                return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+            } catch (final NumberFormatException e) {
+                try {
+                    return Math.max(0, ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                            .toInstant().toEpochMilli() - System.currentTimeMillis());
+                } catch (final DateTimeParseException ignored) {
+                    return -1;
+                }
+            }
+        }
+
+        //The reset time is in whole seconds so wait one more to be past it
+        return getRateLimitReset(connection)
+                .map(reset -> Math.max(0, reset.toEpochMilli() + 1000 - System.currentTimeMillis()))
+                .orElse(-1L);
+    }
+
+    /**
+     * Returns when the GitHub API rate limit that the response ran into resets.
+     * @param connection the connection that received the response
+     * @return the time from the {@code X-RateLimit-Reset} header or empty if the response was not rate limited
+     */
+    public static Optional<Instant> getRateLimitReset(final HttpURLConnection connection) {
+        final String reset = connection.getHeaderField("X-RateLimit-Reset");
+
+        if(reset == null || !"0".equals(connection.getHeaderField("X-RateLimit-Remaining"))) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Instant.ofEpochSecond(Long.parseLong(reset.trim())));
+        } catch (final NumberFormatException ignored) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Signals that a download received a response that can be retried.
+     */
+    public static final class RetryableResponseException extends IOException {
+        private static final long serialVersionUID = 1L;
+        private final long delay;
+
+        /**
+         * Creates the exception.
+         * @param message the error message
+         * @param delay   the delay before the retry in milliseconds
+         */
+        public RetryableResponseException(final String message, final long delay) {
+            super(message);
+            this.delay = delay;
+        }
+
+        /**
+         * Returns the delay before the retry.
+         * @return the delay in milliseconds
+         */
+        public long getDelay() {
+            return delay;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Downloads a file over several connections at once, each one fetching its own byte range.
+ *
+ * <p>The missing byte ranges of the file are {@link #split(List, int, long) split} into segments and every
+ * segment is written straight to its position in the preallocated file, so the segments can finish in any
+ * order. If the server answers a range request with the whole file, because it does not support ranges or
+ * because the file changed since the {@code If-Range} validator was recorded, the download is stopped and
+ * {@link #download(FileChannel)} returns false so the caller can fall back to a single stream.</p>
+ */
+public final class SegmentedDownload {
+    private final URL url;
+    private final String ifRange;
+    private final long[] starts;
+    private final long[] ends;
+    private final AtomicLongArray progress;
+    private final AtomicBoolean rangesIgnored = new AtomicBoolean();
+    private final DownloadSink sink;
+    private final DownloadSink.WriteListener listener;
+    private final BooleanSupplier isActive;
+
+    /**
+     * Creates a segmented download.
+     * @param url      the download url
+     * @param segments the byte ranges to download, one per segment, both ends are inclusive
+     * @param ifRange  the value of the {@code If-Range} header or null to always accept a range
+     * @param sink     copies each response into the file
+     * @param listener receives every write to the file
+     * @param isActive returns false once the download is paused or cancelled
+     */
+    public SegmentedDownload(final URL url, final List<long[]> segments, final String ifRange,
+                             final DownloadSink sink, final DownloadSink.WriteListener listener,
+                             final BooleanSupplier isActive) {
+        this.url = url;
+        this.ifRange = ifRange;
+        this.sink = sink;
+        this.listener = listener;
+        this.isActive = isActive;
+
+        starts = new long[segments.size()];
+        ends = new long[segments.size()];
+        progress = new AtomicLongArray(segments.size());
+
+        for(int i = 0; i < starts.length; i++) {
+            starts[i] = segments.get(i)[0];
+            ends[i] = segments.get(i)[1];
+        }
+    }
+
+    /**
+     * Splits the specified byte ranges into segments by halving the largest range until there are
+     * enough segments or the halves would be smaller than the minimum segment size.
+     * @param ranges         the byte ranges, both ends are inclusive
+     * @param segments       the maximum number of segments
+     * @param minSegmentSize the minimum size of a segment created by splitting a range
+     * @return the segments, both ends are inclusive
+     */
+    public static List<long[]> split(final List<long[]> ranges, final int segments, final long minSegmentSize) {
+        final List<long[]> result = new ArrayList<>();
+        for(final long[] range : ranges) result.add(range.clone());
+
+        while(result.size() < segments) {
+            long[] largest = null;
+            for(final long[] range : result) {
+                if(largest == null || range[1] - range[0] > largest[1] - largest[0]) largest = range;
+            }
+
+            if(largest == null || (largest[1] - largest[0] + 1) / 2 < minSegmentSize) break;
+
+            final long middle = largest[0] + (largest[1] - largest[0] + 1) / 2;
+            result.add(result.indexOf(largest) + 1, new long[] {middle, largest[1]});
+            largest[1] = middle - 1;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of segments.
+     * @return the number of segments
+     */
+    public int getSegmentCount() {
+        return starts.length;
+    }
+
+    /**
+     * Returns the number of bytes downloaded by each segment.
+     * @return the number of bytes downloaded, indexed by segment
+     */
+    public long[] getSegmentProgress() {
+        final long[] values = new long[progress.length()];
+        for(int i = 0; i < values.length; i++) values[i] = progress.get(i);
+        return values;
+    }
+
+    /**
+     * Returns the size of each segment in bytes.
+     * @return the size of each segment, indexed by segment
+     */
+    public long[] getSegmentSizes() {
+        final long[] values = new long[starts.length];
+        for(int i = 0; i < values.length; i++) values[i] = ends[i] - starts[i] + 1;
+        return values;
+    }
+
+    /**
+     * Downloads every segment concurrently into the specified file.
+     * @param channel the channel of the file to write to, it must already be at least as large as the download
+     * @return true if every segment was requested as a range, false if the server ignored the range requests
+     * @throws IOException if a segment fails to download
+     */
+    public boolean download(final FileChannel channel) throws IOException {
+        if(starts.length == 0) return true;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(starts.length,
+                Utils.newDaemonThreadFactory("jupdate-download-segment"));
+
+        try {
+            final List<Future<Void>> futures = new ArrayList<>(starts.length);
+
+            for(int i = 0; i < starts.length; i++) {
+                final int segment = i;
+                futures.add(executor.submit(() -> {
+                    downloadSegment(segment, channel);
+                    return null;
+                }));
+            }
+
+            for(final Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (final ExecutionException e) {
+                    //Stop the other segments, the download can not complete
+                    futures.forEach(f -> f.cancel(true));
+                    if(e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                    throw new IOException(e.getCause());
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Download interrupted!", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return !rangesIgnored.get();
+    }
+
+    private void downloadSegment(final int segment, final FileChannel channel) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+
+        try {
+            connection.setRequestProperty("Range", "bytes=" + starts[segment] + '-' + ends[segment]);
+            if(ifRange != null) connection.setRequestProperty("If-Range", ifRange);
+            connection.connect();
+
+            final int code = connection.getResponseCode();
+
+            if(code == HttpURLConnection.HTTP_OK) {
+                rangesIgnored.set(true);
+                return;
+            }
+
+            if(code != HttpURLConnection.HTTP_PARTIAL) {
+                throw new IOException("Segment " + segment + " failed with response code " + code + '!');
+            }
+
+            final BooleanSupplier active = () -> isActive.getAsBoolean() && !rangesIgnored.get();
+            final long position;
+
+            try(final InputStream in = connection.getInputStream()) {
+                position = starts[segment] + sink.copy(in, channel, starts[segment],
+                        ends[segment] - starts[segment] + 1, active, (start, length) -> {
+                            progress.addAndGet(segment, length);
+                            listener.written(start, length);
+                        });
+            }
+
+            if(position <= ends[segment] && active.getAsBoolean()) {
+                throw new IOException("Segment " + segment + " ended early at byte " + position
+                        + " of " + (ends[segment] + 1) + '!');
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
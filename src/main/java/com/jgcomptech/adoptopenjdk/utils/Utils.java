@@ -5,6 +5,8 @@ import org.slf4j.Logger;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.jgcomptech.adoptopenjdk.utils.Literals.LOCALE_CANNOT_BE_NULL;
 import static org.apache.commons.lang3.StringUtils.*;
@@ -214,4 +216,18 @@ public final class Utils {
             return defaultLong;
         }
     }
+
+    /**
+     * Returns a thread factory that creates numbered daemon threads with the specified base name.
+     * @param name the base name of the threads
+     * @return the thread factory
+     */
+    public static ThreadFactory newDaemonThreadFactory(final String name) {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + '-' + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
@@ -3,7 +3,6 @@ package com.jgcomptech.adoptopenjdk.utils.info;
 import com.jgcomptech.adoptopenjdk.utils.info.enums.OSList;
 import com.jgcomptech.adoptopenjdk.utils.info.enums.OSType;
 import com.jgcomptech.adoptopenjdk.utils.info.os.*;
-import com.sun.jna.Platform;
 import org.apache.commons.lang3.SystemUtils;
 
 /** Returns information about the operating system. */
@@ -126,12 +125,17 @@ public class OSInfo {
         if(SystemUtils.IS_OS_WINDOWS) return OSType.Windows;
         else if(SystemUtils.IS_OS_MAC) return OSType.MacOS;
         else if(SystemUtils.IS_OS_LINUX) return OSType.Linux;
-        else if(Platform.isAndroid()) return OSType.Android;
+        else if(isDalvikVM()) return OSType.Android;
         else if(SystemUtils.IS_OS_FREE_BSD) return OSType.FreeBSD;
         else if(SystemUtils.IS_OS_SOLARIS) return OSType.Solaris;
         else return OSType.Other;
     }
 
+    //The same check JNA uses, done here so JNA is not loaded just to find the OS type
+    private static boolean isDalvikVM() {
+        return "dalvik".equalsIgnoreCase(System.getProperty("java.vm.name"));
+    }
+
     /**
      * Identifies if OS is the specified OS.
      * @param type the OS type to check
@@ -0,0 +1,124 @@
+package com.jgcomptech.adoptopenjdk;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Runs the shaded jar once to record the class data sharing archive of the {@code fast-startup} profile.
+ *
+ * <p>The updater reads its release pages from a local stub that serves the fixture pages in
+ * {@code src/jmh/resources/fixtures}, like {@code StartupBenchmark} does, so the archive is recorded from a
+ * complete update check without depending on the network or the GitHub rate limit. The run uses
+ * {@code cds.directory} as its working directory and user home, where it writes the {@code app.properties}
+ * that points the updater at the stub. The build fails if the updater exits with an error or no archive
+ * was written.</p>
+ */
+public final class CdsTrainingRun {
+    private static final Pattern RELEASES_PATH = Pattern.compile("/repos/[^/]+/([^/]+)/releases");
+    private static final Pattern PAGE = Pattern.compile("(?:^|&)page=(\\d+)");
+    private static final byte[] EMPTY_PAGE = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private CdsTrainingRun() { }
+
+    public static void main(final String... args) throws Exception {
+        final Path jar = getPath("cds.jar");
+        final Path archive = getPath("cds.archive");
+        final Path directory = getPath("cds.directory");
+        final Path fixtures = getPath("cds.fixtures");
+        final List<String> appArgs = args.length == 0 ? Collections.singletonList("-b") : Arrays.asList(args);
+
+        if(!Files.isRegularFile(jar)) throw new IllegalArgumentException("Shaded jar not found: " + jar);
+
+        //-XX:ArchiveClassesAtExit only exists on Java 13 and later
+        final String version = System.getProperty("java.specification.version");
+        if(version.startsWith("1.") || Integer.parseInt(version) < 13) {
+            System.out.println("CDS training run skipped, the archive needs Java 13 or later");
+            return;
+        }
+
+        final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> handle(exchange, fixtures));
+        server.start();
+
+        try {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(archive);
+            Files.write(directory.resolve("app.properties"), Arrays.asList(
+                    "api_base_url=http://" + InetAddress.getLoopbackAddress().getHostAddress() + ':'
+                            + server.getAddress().getPort(),
+                    "http_cache_enabled=false"), StandardCharsets.UTF_8);
+
+            final List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.add("-XX:ArchiveClassesAtExit=" + archive);
+            command.add("-Duser.home=" + directory);
+            command.add("-jar");
+            command.add(jar.toString());
+            command.addAll(appArgs);
+
+            System.out.println("CDS training run: " + String.join(" ", command));
+
+            final Process process = new ProcessBuilder(command)
+                    .directory(directory.toFile())
+                    .inheritIO()
+                    .start();
+
+            if(process.waitFor() != 0) {
+                throw new IllegalStateException("The training run exited with code " + process.exitValue() + "!");
+            }
+
+            if(!Files.isRegularFile(archive)) {
+                throw new IllegalStateException("The training run did not write " + archive + '!');
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /** Serves the fixture release pages, every page without a fixture is empty. */
+    private static void handle(final HttpExchange exchange, final Path fixtures) throws IOException {
+        final Matcher path = RELEASES_PATH.matcher(exchange.getRequestURI().getPath());
+        final Matcher page = PAGE.matcher(String.valueOf(exchange.getRequestURI().getQuery()));
+        byte[] body = EMPTY_PAGE;
+
+        if(path.matches() && page.find()) {
+            final Path fixture = fixtures.resolve(path.group(1) + "-page" + page.group(1) + ".json.gz");
+
+            if(Files.isRegularFile(fixture)) {
+                try(final InputStream in = new GZIPInputStream(Files.newInputStream(fixture))) {
+                    body = IOUtils.toByteArray(in);
+                }
+            }
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try(final OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Path getPath(final String property) {
+        final String value = System.getProperty(property, "");
+        if(value.isEmpty()) throw new IllegalArgumentException("Missing system property: " + property);
+        return Paths.get(value).toAbsolutePath();
+    }
+}
@@ -0,0 +1,39 @@
+package com.jgcomptech.adoptopenjdk.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads subsystem settings from {@code app.properties} values.
+ */
+class APISettingsTest {
+    @Test
+    void invalidNumbersUseTheDefault() {
+        final Properties properties = new Properties();
+        properties.setProperty("retry_count", "four");
+        properties.setProperty("download_segments", "99999999999");
+        properties.setProperty("http_cache_max_size_mb", " 10 ");
+
+        assertEquals(4, APISettings.getInt(properties, "retry_count", 4));
+        assertEquals(4, APISettings.getInt(properties, "download_segments", 4));
+        assertEquals(10, APISettings.getLong(properties, "http_cache_max_size_mb", 50));
+        assertEquals(60, APISettings.getLong(properties, "daemon_interval_minutes", 60));
+        assertTrue(APISettings.getBoolean(properties, "http_cache_enabled", true));
+    }
+
+    @Test
+    void sectionIsOnlyReadOnceForTheSameProperties() {
+        final AtomicInteger reads = new AtomicInteger();
+        final SettingsSection settings = new SettingsSection(properties -> reads.incrementAndGet());
+
+        assertEquals(0, reads.get());
+        settings.load();
+        settings.load();
+        assertEquals(1, reads.get());
+    }
+}
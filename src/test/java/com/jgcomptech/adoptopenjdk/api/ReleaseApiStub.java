@@ -0,0 +1,270 @@
+package com.jgcomptech.adoptopenjdk.api;
+
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.jgcomptech.adoptopenjdk.Settings.COMPANY_NAME;
+
+/**
+ * A local stand-in for the GitHub releases API that serves the releases a test publishes.
+ *
+ * <p>Releases are served newest first in pages of the requested size with a {@code Link} header that points
+ * to the last page, like GitHub does. A test can answer the next request for a page with an error instead,
+ * or drop the connection part way through the page.</p>
+ */
+public final class ReleaseApiStub implements AutoCloseable {
+    private static final Pattern RELEASES = Pattern.compile("/repos/" + COMPANY_NAME + "/([^/]+)/releases");
+    private static final Pattern PAGE = Pattern.compile("(?:^|&)page=(\\d+)");
+    private static final Pattern PER_PAGE = Pattern.compile("(?:^|&)per_page=(\\d+)");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, List<Release>> releases = new HashMap<>();
+    private final List<Fault> faults = new ArrayList<>();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a stub on a random loopback port.
+     * @throws IOException if the server can not be started
+     */
+    public ReleaseApiStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Returns the base url to use as the API base url.
+     * @return the base url
+     */
+    public String getUrl() {
+        return "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ':' + server.getAddress().getPort();
+    }
+
+    /**
+     * Publishes a release that is newer than every release published before it.
+     * @param repository the repository name, for example openjdk11-binaries
+     * @param id         the release id
+     * @param tag        the release tag
+     * @param filenames  the filenames of the assets
+     */
+    public void publish(final String repository, final int id, final String tag, final String... filenames) {
+        synchronized(releases) {
+            releases.computeIfAbsent(repository, key -> new ArrayList<>())
+                    .add(0, new Release(repository, id, tag, Arrays.asList(filenames)));
+        }
+    }
+
+    /**
+     * Answers the next request for the specified page with the specified status and headers and no releases.
+     * @param repository the repository name
+     * @param page       the page number
+     * @param code       the response code
+     * @param headers    the response headers as name and value pairs
+     */
+    public void respond(final String repository, final int page, final int code, final String... headers) {
+        synchronized(faults) {
+            faults.add(new Fault(repository, page, code, -1, headers));
+        }
+    }
+
+    /**
+     * Closes the connection of the next request for the specified page after part of the page was sent.
+     * @param repository the repository name
+     * @param page       the page number
+     * @param bytes      the number of bytes to send before the connection is closed
+     */
+    public void drop(final String repository, final int page, final int bytes) {
+        synchronized(faults) {
+            faults.add(new Fault(repository, page, HttpURLConnection.HTTP_OK, bytes));
+        }
+    }
+
+    /**
+     * Returns the number of requests for the specified page, including the ones answered with an error.
+     * @param repository the repository name
+     * @param page       the page number
+     * @return the number of requests
+     */
+    public int getRequests(final String repository, final int page) {
+        final AtomicInteger count = requests.get(repository + ' ' + page);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            final Matcher path = RELEASES.matcher(exchange.getRequestURI().getPath());
+            final String query = String.valueOf(exchange.getRequestURI().getQuery());
+            final Matcher page = PAGE.matcher(query);
+            final Matcher perPage = PER_PAGE.matcher(query);
+
+            if(!path.matches() || !page.find()) {
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_FOUND, -1);
+                return;
+            }
+
+            final String repository = path.group(1);
+            final int number = Integer.parseInt(page.group(1));
+            final int size = perPage.find() ? Integer.parseInt(perPage.group(1)) : 30;
+            requests.computeIfAbsent(repository + ' ' + number, key -> new AtomicInteger()).incrementAndGet();
+
+            final Fault fault = nextFault(repository, number);
+            if(fault != null && fault.drop < 0) {
+                fault.send(exchange);
+                return;
+            }
+
+            final List<Release> all;
+            synchronized(releases) {
+                all = new ArrayList<>(releases.getOrDefault(repository, Collections.emptyList()));
+            }
+
+            final int last = Math.max(1, (all.size() + size - 1) / size);
+            final List<Release> served = all.subList(Math.min(all.size(), (number - 1) * size),
+                    Math.min(all.size(), number * size));
+
+            if(number < last) {
+                exchange.getResponseHeaders().set("Link", '<' + getUrl() + exchange.getRequestURI().getPath()
+                        + "?page=" + last + "&per_page=" + size + ">; rel=\"last\"");
+            }
+
+            final byte[] body = toJson(served).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.length);
+            //Closing the exchange before the whole body was written closes the connection
+            exchange.getResponseBody().write(body, 0, fault == null ? body.length : Math.min(fault.drop, body.length));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Fault nextFault(final String repository, final int page) {
+        synchronized(faults) {
+            for(final Iterator<Fault> iterator = faults.iterator(); iterator.hasNext(); ) {
+                final Fault fault = iterator.next();
+
+                if(fault.repository.equals(repository) && fault.page == page) {
+                    iterator.remove();
+                    return fault;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static String toJson(final List<Release> releases) throws IOException {
+        final StringWriter out = new StringWriter();
+
+        try(final JsonWriter json = new JsonWriter(out)) {
+            json.beginArray();
+            for(final Release release : releases) release.write(json);
+            json.endArray();
+        }
+
+        return out.toString();
+    }
+
+    private static final class Release {
+        private final String repository;
+        private final int id;
+        private final String tag;
+        private final List<String> filenames;
+
+        Release(final String repository, final int id, final String tag, final List<String> filenames) {
+            this.repository = repository;
+            this.id = id;
+            this.tag = tag;
+            this.filenames = filenames;
+        }
+
+        void write(final JsonWriter json) throws IOException {
+            final String url = "https://api.github.com/repos/" + COMPANY_NAME + '/' + repository + "/releases";
+
+            json.beginObject();
+            json.name("url").value(url + '/' + id);
+            json.name("html_url").value("https://github.com/" + COMPANY_NAME + '/' + repository
+                    + "/releases/tag/" + tag);
+            json.name("id").value(id);
+            json.name("tag_name").value(tag);
+            json.name("name").value(tag);
+            json.name("draft").value(false);
+            json.name("prerelease").value(false);
+            json.name("created_at").value("2020-07-15T10:00:00Z");
+            json.name("published_at").value("2020-07-15T10:00:00Z");
+            json.name("assets").beginArray();
+
+            for(int i = 0; i < filenames.size(); i++) {
+                final String filename = filenames.get(i);
+                json.beginObject();
+                json.name("url").value(url + "/assets/" + (id * 100 + i));
+                json.name("id").value(id * 100 + i);
+                json.name("name").value(filename);
+                json.name("content_type").value("application/octet-stream");
+                json.name("size").value(1024);
+                json.name("created_at").value("2020-07-15T10:00:00Z");
+                json.name("updated_at").value("2020-07-15T10:00:00Z");
+                json.name("browser_download_url").value("https://github.com/" + COMPANY_NAME + '/' + repository
+                        + "/releases/download/" + tag.replace("+", "%2B") + '/' + filename);
+                json.endObject();
+            }
+
+            json.endArray();
+            json.endObject();
+        }
+    }
+
+    private static final class Fault {
+        private final String repository;
+        private final int page;
+        private final int code;
+        private final int drop;
+        private final String[] headers;
+
+        Fault(final String repository, final int page, final int code, final int drop, final String... headers) {
+            this.repository = repository;
+            this.page = page;
+            this.code = code;
+            this.drop = drop;
+            this.headers = headers;
+        }
+
+        void send(final HttpExchange exchange) throws IOException {
+            for(int i = 0; i + 1 < headers.length; i += 2) {
+                exchange.getResponseHeaders().set(headers[i], headers[i + 1]);
+            }
+
+            final byte[] body = "{\"message\":\"Stub error\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(code, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+}
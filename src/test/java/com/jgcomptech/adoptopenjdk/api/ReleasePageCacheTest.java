@@ -0,0 +1,102 @@
+package com.jgcomptech.adoptopenjdk.api;
+
+import com.jgcomptech.adoptopenjdk.api.beans.SimpleRelease;
+import com.jgcomptech.adoptopenjdk.utils.HTTPCache;
+import com.jgcomptech.adoptopenjdk.utils.RetryPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads release pages from a {@link ReleaseApiStub} through a shared {@link ReleasePageCache}.
+ */
+class ReleasePageCacheTest {
+    private static final String REPOSITORY = "openjdk11-binaries";
+
+    private final String apiBaseUrl = APISettings.getApiBaseUrl();
+    private final int retries = RetryPolicy.getRetries();
+    private final long baseDelay = RetryPolicy.getBaseDelay();
+    private final boolean cacheEnabled = HTTPCache.isEnabled();
+
+    private ReleaseApiStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new ReleaseApiStub();
+
+        //Three pages of ten releases, newest first so the first page starts with id 25
+        for(int id = 1; id <= 25; id++) {
+            stub.publish(REPOSITORY, id, "jdk-11.0." + id + "+10",
+                    "OpenJDK11U-jdk_x64_linux_hotspot_11.0." + id + "_10.tar.gz");
+        }
+
+        APISettings.setApiBaseUrl(stub.getUrl());
+        RetryPolicy.setRetries(0);
+        HTTPCache.setEnabled(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReleasePageCache.clear();
+        stub.close();
+
+        APISettings.setApiBaseUrl(apiBaseUrl);
+        RetryPolicy.setRetries(retries);
+        RetryPolicy.setBaseDelay(baseDelay);
+        HTTPCache.setEnabled(cacheEnabled);
+    }
+
+    @Test
+    void failedPageIsRequestedAgainInsteadOfSkipped() throws Exception {
+        final long reset = System.currentTimeMillis() / 1000 + 3600;
+        stub.respond(REPOSITORY, 2, 403, "X-RateLimit-Remaining", "0", "X-RateLimit-Reset", String.valueOf(reset));
+
+        final ReleasePageCache pages = ReleasePageCache.getInstance(REPOSITORY, false).acquire();
+
+        try {
+            assertEquals(Arrays.asList(25, 24, 23, 22, 21, 20, 19, 18, 17, 16), getIds(pages, 1));
+            final IOException e = assertThrows(IOException.class, () -> pages.getPage(2));
+            assertTrue(e.getMessage().contains(Instant.ofEpochSecond(reset).toString()), e.getMessage());
+
+            //Another sub-release reading the same repository still gets every page under its own number
+            assertEquals(Arrays.asList(15, 14, 13, 12, 11, 10, 9, 8, 7, 6), getIds(pages, 2));
+            assertEquals(Arrays.asList(5, 4, 3, 2, 1), getIds(pages, 3));
+            assertEquals(3, pages.getPage(3).map(ReleasePage::getNumber).orElse(0));
+            assertEquals(2, stub.getRequests(REPOSITORY, 2));
+        } finally {
+            pages.release();
+        }
+    }
+
+    @Test
+    void pageIsRequestedAgainWhenTheConnectionDropsWithoutTheCache() throws Exception {
+        RetryPolicy.setRetries(1);
+        RetryPolicy.setBaseDelay(1);
+        stub.drop(REPOSITORY, 1, 100);
+
+        final ReleasePageCache pages = ReleasePageCache.getInstance(REPOSITORY, false).acquire();
+
+        try {
+            assertEquals(Arrays.asList(25, 24, 23, 22, 21, 20, 19, 18, 17, 16), getIds(pages, 1));
+            assertEquals(2, stub.getRequests(REPOSITORY, 1));
+        } finally {
+            pages.release();
+        }
+    }
+
+    private static List<Integer> getIds(final ReleasePageCache pages, final int number) throws Exception {
+        return pages.getPage(number).orElseThrow(IllegalStateException::new).getReleases().stream()
+                .map(SimpleRelease::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,85 @@
+package com.jgcomptech.adoptopenjdk.server;
+
+import com.jgcomptech.adoptopenjdk.api.APISettings;
+import com.jgcomptech.adoptopenjdk.api.ReleaseApiStub;
+import com.jgcomptech.adoptopenjdk.utils.HTTPCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Requests release pages and assets from a {@link MirrorServer} that reads from a {@link ReleaseApiStub}.
+ */
+class MirrorServerTest {
+    private static final String REPOSITORY = "openjdk11-binaries";
+
+    private final String apiBaseUrl = APISettings.getApiBaseUrl();
+    private final String downloadBaseUrl = APISettings.getDownloadBaseUrl();
+    private final boolean cacheEnabled = HTTPCache.isEnabled();
+    private final Path cacheDirectory = HTTPCache.getDirectory();
+
+    @TempDir
+    Path directory;
+
+    private ReleaseApiStub stub;
+    private MirrorServer mirror;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new ReleaseApiStub();
+        stub.publish(REPOSITORY, 1, "jdk-11.0.8+10", "OpenJDK11U-jdk_x64_linux_hotspot_11.0.8_10.tar.gz");
+
+        APISettings.setApiBaseUrl(stub.getUrl());
+        APISettings.setDownloadBaseUrl(stub.getUrl());
+        HTTPCache.setEnabled(true);
+        HTTPCache.setDirectory(directory.resolve("cache"));
+
+        mirror = new MirrorServer(0, directory.resolve("mirror"), Long.MAX_VALUE, 2).start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mirror.close();
+        stub.close();
+
+        APISettings.setApiBaseUrl(apiBaseUrl);
+        APISettings.setDownloadBaseUrl(downloadBaseUrl);
+        HTTPCache.setEnabled(cacheEnabled);
+        HTTPCache.setDirectory(cacheDirectory);
+    }
+
+    @Test
+    void releasePagesAreServed() throws Exception {
+        assertEquals(HttpURLConnection.HTTP_OK,
+                get("/repos/AdoptOpenJDK/" + REPOSITORY + "/releases?page=1&per_page=10"));
+        assertEquals(1, stub.getRequests(REPOSITORY, 1));
+    }
+
+    @Test
+    void otherPathsAreNotForwarded() throws Exception {
+        //A forwarded request would fail upstream and be answered with 502
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND, get("/repos/someone/private-repo/releases?page=1"));
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND, get("/repos/AdoptOpenJDK/" + REPOSITORY + "/collaborators"));
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND, get("/user"));
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND,
+                get("/someone/private-repo/releases/download/v1/secret.zip"));
+    }
+
+    private int get(final String path) throws Exception {
+        final HttpURLConnection connection =
+                (HttpURLConnection) new URL("http://127.0.0.1:" + mirror.getPort() + path).openConnection();
+
+        try {
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
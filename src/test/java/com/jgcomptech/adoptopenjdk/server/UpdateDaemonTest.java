@@ -0,0 +1,98 @@
+package com.jgcomptech.adoptopenjdk.server;
+
+import com.jgcomptech.adoptopenjdk.JavaRelease;
+import com.jgcomptech.adoptopenjdk.SubRelease;
+import com.jgcomptech.adoptopenjdk.api.APISettings;
+import com.jgcomptech.adoptopenjdk.api.ReleaseApiStub;
+import com.jgcomptech.adoptopenjdk.api.ReleasePageCache;
+import com.jgcomptech.adoptopenjdk.enums.AssetName;
+import com.jgcomptech.adoptopenjdk.utils.HTTPCache;
+import com.jgcomptech.adoptopenjdk.utils.RetryPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.HttpURLConnection;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the checks of an {@link UpdateDaemon} against a {@link ReleaseApiStub}.
+ */
+class UpdateDaemonTest {
+    private static final String REPOSITORY = "openjdk11-binaries";
+    private static final String LINUX_11_0_8 = "OpenJDK11U-jdk_x64_linux_hotspot_11.0.8_10.tar.gz";
+    private static final String WINDOWS_11_0_9 = "OpenJDK11U-jdk_x64_windows_hotspot_11.0.9_11.msi";
+
+    private final String apiBaseUrl = APISettings.getApiBaseUrl();
+    private final int retries = RetryPolicy.getRetries();
+    private final boolean cacheEnabled = HTTPCache.isEnabled();
+
+    @TempDir
+    Path directory;
+
+    private ReleaseApiStub stub;
+    private UpdateDaemon daemon;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new ReleaseApiStub();
+
+        APISettings.setApiBaseUrl(stub.getUrl());
+        RetryPolicy.setRetries(0);
+        HTTPCache.setEnabled(false);
+
+        final SubRelease subRelease = new JavaRelease(11).getJdkHotspot();
+        daemon = new UpdateDaemon(Collections.singletonList(subRelease), AssetName.x64_windows_msi, false,
+                directory.resolve("status.json"), 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        daemon.close();
+        ReleasePageCache.clear();
+        stub.close();
+
+        APISettings.setApiBaseUrl(apiBaseUrl);
+        RetryPolicy.setRetries(retries);
+        HTTPCache.setEnabled(cacheEnabled);
+    }
+
+    @Test
+    void assetPublishedAfterAnEarlierCheckIsFound() throws Exception {
+        stub.publish(REPOSITORY, 1, "jdk-11.0.8+10", LINUX_11_0_8, LINUX_11_0_8 + ".sha256.txt");
+
+        daemon.check();
+        assertTrue(daemon.getDecisions().isEmpty());
+
+        stub.publish(REPOSITORY, 2, "jdk-11.0.9+11", WINDOWS_11_0_9, WINDOWS_11_0_9 + ".sha256.txt");
+
+        daemon.check();
+        assertFound(2);
+        //Both checks read the release pages from the first page
+        assertEquals(2, stub.getRequests(REPOSITORY, 1));
+    }
+
+    @Test
+    void assetIsFoundAfterTheFirstCheckFailed() throws Exception {
+        stub.publish(REPOSITORY, 2, "jdk-11.0.9+11", WINDOWS_11_0_9, WINDOWS_11_0_9 + ".sha256.txt");
+        stub.respond(REPOSITORY, 1, HttpURLConnection.HTTP_UNAVAILABLE);
+
+        daemon.check();
+        assertTrue(daemon.getDecisions().isEmpty());
+
+        daemon.check();
+        assertFound(2);
+    }
+
+    private void assertFound(final int releaseId) {
+        assertEquals(1, daemon.getDecisions().size());
+        final UpdateDaemon.Decision decision = daemon.getDecisions().values().iterator().next();
+        assertEquals(AssetName.x64_windows_msi, decision.getAssetName());
+        assertEquals(releaseId, decision.getReleaseId());
+    }
+}
@@ -0,0 +1,248 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A local HTTP server that serves a single file and its checksum and fails requests on purpose.
+ *
+ * <p>Faults are queued and each one is used by the next request with the same method and path, so a test
+ * decides exactly which requests fail and how. Requests without a queued fault are answered like a CDN
+ * would, including HEAD requests, single byte ranges and {@code If-Range}.</p>
+ */
+final class FaultInjectingServer implements AutoCloseable {
+    static final String FILE = "/OpenJDK-test.bin";
+    static final String CHECKSUM = FILE + ".sha256.txt";
+    static final String ETAG = "\"fault-injecting-server\"";
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final byte[] content;
+    private final String sha256;
+    private final List<Fault> faults = new ArrayList<>();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a server on a random loopback port.
+     * @param content the bytes served at {@link #FILE}
+     * @throws IOException if the server can not be started
+     */
+    FaultInjectingServer(final byte[] content) throws IOException {
+        this.content = content.clone();
+        sha256 = sha256(content);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        //The longest matching context is used so the checksum is not served by the file context
+        server.createContext(FILE, this::handleFile);
+        server.createContext(CHECKSUM, this::handleChecksum);
+        server.start();
+    }
+
+    /**
+     * Returns the URL of the specified path on this server.
+     * @param path {@link #FILE} or {@link #CHECKSUM}
+     * @return the URL
+     */
+    String getUrl(final String path) {
+        return "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ':'
+                + server.getAddress().getPort() + path;
+    }
+
+    String getSha256() {
+        return sha256;
+    }
+
+    /**
+     * Sends the headers of the next GET of the file as usual, then closes the connection after the specified
+     * number of bytes of the body.
+     * @param bytes the number of bytes to send, at most one less than the body
+     */
+    void dropAfter(final long bytes) {
+        synchronized(faults) {
+            faults.add(new Fault("GET", FILE, 0, bytes));
+        }
+    }
+
+    /**
+     * Answers the next matching request with the specified status and headers and no body.
+     * @param method  the request method
+     * @param path    {@link #FILE} or {@link #CHECKSUM}
+     * @param code    the response code
+     * @param headers the response headers as name and value pairs
+     */
+    void respond(final String method, final String path, final int code, final String... headers) {
+        synchronized(faults) {
+            faults.add(new Fault(method, path, code, -1, headers));
+        }
+    }
+
+    /**
+     * Returns the number of requests with the specified method and path, faulty or not.
+     * @param method the request method
+     * @param path   {@link #FILE} or {@link #CHECKSUM}
+     * @return the number of requests
+     */
+    int getRequests(final String method, final String path) {
+        final AtomicInteger count = requests.get(method + ' ' + path);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Returns true once every queued fault was used.
+     * @return true if no fault is left
+     */
+    boolean isDone() {
+        synchronized(faults) {
+            return faults.isEmpty();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private Fault nextFault(final String method, final String path) {
+        requests.computeIfAbsent(method + ' ' + path, key -> new AtomicInteger()).incrementAndGet();
+
+        synchronized(faults) {
+            for(final Iterator<Fault> iterator = faults.iterator(); iterator.hasNext(); ) {
+                final Fault fault = iterator.next();
+
+                if(fault.method.equals(method) && fault.path.equals(path)) {
+                    iterator.remove();
+                    return fault;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void handleFile(final HttpExchange exchange) {
+        try {
+            final Fault fault = nextFault(exchange.getRequestMethod(), FILE);
+            if(fault != null && fault.code > 0) {
+                fault.send(exchange);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+
+            int start = 0;
+            int end = content.length - 1;
+            int code = HttpURLConnection.HTTP_OK;
+
+            final String range = exchange.getRequestHeaders().getFirst("Range");
+            final String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+            final Matcher matcher = range == null ? null : RANGE.matcher(range);
+
+            if(matcher != null && matcher.matches() && (ifRange == null || ETAG.equals(ifRange))) {
+                start = Integer.parseInt(matcher.group(1));
+                if(!matcher.group(2).isEmpty()) end = Math.min(end, Integer.parseInt(matcher.group(2)));
+                code = HttpURLConnection.HTTP_PARTIAL;
+                exchange.getResponseHeaders().set("Content-Range",
+                        "bytes " + start + '-' + end + '/' + content.length);
+            }
+
+            final int length = end - start + 1;
+
+            if("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Content-Length", String.valueOf(length));
+                exchange.sendResponseHeaders(code, -1);
+                return;
+            }
+
+            exchange.sendResponseHeaders(code, length);
+            final OutputStream out = exchange.getResponseBody();
+
+            if(fault == null) {
+                out.write(content, start, length);
+                return;
+            }
+
+            //Closing the exchange before the whole body was written closes the connection
+            out.write(content, start, (int) Math.min(fault.dropAfter, length - 1));
+            out.flush();
+        } catch (final IOException e) {
+            //Expected when a connection is dropped on purpose or the client gives up on a response
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleChecksum(final HttpExchange exchange) throws IOException {
+        try {
+            final Fault fault = nextFault(exchange.getRequestMethod(), CHECKSUM);
+            if(fault != null) {
+                fault.send(exchange);
+                return;
+            }
+
+            final byte[] body = (sha256 + "  " + FILE.substring(1) + '\n').getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.length);
+            exchange.getResponseBody().write(body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    static String sha256(final byte[] content) {
+        try {
+            final StringBuilder hex = new StringBuilder();
+            for(final byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Fault {
+        private final String method;
+        private final String path;
+        private final int code;
+        private final long dropAfter;
+        private final String[] headers;
+
+        Fault(final String method, final String path, final int code, final long dropAfter,
+              final String... headers) {
+            this.method = method;
+            this.path = path;
+            this.code = code;
+            this.dropAfter = dropAfter;
+            this.headers = headers;
+        }
+
+        void send(final HttpExchange exchange) throws IOException {
+            for(int i = 0; i + 1 < headers.length; i += 2) {
+                exchange.getResponseHeaders().set(headers[i], headers[i + 1]);
+            }
+            exchange.sendResponseHeaders(code, -1);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stores and replaces responses in a {@link HTTPCache} in a temporary directory.
+ */
+class HTTPCacheTest {
+    private static final String URL = "http://127.0.0.1/repos/AdoptOpenJDK/openjdk11-binaries/releases?page=1";
+
+    private final boolean enabled = HTTPCache.isEnabled();
+    private final Path directory = HTTPCache.getDirectory();
+    private final long maxSize = HTTPCache.getMaxSize();
+
+    @TempDir
+    Path cache;
+
+    @BeforeEach
+    void setUp() {
+        HTTPCache.setEnabled(true);
+        HTTPCache.setDirectory(cache);
+        HTTPCache.setMaxSize(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        HTTPCache.setEnabled(enabled);
+        HTTPCache.setDirectory(directory);
+        HTTPCache.setMaxSize(maxSize);
+    }
+
+    @Test
+    void replacedEntryKeepsItsHeadersWithItsBody() throws Exception {
+        put("first", "\"1\"");
+        put("second", "\"2\"");
+
+        final HTTPCache.Entry entry = HTTPCache.get(URL).orElseThrow(IllegalStateException::new);
+        assertEquals("\"2\"", entry.getETag().orElse(""));
+        assertEquals("second", read(entry));
+
+        entry.revalidated();
+        final HTTPCache.Entry revalidated = HTTPCache.get(URL).orElseThrow(IllegalStateException::new);
+        assertEquals("\"2\"", revalidated.getETag().orElse(""));
+        assertEquals("second", read(revalidated));
+
+        //Headers and body share one file and no temporary files are left behind
+        try(final Stream<Path> files = Files.list(cache)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void temporaryFilesAreNotEvicted() throws Exception {
+        final Path temp = Files.write(cache.resolve("entry.tmp"), new byte[1024]);
+        put("body", "\"1\"");
+
+        FileCacheUtils.evictLeastRecentlyUsed(cache, 0);
+
+        assertTrue(Files.exists(temp));
+        assertEquals(0, HTTPCache.get(URL).map(HTTPCache.Entry::getBodySize).orElse(0L));
+    }
+
+    private static void put(final String body, final String etag) throws Exception {
+        HTTPCache.put(URL, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), etag, null, null);
+    }
+
+    private static String read(final HTTPCache.Entry entry) throws Exception {
+        try(final InputStream in = entry.openBody()) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.jgcomptech.adoptopenjdk.utils;
+
+import com.jgcomptech.adoptopenjdk.enums.DLStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.HttpURLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.jgcomptech.adoptopenjdk.utils.FaultInjectingServer.CHECKSUM;
+import static com.jgcomptech.adoptopenjdk.utils.FaultInjectingServer.FILE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Downloads from a {@link FaultInjectingServer} to check that dropped connections and responses that ask
+ * for a retry end in the same verified file as a download without faults.
+ */
+class HTTPDownloadRetryTest {
+    //Large enough to be split into segments, and not a multiple of the segment size
+    private static final int SIZE = 3 * 1024 * 1024 + 12345;
+
+    private final int segments = HTTPDownload.getSegments();
+    private final int retries = RetryPolicy.getRetries();
+    private final long baseDelay = RetryPolicy.getBaseDelay();
+    private final long maxDelay = RetryPolicy.getMaxDelay();
+    private final boolean cacheEnabled = HTTPCache.isEnabled();
+    private final boolean storeEnabled = ArtifactStore.isEnabled();
+
+    @TempDir
+    Path directory;
+
+    private byte[] content;
+    private FaultInjectingServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        content = new byte[SIZE];
+        new Random(SIZE).nextBytes(content);
+        server = new FaultInjectingServer(content);
+
+        RetryPolicy.setRetries(8);
+        RetryPolicy.setBaseDelay(10);
+        RetryPolicy.setMaxDelay(5000);
+        //Neither may hand back a file from an earlier run
+        HTTPCache.setEnabled(false);
+        ArtifactStore.setEnabled(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+
+        HTTPDownload.setSegments(segments);
+        RetryPolicy.setRetries(retries);
+        RetryPolicy.setBaseDelay(baseDelay);
+        RetryPolicy.setMaxDelay(maxDelay);
+        HTTPCache.setEnabled(cacheEnabled);
+        ArtifactStore.setEnabled(storeEnabled);
+    }
+
+    @Test
+    void singleStreamSurvivesDropsAtRandomOffsets() throws Exception {
+        HTTPDownload.setSegments(1);
+        dropAtRandomOffsets(new Random(1), 3);
+
+        assertVerified(download());
+        //One connection for each attempt
+        assertEquals(4, server.getRequests("GET", FILE));
+    }
+
+    @Test
+    void segmentedSurvivesDropsAtRandomOffsets() throws Exception {
+        HTTPDownload.setSegments(4);
+        dropAtRandomOffsets(new Random(2), 3);
+
+        assertVerified(download());
+        //Every attempt asks for the size first, more GETs than attempts means the file came in segments
+        assertTrue(server.getRequests("GET", FILE) > server.getRequests("HEAD", FILE));
+    }
+
+    @Test
+    void digestIsResetWhenARetrySwitchesToSegments() throws Exception {
+        HTTPDownload.setSegments(4);
+        //The first attempt can not learn about range support, so it hashes part of the file over one stream
+        server.respond("HEAD", FILE, HttpURLConnection.HTTP_INTERNAL_ERROR);
+        server.dropAfter(SIZE / 3);
+
+        assertVerified(download());
+        assertTrue(server.getRequests("GET", FILE) > 2);
+    }
+
+    @Test
+    void downloadWaitsForRetryAfter() throws Exception {
+        HTTPDownload.setSegments(1);
+        server.respond("GET", FILE, HttpURLConnection.HTTP_UNAVAILABLE, "Retry-After", "1");
+
+        final long start = System.currentTimeMillis();
+        assertVerified(download());
+        assertTrue(System.currentTimeMillis() - start >= 1000);
+        assertEquals(2, server.getRequests("GET", FILE));
+    }
+
+    @Test
+    void textRequestWaitsForRetryAfter() {
+        server.respond("GET", CHECKSUM, HttpURLConnection.HTTP_UNAVAILABLE, "Retry-After", "1");
+
+        final long start = System.currentTimeMillis();
+        assertEquals(Optional.of(server.getSha256()), HTTPDownload.fetchSha256(server.getUrl(CHECKSUM)));
+        assertTrue(System.currentTimeMillis() - start >= 1000);
+        assertEquals(2, server.getRequests("GET", CHECKSUM));
+    }
+
+    @Test
+    void rateLimitedRequestWaitsForReset() {
+        final long reset = System.currentTimeMillis() / 1000;
+        server.respond("GET", CHECKSUM, HttpURLConnection.HTTP_FORBIDDEN,
+                "X-RateLimit-Remaining", "0", "X-RateLimit-Reset", String.valueOf(reset));
+
+        assertEquals(Optional.of(server.getSha256()), HTTPDownload.fetchSha256(server.getUrl(CHECKSUM)));
+        //The reset is in whole seconds so the retry waits until the next second has passed
+        assertTrue(System.currentTimeMillis() >= (reset + 1) * 1000);
+        assertEquals(2, server.getRequests("GET", CHECKSUM));
+    }
+
+    @Test
+    void rateLimitResettingAfterTheMaxDelayIsNotWaitedFor() {
+        final long reset = System.currentTimeMillis() / 1000 + 3600;
+        server.respond("GET", CHECKSUM, HttpURLConnection.HTTP_FORBIDDEN,
+                "X-RateLimit-Remaining", "0", "X-RateLimit-Reset", String.valueOf(reset));
+
+        final long start = System.currentTimeMillis();
+        assertFalse(HTTPDownload.fetchSha256(server.getUrl(CHECKSUM)).isPresent());
+        assertTrue(System.currentTimeMillis() - start < RetryPolicy.getMaxDelay());
+        assertEquals(1, server.getRequests("GET", CHECKSUM));
+    }
+
+    private void dropAtRandomOffsets(final Random random, final int drops) {
+        for(int i = 0; i < drops; i++) server.dropAfter(random.nextInt(SIZE / 2));
+    }
+
+    private DownloadResult download() throws Exception {
+        final HTTPDownload download = new HTTPDownload(directory.toString(), server.getUrl(FILE))
+                .verifySha256(server.getUrl(CHECKSUM));
+
+        try {
+            return download.download().getResult().get(1, TimeUnit.MINUTES);
+        } finally {
+            download.close();
+        }
+    }
+
+    private void assertVerified(final DownloadResult result) throws Exception {
+        assertEquals(DLStatus.COMPLETE, result.getStatus(), () -> result.getErrorMessage().orElse(""));
+        assertTrue(server.isDone(), "Not every fault was used");
+        assertEquals(Optional.of(server.getSha256()), result.getSha256());
+        assertArrayEquals(content, Files.readAllBytes(Paths.get(result.getFilepath())));
+    }
+}